@@ -0,0 +1,66 @@
+package com.celik.benchmark;
+
+import com.celik.engine.BatchGame;
+import com.celik.engine.CostStrategy;
+import com.celik.engine.GreedyCostStrategy;
+import com.celik.simulation.PackedGameSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchGameBenchmark {
+
+    @Param({"100000"})
+    int gameCount;
+
+    BatchGame batch;
+    PackedGameSimulator packedSimulator;
+    SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batch = new BatchGame(gameCount, 2);
+        packedSimulator = new PackedGameSimulator(List.<CostStrategy>of(new GreedyCostStrategy(), new GreedyCostStrategy()));
+        random = new SplittableRandom(BenchmarkData.SEED);
+    }
+
+    /**
+     * Two player games of the greedy strategy, stepped together on the off heap columns.
+     */
+    @Benchmark
+    public int playBatch() {
+        batch.resetAll(random.split());
+        return batch.playAll();
+    }
+
+    /**
+     * The same games one after another on the packed engine.
+     */
+    @Benchmark
+    public void playPackedGames(Blackhole blackhole) {
+        SplittableRandom batchRandom = random.split();
+        for (int i = 0; i < gameCount; i++) {
+            blackhole.consume(packedSimulator.playGame(batchRandom.split()));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.celik.benchmark;
+
+import com.celik.constants.GameConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final long SEED = 20201018L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns mana costs of a deck with given size by repeating the costs of the initial deck.
+     */
+    static List<Integer> manaCosts(int deckSize) {
+        List<Integer> initialCosts = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+        List<Integer> manaCosts = new ArrayList<>(deckSize);
+        for (int i = 0; i < deckSize; i++) {
+            manaCosts.add(initialCosts.get(i % initialCosts.size()));
+        }
+        return manaCosts;
+    }
+}
@@ -0,0 +1,69 @@
+package com.celik.benchmark;
+
+import com.celik.domain.cardholder.CardHolder;
+import com.celik.domain.cardholder.Deck;
+import com.celik.exception.DoesNotExistException;
+import com.celik.exception.HasNoCapacityException;
+import com.celik.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardHolderBenchmark {
+
+    @Param({"5", "20", "1000"})
+    int cardCount;
+
+    CardHolder holder;
+    CardHolder anotherHolder;
+    Card[] cards;
+    int nextCardIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        holder = Deck.getDeckWithManaCosts(BenchmarkData.manaCosts(cardCount), 1, new SplittableRandom(BenchmarkData.SEED));
+        anotherHolder = new Deck(new SplittableRandom(BenchmarkData.SEED));
+        cards = holder.getCards().toArray(new Card[0]);
+    }
+
+    @Benchmark
+    public Optional<Card> findCardById() {
+        return holder.findCardById(nextCard().getId());
+    }
+
+    /**
+     * Gives a card to another holder and takes it back, so the holder keeps its size.
+     */
+    @Benchmark
+    public Card giveCardToAnotherHolder() throws DoesNotExistException, HasNoCapacityException {
+        Card card = nextCard();
+        holder.giveCard(card, anotherHolder);
+        anotherHolder.giveCard(card, holder);
+        return card;
+    }
+
+    private Card nextCard() {
+        Card card = cards[nextCardIndex];
+        nextCardIndex = nextCardIndex + 1 == cards.length ? 0 : nextCardIndex + 1;
+        return card;
+    }
+}
@@ -0,0 +1,61 @@
+package com.celik.benchmark;
+
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.cardholder.Hand;
+import com.celik.exception.DoesNotExistException;
+import com.celik.exception.EmptyResourceUsingException;
+import com.celik.exception.HasNoCapacityException;
+import com.celik.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({"20", "1000"})
+    int deckSize;
+
+    Deck deck;
+    Hand hand;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deck = Deck.getDeckWithManaCosts(BenchmarkData.manaCosts(deckSize), 1, new SplittableRandom(BenchmarkData.SEED));
+        hand = new Hand();
+    }
+
+    @Benchmark
+    public Card pickRandomCard() throws EmptyResourceUsingException {
+        return deck.pickRandomCard();
+    }
+
+    /**
+     * Draw path of a player: picks a random card and gives it to the hand.
+     * The card is given back to the deck, so every invocation sees the same deck size.
+     */
+    @Benchmark
+    public Card drawCardToHand() throws EmptyResourceUsingException, DoesNotExistException, HasNoCapacityException {
+        Card card = deck.pickRandomCard();
+        deck.giveCard(card, hand);
+        hand.giveCard(card, deck);
+        return card;
+    }
+}
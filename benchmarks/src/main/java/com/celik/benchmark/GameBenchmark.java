@@ -0,0 +1,113 @@
+package com.celik.benchmark;
+
+import com.celik.engine.CostStrategy;
+import com.celik.engine.GreedyCostStrategy;
+import com.celik.event.EventProcessor;
+import com.celik.event.GameEventBus;
+import com.celik.exception.TradingCardException;
+import com.celik.journal.EventJournal;
+import com.celik.simulation.GameResult;
+import com.celik.simulation.GameSimulator;
+import com.celik.simulation.PackedGameSimulator;
+import com.celik.strategy.GreedyStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    GameSimulator simulator;
+    PackedGameSimulator packedSimulator;
+    GameSimulator journaledSimulator;
+    GameSimulator busSimulator;
+    EventProcessor busProcessor;
+    SplittableRandom random;
+    Path journalDirectory;
+    EventJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        journalDirectory = Files.createTempDirectory("tcg-journal");
+        journal = EventJournal.open(journalDirectory);
+        journaledSimulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        journaledSimulator.setEventListener(journal);
+        GameEventBus bus = new GameEventBus();
+        busProcessor = bus.subscribe((event, sequence, endOfBatch) -> { });
+        busSimulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        busSimulator.setEventListener(bus);
+        packedSimulator = new PackedGameSimulator(List.<CostStrategy>of(new GreedyCostStrategy(), new GreedyCostStrategy()));
+        random = new SplittableRandom(BenchmarkData.SEED);
+    }
+
+    /**
+     * A whole two player game between greedy strategies, from dealing the initial hands to the winner.
+     */
+    @Benchmark
+    public GameResult playGame() throws TradingCardException {
+        return simulator.playGame(random.split());
+    }
+
+    /**
+     * The same game with every event written to an event journal.
+     */
+    @Benchmark
+    public GameResult playJournaledGame() throws TradingCardException {
+        return journaledSimulator.playGame(random.split());
+    }
+
+    /**
+     * The same game with every event published to an event bus, whose consumer is drained after the game.
+     */
+    @Benchmark
+    public GameResult playGameWithEventBus() throws TradingCardException {
+        GameResult result = busSimulator.playGame(random.split());
+        busProcessor.drain();
+        return result;
+    }
+
+    /**
+     * The same game on the packed engine.
+     */
+    @Benchmark
+    public GameResult playPackedGame() {
+        return packedSimulator.playGame(random.split());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        List<Path> paths;
+        try (Stream<Path> files = Files.walk(journalDirectory)) {
+            paths = files.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
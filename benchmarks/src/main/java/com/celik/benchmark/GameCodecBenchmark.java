@@ -0,0 +1,58 @@
+package com.celik.benchmark;
+
+import com.celik.GameCodec;
+import com.celik.GameSnapshot;
+import com.celik.simulation.HeadlessTradingCardGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameCodecBenchmark {
+
+    HeadlessTradingCardGame game;
+    ByteBuffer buffer;
+    ByteBuffer encoded;
+
+    /**
+     * A two player game before the initial draws, full decks are the largest state.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new HeadlessTradingCardGame(BenchmarkData.SEED);
+        game.addPlayer("Player 0");
+        game.addPlayer("Player 1");
+        buffer = ByteBuffer.allocateDirect(1024);
+        encoded = ByteBuffer.allocateDirect(1024);
+        GameCodec.write(game, encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public int write() {
+        buffer.clear();
+        return GameCodec.write(game, buffer);
+    }
+
+    @Benchmark
+    public GameSnapshot read() {
+        encoded.rewind();
+        return GameCodec.read(encoded);
+    }
+}
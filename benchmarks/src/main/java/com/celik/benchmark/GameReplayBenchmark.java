@@ -0,0 +1,88 @@
+package com.celik.benchmark;
+
+import com.celik.GameReplay;
+import com.celik.GameSnapshot;
+import com.celik.exception.TradingCardException;
+import com.celik.journal.EventJournal;
+import com.celik.simulation.GameSimulator;
+import com.celik.strategy.GreedyStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameReplayBenchmark {
+
+    static final int GAME_COUNT = 100;
+
+    Path journalDirectory;
+    GameReplay replay;
+    int gameIndex;
+
+    /**
+     * A journal of a hundred two player games of the greedy strategy.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, TradingCardException {
+        journalDirectory = Files.createTempDirectory("replay-benchmark");
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        try (EventJournal journal = EventJournal.open(journalDirectory)) {
+            simulator.setEventListener(journal);
+            for (int i = 0; i < GAME_COUNT; i++) {
+                simulator.playGame(BenchmarkData.SEED + i);
+            }
+        }
+        replay = GameReplay.index(journalDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.walk(journalDirectory)) {
+            paths = files.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Seeks the last turn of a game, the farthest turn from a snapshot is at most the snapshot interval away.
+     */
+    @Benchmark
+    public GameSnapshot seekLastTurn() throws IOException {
+        gameIndex = gameIndex + 1 == GAME_COUNT ? 0 : gameIndex + 1;
+        return replay.seek(gameIndex, replay.getTurnCount(gameIndex));
+    }
+
+    /**
+     * Replays the whole journal, per game cost is the score of this divided by {@link #GAME_COUNT}.
+     */
+    @Benchmark
+    public GameReplay indexJournal() throws IOException {
+        return GameReplay.index(journalDirectory);
+    }
+}
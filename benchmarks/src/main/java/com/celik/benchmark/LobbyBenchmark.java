@@ -0,0 +1,91 @@
+package com.celik.benchmark;
+
+import com.celik.exception.TradingCardException;
+import com.celik.simulation.GameResult;
+import com.celik.simulation.GameSimulator;
+import com.celik.simulation.HeadlessTradingCardGame;
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LobbyBenchmark {
+
+    @Param({"100", "1000"})
+    int playerCount;
+
+    GameSimulator linkedSimulator;
+    GameSimulator largeLobbySimulator;
+    SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<PlayerStrategy> strategies = Collections.nCopies(playerCount, new GreedyStrategy());
+        linkedSimulator = new GameSimulator(strategies);
+        largeLobbySimulator = new GameSimulator(strategies);
+        largeLobbySimulator.setLargeLobby(true);
+        random = new SplittableRandom(BenchmarkData.SEED);
+    }
+
+    /**
+     * Players join a game whose players are linked pair by pair.
+     */
+    @Benchmark
+    public HeadlessTradingCardGame joinLinkedLobby() {
+        HeadlessTradingCardGame game = new HeadlessTradingCardGame(random.split());
+        for (int i = 0; i < playerCount; i++) {
+            game.addPlayer("Player " + i);
+        }
+        return game;
+    }
+
+    /**
+     * Players join a large lobby, they are added to the roster only.
+     */
+    @Benchmark
+    public HeadlessTradingCardGame joinLargeLobby() {
+        HeadlessTradingCardGame game = new HeadlessTradingCardGame(random.split());
+        game.useLargeLobby();
+        for (int i = 0; i < playerCount; i++) {
+            game.addPlayer("Player " + i);
+        }
+        return game;
+    }
+
+    /**
+     * A whole free for all game of greedy strategies with linked players.
+     */
+    @Benchmark
+    public GameResult playLinkedLobbyGame() throws TradingCardException {
+        return linkedSimulator.playGame(random.split());
+    }
+
+    /**
+     * The same game as a large lobby.
+     */
+    @Benchmark
+    public GameResult playLargeLobbyGame() throws TradingCardException {
+        return largeLobbySimulator.playGame(random.split());
+    }
+}
@@ -0,0 +1,55 @@
+package com.celik.benchmark;
+
+import com.celik.domain.mana.Mana;
+import com.celik.exception.InsufficientAmountException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManaBenchmark {
+
+    Mana mana;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mana = Mana.getManaWithSlotCount(Mana.MAX_SLOT_COUNT);
+        mana.refillManaSlots();
+    }
+
+    @Benchmark
+    public int getManaValue() {
+        return mana.getManaValue();
+    }
+
+    @Benchmark
+    public boolean hasAvailableManaFor() {
+        return mana.hasAvailableManaFor(7);
+    }
+
+    /**
+     * A turn of a player with full mana: refills the slots and plays two cards.
+     */
+    @Benchmark
+    public int refillAndUseMana() throws InsufficientAmountException {
+        mana.refillManaSlots();
+        mana.useMana(3);
+        mana.useMana(5);
+        return mana.getManaValue();
+    }
+}
@@ -0,0 +1,50 @@
+package com.celik.benchmark;
+
+import com.celik.Player;
+import com.celik.domain.Health;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.mana.Mana;
+import com.celik.exception.HasNoCapacityException;
+import com.celik.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws HasNoCapacityException {
+        Mana mana = Mana.getManaWithSlotCount(4);
+        mana.refillManaSlots();
+        player = new Player(1, "Benchmark", new Health(30), mana, new Deck(new SplittableRandom(BenchmarkData.SEED)));
+
+        int[] handCosts = {8, 7, 6, 5, 3};
+        for (int i = 0; i < handCosts.length; i++) {
+            player.getHand().addCard(new Card(i + 1, handCosts[i]));
+        }
+    }
+
+    @Benchmark
+    public boolean canPlayCard() {
+        return player.canPlayCard();
+    }
+}
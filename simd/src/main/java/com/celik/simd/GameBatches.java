@@ -0,0 +1,33 @@
+package com.celik.simd;
+
+import com.celik.engine.BatchGame;
+import com.celik.engine.GameBatch;
+
+/**
+ * Creates the fastest {@link GameBatch} of the running JVM: a {@link VectorBatchGame} when the incubating vector
+ * module is added, e.g. by {@code --add-modules=jdk.incubator.vector}, and the CPU has more than one long lane,
+ * otherwise the scalar {@link BatchGame}. Both play the same games for the same randoms.
+ * Set the {@code tcg.simd} system property to {@code false} to use the scalar engine anyway.
+ */
+public final class GameBatches {
+
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private GameBatches() {
+    }
+
+    public static GameBatch create(int gameCount, int playerCount) {
+        return isVectorized() ? new VectorBatchGame(gameCount, playerCount) : new BatchGame(gameCount, playerCount);
+    }
+
+    /**
+     * @return whether {@link #create(int, int)} creates a {@link VectorBatchGame}
+     */
+    public static boolean isVectorized() {
+        if( !Boolean.parseBoolean(System.getProperty("tcg.simd", "true")) ) {
+            return false;
+        }
+        // the vector classes are loaded only when the module is there
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent() && VectorBatchGame.getLaneCount() > 1;
+    }
+}
@@ -0,0 +1,469 @@
+package com.celik.simd;
+
+import com.celik.constants.GameConstants;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.engine.BatchGame;
+import com.celik.engine.GameBatch;
+import com.celik.engine.PackedGame;
+import com.celik.simulation.GameResult;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * {@link GameBatch} that steps the games in lockstep on the SIMD lanes of the CPU: a lane of a vector is a game,
+ * so a vector operation changes the same field of as many games as the vector has lanes.
+ *
+ * Every field is a column of longs, so all columns have the same lane count. Lanes whose game is over or whose
+ * game is waiting for another player are masked off; a loop that takes a different count of rounds in every game,
+ * e.g. playing cards, runs until the last lane is done. The random bounds that are not a power of two are taken lane by
+ * lane, as there is no vector division. Every deck has its own {@link SplitMixRandom} stream in its lane, therefore
+ * a game plays exactly like the same game of {@link BatchGame}.
+ *
+ * Use {@link GameBatches#create(int, int)} to fall back to {@link BatchGame} when the vector module is not available.
+ * Not thread safe.
+ */
+public final class VectorBatchGame implements GameBatch {
+
+    static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private static final int MAX_DECK_SIZE = 2 * 16;
+    private static final long NIBBLE_MASK = 0xF;
+    private static final LongVector ONE = LongVector.broadcast(SPECIES, 1);
+    private static final LongVector NIBBLES = LongVector.broadcast(SPECIES, NIBBLE_MASK);
+    // the lowest bit of the nibbles of the mana costs up to Mana.MAX_SLOT_COUNT
+    private static final long LOW_NIBBLE_BITS = 0x111_1111_1111L;
+
+    private final int gameCount;
+    private final int playerCount;
+    // count of the games rounded up to whole vectors, the padding games are always over
+    private final int laneCount;
+
+    // columns of the players, indexed by player and game
+    private final long[][] healths;
+    private final long[][] slotCounts;
+    private final long[][] manaValues;
+    private final long[][] deckSizes;
+    private final long[][] handCounts;
+    private final long[][] hands;
+    private final long[][] lowDecks;
+    private final long[][] highDecks;
+    private final long[][] seeds;
+    private final long[][] gammas;
+
+    // columns of the games
+    private final long[] activePlayers;
+    private final long[] aliveCounts;
+    private final long[] turnCounts;
+    private final long[] playedCardCounts;
+
+    private final long initialLowDeck;
+    private final long initialHighDeck;
+    private final int initialDeckSize;
+
+    // lanes and values of a vector that are passed between the methods
+    private final long[] startLanes = new long[SPECIES.length()];
+    private final long[] turnLanes = new long[SPECIES.length()];
+    private final long[] activationLanes = new long[SPECIES.length()];
+    private final long[] damageLanes = new long[SPECIES.length()];
+    private final long[] damageAmounts = new long[SPECIES.length()];
+    private final long[] randomLanes = new long[SPECIES.length()];
+    private final long[] bounds = new long[SPECIES.length()];
+    private final long[] randomValues = new long[SPECIES.length()];
+    private final long[] mixedValues = new long[SPECIES.length()];
+    private final long[] runningLanes = new long[SPECIES.length()];
+    private final long[] passingLanes = new long[SPECIES.length()];
+    private final long[] searchingLanes = new long[SPECIES.length()];
+    private final long[] nextPlayers = new long[SPECIES.length()];
+    private final long[] playingLanes = new long[SPECIES.length()];
+
+    /**
+     * Allocates the games, they are over until they are reset, see {@link #reset(int, SplittableRandom)}.
+     * @param gameCount -- count of the games
+     * @param playerCount -- count of the players of every game
+     */
+    public VectorBatchGame(int gameCount, int playerCount) {
+        if( playerCount < GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY ) {
+            throw new IllegalArgumentException(String.format("Min %d players are required to play",
+                                                                GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY));
+        }
+        if( gameCount < 0 ) {
+            throw new IllegalArgumentException("gameCount should not be negative");
+        }
+        List<Integer> manaCosts = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+        if( manaCosts.size() > MAX_DECK_SIZE ) {
+            throw new IllegalStateException("Default deck does not fit into a vector batch game");
+        }
+
+        this.gameCount = gameCount;
+        this.playerCount = playerCount;
+        this.laneCount = SPECIES.loopBound(gameCount + SPECIES.length() - 1);
+        this.healths = new long[playerCount][laneCount];
+        this.slotCounts = new long[playerCount][laneCount];
+        this.manaValues = new long[playerCount][laneCount];
+        this.deckSizes = new long[playerCount][laneCount];
+        this.handCounts = new long[playerCount][laneCount];
+        this.hands = new long[playerCount][laneCount];
+        this.lowDecks = new long[playerCount][laneCount];
+        this.highDecks = new long[playerCount][laneCount];
+        this.seeds = new long[playerCount][laneCount];
+        this.gammas = new long[playerCount][laneCount];
+        this.activePlayers = new long[laneCount];
+        this.aliveCounts = new long[laneCount];
+        this.turnCounts = new long[laneCount];
+        this.playedCardCounts = new long[laneCount];
+
+        long lowDeck = 0;
+        long highDeck = 0;
+        for (int i = 0; i < manaCosts.size(); i++) {
+            long manaCost = manaCosts.get(i);
+            if( manaCost > PackedGame.MAX_MANA_COST ) {
+                throw new IllegalStateException("Mana cost should be at most " + PackedGame.MAX_MANA_COST);
+            }
+            if( i < 16 ) lowDeck |= manaCost << (i * 4);
+            else highDeck |= manaCost << ((i - 16) * 4);
+        }
+        this.initialLowDeck = lowDeck;
+        this.initialHighDeck = highDeck;
+        this.initialDeckSize = manaCosts.size();
+    }
+
+    /**
+     * @return count of the games that a vector operation changes at once
+     */
+    public static int getLaneCount() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void resetAll(SplittableRandom random) {
+        for (int game = 0; game < gameCount; game++) {
+            clear(game, random.split());
+        }
+        for (int offset = 0; offset < laneCount; offset += SPECIES.length()) {
+            for (int lane = 0; lane < SPECIES.length(); lane++) {
+                startLanes[lane] = offset + lane < gameCount ? -1 : 0;
+            }
+            start(offset);
+        }
+    }
+
+    @Override
+    public void reset(int game, SplittableRandom random) {
+        clear(game, random);
+        int offset = game - game % SPECIES.length();
+        Arrays.fill(startLanes, 0);
+        startLanes[game - offset] = -1;
+        start(offset);
+    }
+
+    private void clear(int game, SplittableRandom random) {
+        for (int player = 0; player < playerCount; player++) {
+            SplitMixRandom deckRandom = new SplitMixRandom(random.split());
+            seeds[player][game] = deckRandom.getSeed();
+            gammas[player][game] = deckRandom.getGamma();
+            healths[player][game] = GameConstants.INITIAL_PLAYER_HEALTH;
+            slotCounts[player][game] = 0;
+            manaValues[player][game] = 0;
+            deckSizes[player][game] = initialDeckSize;
+            handCounts[player][game] = 0;
+            hands[player][game] = 0;
+            lowDecks[player][game] = initialLowDeck;
+            highDecks[player][game] = initialHighDeck;
+        }
+        activePlayers[game] = 0;
+        aliveCounts[game] = playerCount;
+        turnCounts[game] = 0;
+        playedCardCounts[game] = 0;
+    }
+
+    // the players of the start lanes draw their initial cards and the first player is activated
+    private void start(int offset) {
+        for (int player = 0; player < playerCount; player++) {
+            for (int i = 0; i < GameConstants.INITIAL_CARD_DRAW_COUNT; i++) {
+                drawCard(offset, player, startLanes);
+            }
+        }
+        activatePlayer(offset, 0, startLanes);
+    }
+
+    @Override
+    public int step() {
+        int runningCount = 0;
+        for (int offset = 0; offset < laneCount; offset += SPECIES.length()) {
+            runningCount += step(offset);
+        }
+        return runningCount;
+    }
+
+    @Override
+    public int playAll() {
+        int stepCount = 1;
+        while( step() > 0 ) {
+            stepCount++;
+        }
+        return stepCount;
+    }
+
+    // the vectors that live through a loop with calls are kept in the lane arrays, they would be boxed otherwise
+    private int step(int offset) {
+        VectorMask<Long> running = LongVector.fromArray(SPECIES, aliveCounts, offset).compare(VectorOperators.GE, 2);
+        if( !running.anyTrue() ) return 0;
+
+        storeLanes(running, runningLanes);
+        Arrays.fill(passingLanes, 0);
+        for (int player = 0; player < playerCount; player++) {
+            VectorMask<Long> turn = loadLanes(runningLanes)
+                    .and(LongVector.fromArray(SPECIES, activePlayers, offset).compare(VectorOperators.EQ, player));
+            if( turn.anyTrue() ) {
+                storeLanes(turn, turnLanes);
+                playTurn(offset, player);
+                // the turn passes in the games that are not over
+                VectorMask<Long> passed = loadLanes(turnLanes)
+                        .and(LongVector.fromArray(SPECIES, aliveCounts, offset).compare(VectorOperators.GE, 2));
+                storeLanes(loadLanes(passingLanes).or(passed), passingLanes);
+            }
+        }
+        if( loadLanes(passingLanes).anyTrue() ) {
+            passTurn(offset);
+        }
+        return LongVector.fromArray(SPECIES, aliveCounts, offset).compare(VectorOperators.GE, 2).trueCount();
+    }
+
+    // the next alive player of the passing lanes is activated, the games have two alive players at least
+    private void passTurn(int offset) {
+        LongVector activePlayer = LongVector.fromArray(SPECIES, activePlayers, offset);
+        activePlayer.intoArray(nextPlayers, 0);
+        System.arraycopy(passingLanes, 0, searchingLanes, 0, searchingLanes.length);
+        for (int distance = 1; distance < playerCount && loadLanes(searchingLanes).anyTrue(); distance++) {
+            LongVector candidate = activePlayer.add(distance);
+            candidate = candidate.sub(playerCount, candidate.compare(VectorOperators.GE, playerCount));
+            for (int player = 0; player < playerCount; player++) {
+                VectorMask<Long> searching = loadLanes(searchingLanes);
+                VectorMask<Long> alive = searching.and(candidate.compare(VectorOperators.EQ, player))
+                                                  .and(LongVector.fromArray(SPECIES, healths[player], offset).compare(VectorOperators.GT, 0));
+                LongVector.fromArray(SPECIES, nextPlayers, 0).blend(player, alive).intoArray(nextPlayers, 0);
+                storeLanes(searching.andNot(alive), searchingLanes);
+            }
+        }
+        LongVector.fromArray(SPECIES, nextPlayers, 0).intoArray(activePlayers, offset, loadLanes(passingLanes));
+
+        for (int player = 0; player < playerCount; player++) {
+            VectorMask<Long> activated = loadLanes(passingLanes)
+                    .and(LongVector.fromArray(SPECIES, nextPlayers, 0).compare(VectorOperators.EQ, player));
+            if( activated.anyTrue() ) {
+                storeLanes(activated, activationLanes);
+                activatePlayer(offset, player, activationLanes);
+            }
+        }
+    }
+
+    // the player plays its most expensive affordable card until it can not in the games of the turn lanes
+    private void playTurn(int offset, int player) {
+        storeLanes(loadLanes(turnLanes).and(LongVector.fromArray(SPECIES, healths[player], offset).compare(VectorOperators.GT, 0)),
+                   playingLanes);
+
+        while( true ) {
+            VectorMask<Long> playing = loadLanes(playingLanes);
+            LongVector hand = LongVector.fromArray(SPECIES, hands[player], offset);
+            LongVector manaValue = LongVector.fromArray(SPECIES, manaValues[player], offset);
+            // the highest affordable nonempty nibble without a loop: a bit per such nibble, smeared down and summed
+            LongVector cards = hand.or(hand.lanewise(VectorOperators.LSHR, 1));
+            cards = cards.or(cards.lanewise(VectorOperators.LSHR, 2)).and(LOW_NIBBLE_BITS);
+            LongVector affordable = ONE.lanewise(VectorOperators.LSHL, manaValue.add(1).lanewise(VectorOperators.LSHL, 2)).sub(1);
+            LongVector playable = cards.and(affordable);
+            VectorMask<Long> found = playable.compare(VectorOperators.NE, 0);
+            playable = playable.or(playable.lanewise(VectorOperators.LSHR, 4));
+            playable = playable.or(playable.lanewise(VectorOperators.LSHR, 8));
+            playable = playable.or(playable.lanewise(VectorOperators.LSHR, 16));
+            playable = playable.or(playable.lanewise(VectorOperators.LSHR, 32));
+            LongVector manaCost = playable.mul(LOW_NIBBLE_BITS).lanewise(VectorOperators.LSHR, Mana.MAX_SLOT_COUNT * 4)
+                                          .and(NIBBLE_MASK).sub(1);
+            playing = playing.and(found);
+            if( !playing.anyTrue() ) return;
+
+            manaValue.sub(manaCost, playing).intoArray(manaValues[player], offset);
+            hand.sub(ONE.lanewise(VectorOperators.LSHL, manaCost.lanewise(VectorOperators.LSHL, 2)), playing)
+                .intoArray(hands[player], offset);
+            LongVector.fromArray(SPECIES, handCounts[player], offset).sub(1, playing).intoArray(handCounts[player], offset);
+            LongVector.fromArray(SPECIES, playedCardCounts, offset).add(1, playing).intoArray(playedCardCounts, offset);
+            storeLanes(playing, playingLanes);
+
+            VectorMask<Long> damaging = playing.and(manaCost.compare(VectorOperators.GT, 0));
+            if( damaging.anyTrue() ) {
+                manaCost.intoArray(damageAmounts, 0);
+                storeLanes(damaging, damageLanes);
+                for (int opponent = 0; opponent < playerCount; opponent++) {
+                    if( opponent != player ) takeDamage(offset, opponent);
+                }
+                storeLanes(loadLanes(playingLanes).and(LongVector.fromArray(SPECIES, aliveCounts, offset).compare(VectorOperators.GE, 2)),
+                           playingLanes);
+            }
+        }
+    }
+
+    private void activatePlayer(int offset, int player, long[] lanes) {
+        VectorMask<Long> games = loadLanes(lanes);
+        LongVector.fromArray(SPECIES, turnCounts, offset).add(1, games).intoArray(turnCounts, offset);
+
+        LongVector slotCount = LongVector.fromArray(SPECIES, slotCounts[player], offset);
+        slotCount = slotCount.add(1, games.and(slotCount.compare(VectorOperators.LT, Mana.MAX_SLOT_COUNT)));
+        slotCount.intoArray(slotCounts[player], offset);
+        slotCount.intoArray(manaValues[player], offset, games);
+
+        drawCard(offset, player, lanes);
+    }
+
+    // draws like BatchGame: the index is picked before the hand is checked, the last card takes the drawn place
+    private void drawCard(int offset, int player, long[] lanes) {
+        VectorMask<Long> games = loadLanes(lanes);
+        LongVector deckSize = LongVector.fromArray(SPECIES, deckSizes[player], offset);
+        VectorMask<Long> emptyDeck = games.and(deckSize.compare(VectorOperators.EQ, 0));
+        if( emptyDeck.anyTrue() ) {
+            LongVector.broadcast(SPECIES, GameConstants.EMPTY_DECK_DAMAGE).intoArray(damageAmounts, 0);
+            storeLanes(emptyDeck, damageLanes);
+            takeDamage(offset, player);
+        }
+        VectorMask<Long> drawing = games.andNot(emptyDeck);
+        if( !drawing.anyTrue() ) return;
+
+        deckSize.intoArray(bounds, 0);
+        storeLanes(drawing, randomLanes);
+        nextInt(offset, player);
+        LongVector index = LongVector.fromArray(SPECIES, randomValues, 0);
+
+        LongVector handCount = LongVector.fromArray(SPECIES, handCounts[player], offset);
+        drawing = drawing.and(handCount.compare(VectorOperators.LT, Hand.MAX_CARD_COUNT));
+        if( !drawing.anyTrue() ) return;
+
+        LongVector lowDeck = LongVector.fromArray(SPECIES, lowDecks[player], offset);
+        LongVector highDeck = LongVector.fromArray(SPECIES, highDecks[player], offset);
+        LongVector lastIndex = deckSize.sub(1);
+        VectorMask<Long> indexInHigh = index.compare(VectorOperators.GE, 16);
+        VectorMask<Long> lastInHigh = lastIndex.compare(VectorOperators.GE, 16);
+        // a helper that takes vectors would not be inlined into this method and would box them, so the nibbles are shifted in place
+        LongVector indexShift = index.and(15).lanewise(VectorOperators.LSHL, 2);
+        LongVector lastShift = lastIndex.and(15).lanewise(VectorOperators.LSHL, 2);
+        LongVector manaCost = lowDeck.blend(highDeck, indexInHigh).lanewise(VectorOperators.LSHR, indexShift).and(NIBBLE_MASK);
+        LongVector lastManaCost = lowDeck.blend(highDeck, lastInHigh).lanewise(VectorOperators.LSHR, lastShift).and(NIBBLE_MASK);
+
+        LongVector indexNibble = NIBBLES.lanewise(VectorOperators.LSHL, indexShift);
+        LongVector movedCard = lastManaCost.lanewise(VectorOperators.LSHL, indexShift);
+        lowDeck = lowDeck.blend(lowDeck.lanewise(VectorOperators.AND_NOT, indexNibble).or(movedCard), drawing.andNot(indexInHigh));
+        highDeck = highDeck.blend(highDeck.lanewise(VectorOperators.AND_NOT, indexNibble).or(movedCard), drawing.and(indexInHigh));
+        LongVector lastNibble = NIBBLES.lanewise(VectorOperators.LSHL, lastShift);
+        lowDeck = lowDeck.blend(lowDeck.lanewise(VectorOperators.AND_NOT, lastNibble), drawing.andNot(lastInHigh));
+        highDeck = highDeck.blend(highDeck.lanewise(VectorOperators.AND_NOT, lastNibble), drawing.and(lastInHigh));
+
+        lowDeck.intoArray(lowDecks[player], offset);
+        highDeck.intoArray(highDecks[player], offset);
+        deckSize.sub(1, drawing).intoArray(deckSizes[player], offset);
+        handCount.add(1, drawing).intoArray(handCounts[player], offset);
+        LongVector hand = LongVector.fromArray(SPECIES, hands[player], offset);
+        hand.add(ONE.lanewise(VectorOperators.LSHL, manaCost.lanewise(VectorOperators.LSHL, 2)), drawing)
+            .intoArray(hands[player], offset);
+    }
+
+    // the player takes the damage amounts in the games of the damage lanes
+    private void takeDamage(int offset, int player) {
+        LongVector health = LongVector.fromArray(SPECIES, healths[player], offset);
+        LongVector damage = LongVector.fromArray(SPECIES, damageAmounts, 0);
+        VectorMask<Long> damaged = loadLanes(damageLanes).and(health.compare(VectorOperators.GT, 0));
+        VectorMask<Long> died = damaged.and(health.compare(VectorOperators.LE, damage));
+        health.sub(damage).blend(0, died).intoArray(healths[player], offset, damaged);
+        if( died.anyTrue() ) {
+            LongVector.fromArray(SPECIES, aliveCounts, offset).sub(1, died).intoArray(aliveCounts, offset);
+        }
+    }
+
+    // SplitMixRandom#nextInt(int) of the bounds in the games of the random lanes, the other streams do not move
+    private void nextInt(int offset, int player) {
+        VectorMask<Long> games = loadLanes(randomLanes);
+        LongVector bound = LongVector.fromArray(SPECIES, bounds, 0);
+        LongVector seed = LongVector.fromArray(SPECIES, seeds[player], offset)
+                                    .add(LongVector.fromArray(SPECIES, gammas[player], offset), games);
+        // mix32 of SplittableRandom, the int is kept unsigned in the low half of the lane
+        LongVector z = seed.lanewise(VectorOperators.XOR, seed.lanewise(VectorOperators.LSHR, 33)).mul(0x62A9D9ED799705F5L);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 28)).mul(0xCB24D0A5C88C35B3L);
+        LongVector value = z.lanewise(VectorOperators.LSHR, 32);
+        LongVector mask = bound.sub(1);
+        seed.intoArray(seeds[player], offset);
+        value.and(mask).intoArray(randomValues, 0);
+
+        if( games.and(bound.and(mask).compare(VectorOperators.NE, 0)).anyTrue() ) {
+            value.intoArray(mixedValues, 0);
+            nextIntRemainders(offset, player);
+        }
+    }
+
+    // there is no vector division of longs, the bounds that are not a power of two are taken lane by lane
+    private void nextIntRemainders(int offset, int player) {
+        for (int lane = 0; lane < randomLanes.length; lane++) {
+            long bound = bounds[lane];
+            if( randomLanes[lane] == 0 || (bound & (bound - 1)) == 0 ) continue;
+
+            int game = offset + lane;
+            long u = mixedValues[lane] >>> 1;
+            long remainder = u % bound;
+            // the rejection of SplittableRandom, u + bound - 1 - remainder overflows an int
+            while( u + bound - 1 - remainder > Integer.MAX_VALUE ) {
+                seeds[player][game] += gammas[player][game];
+                u = mix32(seeds[player][game]) >>> 1;
+                remainder = u % bound;
+            }
+            randomValues[lane] = remainder;
+        }
+    }
+
+    private static long mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    // masks cross the methods as arrays of -1 and 0 lanes, a mask object that leaves a method is not optimized away
+    private static VectorMask<Long> loadLanes(long[] lanes) {
+        return LongVector.fromArray(SPECIES, lanes, 0).compare(VectorOperators.NE, 0);
+    }
+
+    private static void storeLanes(VectorMask<Long> mask, long[] lanes) {
+        LongVector.zero(SPECIES).blend(-1, mask).intoArray(lanes, 0);
+    }
+
+    @Override
+    public boolean isOver(int game) {
+        return aliveCounts[game] < 2;
+    }
+
+    public int getHealth(int game, int player) {
+        return (int) healths[player][game];
+    }
+
+    @Override
+    public GameResult getResult(int game) {
+        int winnerIndex = GameResult.NO_WINNER;
+        if( isOver(game) ) {
+            for (int player = 0; player < playerCount && winnerIndex == GameResult.NO_WINNER; player++) {
+                if( healths[player][game] > 0 ) winnerIndex = player;
+            }
+        }
+        int remainingHealth = winnerIndex == GameResult.NO_WINNER ? 0 : getHealth(game, winnerIndex);
+        return new GameResult(winnerIndex, (int) turnCounts[game], remainingHealth, (int) playedCardCounts[game]);
+    }
+
+    @Override
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return playerCount;
+    }
+}
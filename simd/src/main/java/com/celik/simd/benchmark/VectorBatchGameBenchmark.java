@@ -0,0 +1,65 @@
+package com.celik.simd.benchmark;
+
+import com.celik.engine.BatchGame;
+import com.celik.simd.VectorBatchGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorBatchGameBenchmark {
+
+    static final long SEED = 42;
+
+    @Param({"100000"})
+    int gameCount;
+
+    @Param({"2", "4"})
+    int playerCount;
+
+    BatchGame scalarBatch;
+    VectorBatchGame vectorBatch;
+    SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scalarBatch = new BatchGame(gameCount, playerCount);
+        vectorBatch = new VectorBatchGame(gameCount, playerCount);
+        random = new SplittableRandom(SEED);
+    }
+
+    /**
+     * Games of the greedy strategy on the off heap columns of the scalar engine, one game after another per step.
+     */
+    @Benchmark
+    public int playScalarBatch() {
+        scalarBatch.resetAll(random.split());
+        return scalarBatch.playAll();
+    }
+
+    /**
+     * The same games in lockstep on the lanes of the vector engine.
+     */
+    @Benchmark
+    public int playVectorBatch() {
+        vectorBatch.resetAll(random.split());
+        return vectorBatch.playAll();
+    }
+}
@@ -0,0 +1,75 @@
+package com.celik.simd;
+
+import com.celik.engine.BatchGame;
+import com.celik.engine.GameBatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class VectorBatchGameTest {
+
+    // not a multiple of any lane count, so the last vector has padding lanes
+    private static final int DIFFERENTIAL_GAME_COUNT = 2001;
+
+    @Test
+    public void givenSameRandoms_whenGamesAreStepped_resultsShouldBeSameWithScalarBatch() {
+        for (int playerCount = 2; playerCount <= 4; playerCount++) {
+            // arrange
+            VectorBatchGame vector = new VectorBatchGame(DIFFERENTIAL_GAME_COUNT, playerCount);
+            BatchGame scalar = new BatchGame(DIFFERENTIAL_GAME_COUNT, playerCount);
+            vector.resetAll(new SplittableRandom(playerCount));
+            scalar.resetAll(new SplittableRandom(playerCount));
+
+            // act
+            int vectorStepCount = vector.playAll();
+            int scalarStepCount = scalar.playAll();
+
+            // assert
+            Assertions.assertEquals(scalarStepCount, vectorStepCount);
+            for (int game = 0; game < DIFFERENTIAL_GAME_COUNT; game++) {
+                Assertions.assertEquals(scalar.getResult(game), vector.getResult(game), "game " + game);
+            }
+        }
+    }
+
+    @Test
+    public void whenSingleGameIsReset_otherGamesShouldNotChange() {
+        // arrange
+        VectorBatchGame vector = new VectorBatchGame(10, 2);
+        BatchGame scalar = new BatchGame(10, 2);
+        vector.resetAll(new SplittableRandom(3));
+        scalar.resetAll(new SplittableRandom(3));
+        vector.step();
+        scalar.step();
+
+        // act
+        vector.reset(5, new SplittableRandom(11));
+        scalar.reset(5, new SplittableRandom(11));
+        vector.playAll();
+        scalar.playAll();
+
+        // assert
+        for (int game = 0; game < 10; game++) {
+            Assertions.assertEquals(scalar.getResult(game), vector.getResult(game));
+        }
+    }
+
+    @Test
+    public void whenVectorModuleIsAdded_factoryShouldCreateVectorBatchUnlessItIsDisabled() {
+        // act
+        GameBatch batch = GameBatches.create(4, 2);
+        System.setProperty("tcg.simd", "false");
+        GameBatch scalar;
+        try {
+            scalar = GameBatches.create(4, 2);
+        } finally {
+            System.clearProperty("tcg.simd");
+        }
+
+        // assert
+        Assertions.assertEquals(VectorBatchGame.getLaneCount() > 1, batch instanceof VectorBatchGame);
+        Assertions.assertTrue(scalar instanceof BatchGame);
+        Assertions.assertTrue(batch.isOver(0));
+    }
+}
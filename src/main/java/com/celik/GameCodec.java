@@ -0,0 +1,240 @@
+package com.celik;
+
+import com.celik.domain.Health;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.cardholder.CardHolder;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.exception.HasNoCapacityException;
+import com.celik.model.Card;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned binary format of the state of a {@link TradingCardGame}, e.g. to park an idle game and resume it
+ * in another JVM. A two player game of the default decks takes 167 bytes before the initial draws, less later.
+ *
+ * Layout, integers are unsigned LEB128 varints unless noted:
+ * <pre>
+ * magic (short) | version (byte) | player sequence | card sequence | active player index | game random | player count
+ * player: id | name length | name (UTF-8) | health | mana slot count &lt;&lt; 4 | mana value (byte) | deck random | deck cards | hand cards
+ *         | initiative round | initiative rank
+ * random: seed (long) | gamma (long)
+ * cards: count | per card: id - id of the previous card (zigzag) | mana cost
+ * </pre>
+ * Deck cards are in deck order, the random picks of a deck depend on it. Longs are big endian, the order of the
+ * buffer is not changed.
+ */
+public final class GameCodec {
+
+    public static final short MAGIC = 0x5447;
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MANA_SLOT_SHIFT = 4;
+    private static final int MANA_VALUE_MASK = (1 << MANA_SLOT_SHIFT) - 1;
+    // hands keep a count per mana cost, a malformed cost must not grow them without bound
+    private static final int MAX_MANA_COST = 0xFF;
+
+    private GameCodec() {
+    }
+
+    /**
+     * Writes the state of the game at the position of buffer.
+     * @return count of the written bytes
+     * @throws java.nio.BufferOverflowException -- when the buffer has not enough space, the position is not defined then
+     */
+    public static int write(TradingCardGame game, ByteBuffer buffer) {
+        return write(game.players, game.activePlayerIndex, game.random,
+                     game.getPlayerSequence(), game.getCardSequence(), buffer);
+    }
+
+    /**
+     * Writes the state of the snapshot at the position of buffer.
+     * @return count of the written bytes
+     * @throws java.nio.BufferOverflowException -- when the buffer has not enough space, the position is not defined then
+     */
+    public static int write(GameSnapshot snapshot, ByteBuffer buffer) {
+        return write(snapshot.getPlayers(), snapshot.getActivePlayerIndex(), snapshot.getRandom(),
+                     snapshot.getPlayerSequence(), snapshot.getCardSequence(), buffer);
+    }
+
+    /**
+     * Reads a game state from the position of buffer, see {@link TradingCardGame#restore(GameSnapshot)} to resume it.
+     * @throws IllegalArgumentException -- when the buffer does not hold a game state of this format version,
+     * e.g. a card count or mana cost is out of range
+     * @throws java.nio.BufferUnderflowException -- when the state is truncated
+     */
+    public static GameSnapshot read(ByteBuffer buffer) {
+        int magic = getShort(buffer);
+        int formatVersion = buffer.get() & 0xFF;
+        if( magic != MAGIC || formatVersion != FORMAT_VERSION ) {
+            throw new IllegalArgumentException("Buffer does not hold a game state of format version " + FORMAT_VERSION);
+        }
+
+        int playerSequence = getVarInt(buffer);
+        int cardSequence = getVarInt(buffer);
+        int activePlayerIndex = getVarInt(buffer);
+        SplitMixRandom random = getRandom(buffer);
+        int playerCount = getVarInt(buffer);
+        if( playerCount > 0 && activePlayerIndex >= playerCount ) {
+            throw new IllegalArgumentException("Active player index is out of the players");
+        }
+
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(getPlayer(buffer));
+        }
+        return new GameSnapshot(players, activePlayerIndex, random, playerSequence, cardSequence,
+                                TradingCardGame.stateHash(players, activePlayerIndex));
+    }
+
+    private static int write(List<Player> players, int activePlayerIndex, SplitMixRandom random,
+                             int playerSequence, int cardSequence, ByteBuffer buffer) {
+        int start = buffer.position();
+        putShort(buffer, MAGIC);
+        buffer.put((byte) FORMAT_VERSION);
+        putVarInt(buffer, playerSequence);
+        putVarInt(buffer, cardSequence);
+        putVarInt(buffer, activePlayerIndex);
+        putRandom(buffer, random);
+        putVarInt(buffer, players.size());
+        for (Player player : players) {
+            putPlayer(buffer, player);
+        }
+        return buffer.position() - start;
+    }
+
+    private static void putPlayer(ByteBuffer buffer, Player player) {
+        putVarInt(buffer, player.getId());
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, name.length);
+        buffer.put(name);
+        putVarInt(buffer, player.getHealth().getHealthValue());
+        Mana mana = player.getMana();
+        buffer.put((byte) (mana.getManaSlotCount() << MANA_SLOT_SHIFT | mana.getManaValue()));
+        putRandom(buffer, player.getDeck().copyRandom());
+        putCards(buffer, player.getDeck());
+        putCards(buffer, player.getHand());
+        putVarInt(buffer, player.initiativeRound);
+        putVarInt(buffer, player.initiativeRank);
+    }
+
+    private static Player getPlayer(ByteBuffer buffer) {
+        int id = getVarInt(buffer);
+        byte[] name = new byte[getVarInt(buffer)];
+        buffer.get(name);
+        Health health = new Health(getVarInt(buffer));
+        int packedMana = buffer.get() & 0xFF;
+        Mana mana = Mana.getManaWithSlotCount(packedMana >>> MANA_SLOT_SHIFT, packedMana & MANA_VALUE_MASK);
+        Deck deck = new Deck(getRandom(buffer));
+        getCards(buffer, deck);
+
+        Player player = new Player(id, new String(name, StandardCharsets.UTF_8), health, mana, deck);
+        getCards(buffer, player.getHand());
+        player.initiativeRound = getVarInt(buffer);
+        player.initiativeRank = getVarInt(buffer);
+        return player;
+    }
+
+    private static void putCards(ByteBuffer buffer, CardHolder holder) {
+        putVarInt(buffer, holder.getCardCount());
+        int previousId = 0;
+        for (Card card : holder.getCards()) {
+            putVarInt(buffer, zigzag(card.getId() - previousId));
+            putVarInt(buffer, card.getManaCost());
+            previousId = card.getId();
+        }
+    }
+
+    private static void getCards(ByteBuffer buffer, CardHolder holder) {
+        int count = getVarInt(buffer);
+        if( count < 0 ) {
+            throw new IllegalArgumentException("Card count " + count + " is negative");
+        }
+        if( holder instanceof Hand && count > Hand.MAX_CARD_COUNT ) {
+            throw new IllegalArgumentException("Hand has more than " + Hand.MAX_CARD_COUNT + " cards");
+        }
+        int id = 0;
+        for (int i = 0; i < count; i++) {
+            id += unzigzag(getVarInt(buffer));
+            int manaCost = getVarInt(buffer);
+            if( manaCost < 0 || manaCost > MAX_MANA_COST ) {
+                throw new IllegalArgumentException("Mana cost " + manaCost + " is out of the range of cards");
+            }
+            try {
+                holder.addCard(new Card(id, manaCost));
+            } catch (HasNoCapacityException e) {
+                throw new IllegalArgumentException("Cards do not fit the holder", e);
+            }
+        }
+        if( holder.getCardCount() != count ) {
+            throw new IllegalArgumentException("Cards of a holder are not distinct");
+        }
+    }
+
+    private static void putRandom(ByteBuffer buffer, SplitMixRandom random) {
+        putLong(buffer, random.getSeed());
+        putLong(buffer, random.getGamma());
+    }
+
+    private static SplitMixRandom getRandom(ByteBuffer buffer) {
+        long seed = getLong(buffer);
+        long gamma = getLong(buffer);
+        return new SplitMixRandom(seed, gamma);
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while( (value & ~0x7F) != 0 ) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if( b >= 0 ) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 5 bytes");
+    }
+
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static void putShort(ByteBuffer buffer, short value) {
+        buffer.put((byte) (value >>> 8));
+        buffer.put((byte) value);
+    }
+
+    private static int getShort(ByteBuffer buffer) {
+        return (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
+    }
+
+    private static void putLong(ByteBuffer buffer, long value) {
+        if( buffer.order() == ByteOrder.BIG_ENDIAN ) {
+            buffer.putLong(value);
+        } else {
+            buffer.putLong(Long.reverseBytes(value));
+        }
+    }
+
+    private static long getLong(ByteBuffer buffer) {
+        long value = buffer.getLong();
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+}
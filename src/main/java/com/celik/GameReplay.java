@@ -0,0 +1,282 @@
+package com.celik;
+
+import com.celik.constants.GameConstants;
+import com.celik.domain.Health;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.mana.Mana;
+import com.celik.exception.DoesNotExistException;
+import com.celik.exception.HasNoCapacityException;
+import com.celik.journal.EventJournalCursor;
+import com.celik.journal.GameEventListener;
+import com.celik.journal.JournalPosition;
+import com.celik.model.Card;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds the states of the games of an {@link com.celik.journal.EventJournal}, e.g. to inspect a game at any turn.
+ *
+ * {@link #index(Path, int)} replays the whole journal once and keeps a snapshot of the state at every
+ * snapshotInterval-th turn of every game with the journal position after it. {@link #seek(int, int)} restores the
+ * nearest snapshot before the turn and applies the events of at most snapshotInterval turns from its position.
+ *
+ * The journal does not hold the setup of a game, so games are rebuilt with the default setup of
+ * {@link TradingCardGame#addPlayer(String)}: default decks, initial health and empty mana. Names and randoms are not
+ * journaled either: players are named by their ids and the rebuilt decks hold the right cards but pick differently,
+ * so a game that is restored from a rebuilt state does not draw what the journaled game drew afterwards.
+ * Games that restore snapshots while they are journaled, e.g. by undo, can not be rebuilt.
+ *
+ * Seeks reuse the cursor of the index and its mapped segment, so a replay is not thread safe.
+ */
+public final class GameReplay {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 8;
+
+    private static final long REPLAY_SEED = 0;
+
+    private final int snapshotInterval;
+    private final EventJournalCursor cursor;
+    // checkpoints of every game, the first is at the first turn
+    private final List<List<Checkpoint>> checkpoints = new ArrayList<>();
+    private final List<Integer> turnCounts = new ArrayList<>();
+
+    private GameReplay(int snapshotInterval, EventJournalCursor cursor) {
+        this.snapshotInterval = snapshotInterval;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @see #index(Path, int, GameEventListener)
+     */
+    public static GameReplay index(Path directory) throws IOException {
+        return index(directory, DEFAULT_SNAPSHOT_INTERVAL, GameEventListener.NONE);
+    }
+
+    /**
+     * @see #index(Path, int, GameEventListener)
+     */
+    public static GameReplay index(Path directory, int snapshotInterval) throws IOException {
+        return index(directory, snapshotInterval, GameEventListener.NONE);
+    }
+
+    /**
+     * Replays the whole journal of the directory in a single pass over the mapped segments, so it runs as fast as the
+     * segments are read, e.g. to score the journaled games again after a rule change.
+     * @param snapshotInterval -- count of turns between the snapshots; smaller intervals seek faster and take more memory
+     * @param observer -- receives every event of the journal after it was applied to the rebuilt state
+     * @throws IllegalArgumentException -- when snapshotInterval is not positive
+     * @throws IOException -- when the journal can not be read
+     * @throws IllegalStateException -- when an event does not fit the rebuilt state, e.g. a game was not set up by default
+     */
+    public static GameReplay index(Path directory, int snapshotInterval, GameEventListener observer) throws IOException {
+        if( snapshotInterval <= 0 ) {
+            throw new IllegalArgumentException("snapshotInterval should be positive");
+        }
+        EventJournalCursor cursor = EventJournalCursor.open(directory);
+        GameReplay replay = new GameReplay(snapshotInterval, cursor);
+        ReplayState state = new ReplayState(observer);
+        int gameIndex = -1;
+        while( cursor.next(state) ) {
+            if( state.gameIndex != gameIndex ) {
+                gameIndex = state.gameIndex;
+                replay.checkpoints.add(new ArrayList<>());
+                replay.turnCounts.add(0);
+            } else if( state.turn != replay.turnCounts.get(gameIndex) ) {
+                replay.turnCounts.set(gameIndex, state.turn);
+                if( (state.turn - 1) % snapshotInterval == 0 ) {
+                    replay.checkpoints.get(gameIndex).add(new Checkpoint(state.turn, state.snapshot(), cursor.getPosition()));
+                }
+            }
+        }
+        return replay;
+    }
+
+    /**
+     * Rebuilds the state of a game at the start of a turn: the turn player is the active player, it has not gained
+     * the mana and the card of the turn yet.
+     * @param gameIndex -- index of the game in the journal, from 0
+     * @param turn -- turn of the game, from 1 to {@link #getTurnCount(int)}
+     * @return state of the game, see {@link TradingCardGame#restore(GameSnapshot)} to inspect or resume it
+     * @throws IllegalArgumentException -- when the game or the turn is not in the journal
+     * @throws IOException -- when the journal can not be read, e.g. its segments were deleted
+     */
+    public GameSnapshot seek(int gameIndex, int turn) throws IOException {
+        if( gameIndex < 0 || gameIndex >= getGameCount() ) {
+            throw new IllegalArgumentException("Journal has no game " + gameIndex);
+        }
+        if( turn < 1 || turn > turnCounts.get(gameIndex) ) {
+            throw new IllegalArgumentException(String.format("Game %d has no turn %d", gameIndex, turn));
+        }
+
+        Checkpoint checkpoint = checkpoints.get(gameIndex).get((turn - 1) / snapshotInterval);
+        ReplayState state = new ReplayState(GameEventListener.NONE);
+        state.restore(checkpoint.snapshot, checkpoint.turn);
+        cursor.seek(checkpoint.position);
+        while( state.turn < turn && cursor.next(state) ) {
+        }
+        return state.snapshot();
+    }
+
+    public int getGameCount() {
+        return turnCounts.size();
+    }
+
+    /**
+     * @return count of the turns of the game in the journal, 0 when the journal ends before its first turn
+     */
+    public int getTurnCount(int gameIndex) {
+        return turnCounts.get(gameIndex);
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    private static final class Checkpoint {
+
+        private final int turn;
+        private final GameSnapshot snapshot;
+        // position of the first event after the start of the turn
+        private final JournalPosition position;
+
+        private Checkpoint(int turn, GameSnapshot snapshot, JournalPosition position) {
+            this.turn = turn;
+            this.snapshot = snapshot;
+            this.position = position;
+        }
+    }
+
+    // applies the events to the players of the game that is replayed; player ids of a game are 1, 2, ... by joining order
+    private static final class ReplayState implements GameEventListener {
+
+        private final GameEventListener observer;
+        private final List<Player> players = new ArrayList<>();
+        private int gameIndex = -1;
+        private int activePlayerIndex;
+        private int turn;
+
+        private ReplayState(GameEventListener observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onGameStarted(int playerCount) {
+            players.clear();
+            int deckSize = GameConstants.INITIAL_MANA_COSTS_OF_DECK.size();
+            for (int id = 1; id <= playerCount; id++) {
+                Deck deck = Deck.getDefaultDeck((id - 1) * deckSize + 1, new SplitMixRandom(REPLAY_SEED + id));
+                Health health = new Health(GameConstants.INITIAL_PLAYER_HEALTH);
+                players.add(new Player(id, "Player " + id, health, Mana.getEmptyMana(), deck));
+            }
+            gameIndex++;
+            activePlayerIndex = 0;
+            turn = 0;
+            observer.onGameStarted(playerCount);
+        }
+
+        @Override
+        public void onTurnStarted(int playerId) {
+            getPlayer(playerId);
+            activePlayerIndex = playerId - 1;
+            turn++;
+            observer.onTurnStarted(playerId);
+        }
+
+        @Override
+        public void onManaGained(int playerId, int slotCount, int manaValue) {
+            Mana mana = getPlayer(playerId).getMana();
+            if( mana.getManaSlotCount() < slotCount ) {
+                mana.tryAddManaSlot();
+            }
+            mana.refillManaSlots();
+            check(mana.getManaSlotCount() == slotCount && mana.getManaValue() == manaValue, playerId);
+            observer.onManaGained(playerId, slotCount, manaValue);
+        }
+
+        @Override
+        public void onCardDrawn(int playerId, int cardId, int manaCost) {
+            Player player = getPlayer(playerId);
+            Card card = player.getDeck().findCardById(cardId).orElse(null);
+            check(card != null && card.getManaCost() == manaCost, playerId);
+            try {
+                player.getDeck().giveCard(card, player.getHand());
+            } catch (DoesNotExistException | HasNoCapacityException e) {
+                throw new IllegalStateException("Journal does not fit the state of player " + playerId, e);
+            }
+            observer.onCardDrawn(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onOverload(int playerId, int cardId, int manaCost) {
+            getPlayer(playerId);
+            observer.onOverload(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onBleedingOut(int playerId, int damageAmount) {
+            getPlayer(playerId);
+            observer.onBleedingOut(playerId, damageAmount);
+        }
+
+        @Override
+        public void onCardPlayed(int playerId, int cardId, int manaCost) {
+            Player player = getPlayer(playerId);
+            Card card = player.getHand().findCardById(cardId).orElse(null);
+            check(card != null && player.getMana().tryUseMana(manaCost), playerId);
+            try {
+                player.getHand().giveCard(card);
+            } catch (DoesNotExistException e) {
+                throw new IllegalStateException("Journal does not fit the state of player " + playerId, e);
+            }
+            observer.onCardPlayed(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+            Health health = getPlayer(playerId).getHealth();
+            health.tryDecreaseHealth(damageAmount);
+            check(health.getHealthValue() == healthValue, playerId);
+            observer.onDamageTaken(playerId, damageAmount, healthValue);
+        }
+
+        @Override
+        public void onPlayerDied(int playerId) {
+            check(getPlayer(playerId).isDead(), playerId);
+            observer.onPlayerDied(playerId);
+        }
+
+        private GameSnapshot snapshot() {
+            List<Player> copies = new ArrayList<>(players.size());
+            for (Player player : players) {
+                copies.add(player.copy());
+            }
+            int cardSequence = players.size() * GameConstants.INITIAL_MANA_COSTS_OF_DECK.size();
+            return new GameSnapshot(copies, activePlayerIndex, new SplitMixRandom(REPLAY_SEED), players.size(),
+                                    cardSequence, TradingCardGame.stateHash(players, activePlayerIndex));
+        }
+
+        private void restore(GameSnapshot snapshot, int turn) {
+            players.clear();
+            for (Player player : snapshot.getPlayers()) {
+                players.add(player.copy());
+            }
+            activePlayerIndex = snapshot.getActivePlayerIndex();
+            this.turn = turn;
+        }
+
+        private Player getPlayer(int playerId) {
+            check(playerId >= 1 && playerId <= players.size(), playerId);
+            return players.get(playerId - 1);
+        }
+
+        private static void check(boolean fits, int playerId) {
+            if( !fits ) {
+                throw new IllegalStateException("Journal does not fit the state of player " + playerId);
+            }
+        }
+    }
+}
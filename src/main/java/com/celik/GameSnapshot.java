@@ -0,0 +1,66 @@
+package com.celik;
+
+import com.celik.domain.SplitMixRandom;
+
+import java.util.List;
+
+/**
+ * State of a {@link TradingCardGame}: copies of the players, the active player index, the id sequences and the
+ * randoms of the game and of the decks, so a restored game draws the same cards again.
+ *
+ * Cards are immutable and shared by all snapshots; a snapshot copies the health, mana and card arrays of the players
+ * only. A snapshot is never changed, it can be restored any number of times.
+ * State of the subclasses of the game, e.g. counters of a headless game, is not a part of the snapshot.
+ * @see TradingCardGame#snapshot()
+ */
+public final class GameSnapshot {
+
+    private final List<Player> players;
+    private final int activePlayerIndex;
+    private final SplitMixRandom random;
+    private final int playerSequence;
+    private final int cardSequence;
+    private final long stateHash;
+
+    GameSnapshot(List<Player> players, int activePlayerIndex, SplitMixRandom random,
+                 int playerSequence, int cardSequence, long stateHash) {
+        this.players = List.copyOf(players);
+        this.activePlayerIndex = activePlayerIndex;
+        this.random = random;
+        this.playerSequence = playerSequence;
+        this.cardSequence = cardSequence;
+        this.stateHash = stateHash;
+    }
+
+    // players of the snapshot, they should be copied before they are changed
+    List<Player> getPlayers() {
+        return players;
+    }
+
+    int getActivePlayerIndex() {
+        return activePlayerIndex;
+    }
+
+    SplitMixRandom getRandom() {
+        return random;
+    }
+
+    int getPlayerSequence() {
+        return playerSequence;
+    }
+
+    int getCardSequence() {
+        return cardSequence;
+    }
+
+    /**
+     * @return {@link TradingCardGame#stateHash()} of the game when the snapshot was taken
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+}
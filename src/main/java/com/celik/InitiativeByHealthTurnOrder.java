@@ -0,0 +1,73 @@
+package com.celik;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rounds of turns by health, see {@link TurnOrder#initiativeByHealth()}. A round is ordered when it starts, so a
+ * turn costs a single step and a round costs a sort of the alive players. The healthiest player of a round may be
+ * the last player of the previous round, it plays two turns in a row then.
+ *
+ * The round and the place of every player in it are a part of the player state, so snapshots, branches of
+ * {@link TradingCardGame#whatIf} and {@link GameCodec} keep them. The order only caches the current round, the cache
+ * is built again from the players when the game has other player instances, e.g. after a restore.
+ */
+final class InitiativeByHealthTurnOrder implements TurnOrder {
+
+    private static final Comparator<Player> BY_HEALTH = Comparator.<Player>comparingInt(player -> player.getHealth().getHealthValue())
+                                                                  .reversed()
+                                                                  .thenComparingInt(player -> player.seat);
+    private static final Comparator<Player> BY_RANK = Comparator.comparingInt(player -> player.initiativeRank);
+
+    private final List<Player> round = new ArrayList<>();
+    private int position;
+
+    @Override
+    public Player next(Player activePlayer) {
+        Player first = activePlayer.getNextAlivePlayer();
+        if( first == null ) return null;
+
+        if( position == 0 || position > round.size() || round.get(position - 1) != activePlayer ) {
+            cacheRestOfRound(activePlayer, first);
+        }
+        while( position < round.size() ) {
+            Player player = round.get(position++);
+            // players of the round may have died since it started
+            if( player.roster == activePlayer.roster && player.rosterIndex >= 0 ) {
+                return player;
+            }
+        }
+
+        round.clear();
+        collectAlivePlayers(first);
+        round.sort(BY_HEALTH);
+        int roundNumber = activePlayer.initiativeRound + 1;
+        for (int i = 0; i < round.size(); i++) {
+            Player player = round.get(i);
+            player.initiativeRound = roundNumber;
+            player.initiativeRank = i;
+        }
+        position = 1;
+        return round.get(0);
+    }
+
+    // the players that play after activePlayer in its round, in the order of the round
+    private void cacheRestOfRound(Player activePlayer, Player first) {
+        round.clear();
+        position = 0;
+        if( activePlayer.initiativeRound == 0 ) return;
+        collectAlivePlayers(first);
+        round.removeIf(player -> player.initiativeRound != activePlayer.initiativeRound
+                                 || player.initiativeRank <= activePlayer.initiativeRank);
+        round.sort(BY_RANK);
+    }
+
+    private void collectAlivePlayers(Player first) {
+        Player player = first;
+        do {
+            round.add(player);
+            player = player.nextAlive;
+        } while( player != first );
+    }
+}
@@ -3,10 +3,12 @@ package com.celik;
 import com.celik.exception.*;
 import com.celik.provider.InputProvider;
 import com.celik.provider.OutputProvider;
+import com.celik.strategy.IsmctsStrategy;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 public class Main {
     public static void main(String[] args) {
@@ -15,10 +17,19 @@ public class Main {
 
         InputProvider inputProvider = () -> scanner.next();
         OutputProvider outputProvider = System.out::println;
-        TradingCardGame game = new TradingCardGamePlay(inputProvider, outputProvider);
+
+        // the seed and the entered commands are enough to replay the game
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : new SplittableRandom().nextLong();
+        outputProvider.printOutput(String.format("Game seed: %d", seed));
+        TradingCardGamePlay game = new TradingCardGamePlay(inputProvider, outputProvider, seed);
 
         game.addPlayer("test");
-        game.addPlayer("test 2");
+        // "bot" as the second argument makes the second player a search bot
+        if( args.length > 1 && args[1].equalsIgnoreCase("bot") ) {
+            game.addPlayer("bot", new IsmctsStrategy());
+        } else {
+            game.addPlayer("test 2");
+        }
 
         try {
             game.play();
@@ -1,6 +1,7 @@
 package com.celik;
 
 import com.celik.domain.Health;
+import com.celik.domain.Zobrist;
 import com.celik.domain.cardholder.Deck;
 import com.celik.domain.cardholder.Hand;
 import com.celik.domain.damage.DamageEvent;
@@ -8,7 +9,10 @@ import com.celik.domain.damage.DamageEventListener;
 import com.celik.domain.damage.Damager;
 import com.celik.domain.mana.Mana;
 import com.celik.exception.*;
+import com.celik.journal.GameEventListener;
 import com.celik.model.Card;
+import com.celik.model.DrawResult;
+import com.celik.model.PlayResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class Player extends Damager implements DamageEventListener {
@@ -29,17 +34,64 @@ public class Player extends Damager implements DamageEventListener {
     private final Mana mana;
     private final Deck deck;
     private final Hand hand;
+    private GameEventListener eventListener = GameEventListener.NONE;
+    // roster of the alive players of the game, the player leaves it when it dies
+    PlayerRoster roster;
+    int rosterIndex = -1;
+    // index in the players of the game and the ring of the alive players in that order, see PlayerRoster
+    int seat;
+    Player nextAlive;
+    Player previousAlive;
+    // round of turns of the player and its place in that round, see InitiativeByHealthTurnOrder; 0 before the first round
+    int initiativeRound;
+    int initiativeRank;
 
     public Player(String name, Health health, Mana mana, Deck deck) {
+        this(sequence.incrementAndGet(), name, health, mana, deck);
+    }
+
+    /**
+     * Creates a player with an id that is allocated by the caller, e.g. from the id space of a game.
+     */
+    public Player(int id, String name, Health health, Mana mana, Deck deck) {
+        this(id, name, health, mana, deck, new Hand());
+    }
+
+    private Player(int id, String name, Health health, Mana mana, Deck deck, Hand hand) {
         super();
-        this.id = sequence.incrementAndGet();
+        this.id = id;
         logger.info("Player {} is initializing...", id);
 
         this.name = name;
         this.health = health;
         this.mana = mana;
         this.deck = deck;
-        this.hand = new Hand();
+        this.hand = hand;
+    }
+
+    /**
+     * Copies the state of the player, e.g. to look ahead without changing the game.
+     * Opponents are not copied, copies can be linked by {@link #addOpponentPlayer(Player)}.
+     * @param deckRandom -- source of the random picks of the copied deck
+     * @return a player with the same id, health, mana, hand and deck
+     */
+    public Player copy(SplittableRandom deckRandom) {
+        return copyTurnState(new Player(id, name, getHealth().copy(), getMana().copy(), getDeck().copy(deckRandom), getHand().copy()));
+    }
+
+    /**
+     * Copies the state of the player including the random of the deck, so the copy draws the same cards.
+     * Cards are immutable, they are shared by the copy. Opponents are not copied.
+     * @return a player with the same id, health, mana, hand, deck and deck random
+     */
+    public Player copy() {
+        return copyTurnState(new Player(id, name, getHealth().copy(), getMana().copy(), getDeck().copy(), getHand().copy()));
+    }
+
+    private Player copyTurnState(Player copy) {
+        copy.initiativeRound = initiativeRound;
+        copy.initiativeRank = initiativeRank;
+        return copy;
     }
 
     /**
@@ -48,15 +100,41 @@ public class Player extends Damager implements DamageEventListener {
      * @throws HasNoCapacityException -- When hand exceeded the max capacity
      */
     public void drawCard() throws EmptyResourceUsingException, HasNoCapacityException {
+        switch (tryDrawCard()) {
+            case EMPTY_DECK:
+                throw new EmptyResourceUsingException("Card could not found in the Deck");
+            case OVERLOAD:
+                throw new HasNoCapacityException("There is no capacity to add new card");
+            default:
+        }
+    }
+
+    /**
+     * Draws a random card from deck without throwing for an empty deck or a full hand.
+     * When the hand is full, the picked card stays in the deck.
+     * @return result of the draw
+     */
+    public DrawResult tryDrawCard() {
         logger.info("Player {} is drawing a card.", id);
-        Card card = getDeck().pickRandomCard();
+        if( getDeck().isEmpty() ) {
+            return DrawResult.EMPTY_DECK;
+        }
 
         try {
+            Card card = getDeck().pickRandomCard();
+            if( !getHand().hasCapacity() ) {
+                eventListener.onOverload(id, card.getId(), card.getManaCost());
+                return DrawResult.OVERLOAD;
+            }
             getDeck().giveCard(card, getHand());
-        } catch (DoesNotExistException e) {
+            eventListener.onCardDrawn(id, card.getId(), card.getManaCost());
+        } catch (EmptyResourceUsingException | DoesNotExistException e) {
             logger.error("Picked card could not found in the Deck");
-            throw new EmptyResourceUsingException("Card could not found in the Deck");
+            return DrawResult.EMPTY_DECK;
+        } catch (HasNoCapacityException e) {
+            return DrawResult.OVERLOAD;
         }
+        return DrawResult.DRAWN;
     }
 
     /**
@@ -84,17 +162,49 @@ public class Player extends Damager implements DamageEventListener {
         logger.info("Player {} is playing {}", id, card.get());
 
         Card playCard = getHand().giveCard(card.get());
+        eventListener.onCardPlayed(id, playCard.getId(), playCard.getManaCost());
         if( playCard.getDamageAmount() > 0 ) {
             inflictDamage(playCard);
         }
     }
 
-    public boolean canPlayCard(){
-        return getHand().getCardCount() > 0 && getMinManaCostCard().isPresent() && getMinManaCostCard().get().getManaCost() <= getMana().getManaValue();
+    /**
+     * Plays an existing card like {@link #playCard(int)}, but reports the failures as a result instead of throwing.
+     * @param cardId -- id of the card that will be played
+     * @return result of the play, the hand and the mana are not changed unless the card was played
+     */
+    public PlayResult tryPlayCard(int cardId) {
+        if( isDead() ) {
+            return PlayResult.DEAD_PLAYER;
+        }
+
+        Optional<Card> card = getHand().findCardById(cardId);
+        if( card.isEmpty() ) {
+            logger.info("Player {} has not any card with {} id.", id, cardId);
+            return PlayResult.NO_SUCH_CARD;
+        }
+
+        if( card.get().getManaCost() > 0 && !getMana().tryUseMana(card.get().getManaCost()) ) {
+            return PlayResult.INSUFFICIENT_MANA;
+        }
+
+        logger.info("Player {} is playing {}", id, card.get());
+
+        try {
+            getHand().giveCard(card.get());
+        } catch (DoesNotExistException e) {
+            logger.error("Found card could not be removed from the hand");
+            return PlayResult.NO_SUCH_CARD;
+        }
+        eventListener.onCardPlayed(id, card.get().getId(), card.get().getManaCost());
+        if( card.get().getDamageAmount() > 0 ) {
+            inflictDamage(card.get());
+        }
+        return PlayResult.PLAYED;
     }
 
-    private Optional<Card> getMinManaCostCard(){
-        return getHand().getCards().stream().min(Card::compareTo);
+    public boolean canPlayCard(){
+        return getHand().hasPlayableCard(getMana().getManaValue());
     }
 
     public void takeDamage(int damageAmount) {
@@ -104,12 +214,17 @@ public class Player extends Damager implements DamageEventListener {
         }
 
         logger.info("Player {} is taking {} damage", id, damageAmount);
-        try {
-            getHealth().decreaseHealth(damageAmount);
-        } catch (InsufficientAmountException e) {
-            logger.warn("Player {} was dead!", id);
+        if( !getHealth().tryDecreaseHealth(damageAmount) ) {
+            logger.info("Player {} was dead!", id);
             clearDamageListener();
         }
+        eventListener.onDamageTaken(id, damageAmount, getHealth().getHealthValue());
+        if( !getHealth().hasHealth() ) {
+            if( roster != null ) {
+                roster.remove(this);
+            }
+            eventListener.onPlayerDied(id);
+        }
     }
 
     @Override
@@ -126,10 +241,59 @@ public class Player extends Damager implements DamageEventListener {
         addDamageListener(opponentPlayer);
     }
 
+    /**
+     * @param eventListener -- receives the draws, plays, damages and the death of this player
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Next player of the ring of the alive players of the game, in joining order. A single hop for an alive player;
+     * a dead player keeps the links it had when it died, so the next alive player is found from it too.
+     * @return this player when it is the only alive player, null when the player did not join a game or all died
+     */
+    public Player getNextAlivePlayer() {
+        Player next = nextAlive;
+        while( next != null && next.rosterIndex < 0 ) {
+            if( next.nextAlive == next ) return null;
+            next = next.nextAlive;
+        }
+        return next;
+    }
+
+    /**
+     * Previous player of the ring of the alive players of the game, like {@link #getNextAlivePlayer()}.
+     */
+    public Player getPreviousAlivePlayer() {
+        Player previous = previousAlive;
+        while( previous != null && previous.rosterIndex < 0 ) {
+            if( previous.previousAlive == previous ) return null;
+            previous = previous.previousAlive;
+        }
+        return previous;
+    }
+
+    /**
+     * @return count of the players that take the damage of this player
+     */
     public int getOpponentPlayersCount() {
+        if( roster != null && roster.isBroadcast() ) {
+            return isAlive() ? roster.getAliveCount() - 1 : 0;
+        }
         return damageListenerList.size();
     }
 
+    // in a large lobby the damage goes to every alive player of the roster instead of the linked opponents
+    @Override
+    protected void notifyDamageListeners(DamageEvent damageEvent) {
+        if( roster != null && roster.isBroadcast() ) {
+            roster.broadcast(this, damageEvent);
+        } else {
+            super.notifyDamageListeners(damageEvent);
+        }
+    }
+
     public int getId() {
         return id;
     }
@@ -154,6 +318,14 @@ public class Player extends Damager implements DamageEventListener {
         return mana;
     }
 
+    /**
+     * @return Zobrist hash of the health, mana, hand and deck of the player, see {@link Zobrist}
+     */
+    public long getStateHash() {
+        return Zobrist.getPlayerHash(id, getHealth().getStateHash() ^ getMana().getStateHash())
+                ^ getHand().getStateHash() ^ getDeck().getStateHash();
+    }
+
     public boolean isDead(){
         return !getHealth().hasHealth();
     }
@@ -0,0 +1,118 @@
+package com.celik;
+
+import com.celik.domain.damage.DamageEvent;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Alive players of a game, kept up to date by the players: a player leaves the roster when it dies, so the alive
+ * count is a field and the dead players are not visited anymore.
+ *
+ * In a large lobby the roster is also the damage fan-out of the players: a played card damages every alive player
+ * but the source, see {@link #broadcast(Player, DamageEvent)}, so players are not linked pair by pair.
+ * Players are removed by swapping the last alive player into their place, so the order is not the joining order.
+ *
+ * The alive players are linked in a ring in seat order too, see {@link Player#getNextAlivePlayer()}: a dying player
+ * is unlinked in O(1) and a turn passes to the next alive player by a single hop, see {@link TurnOrder}.
+ */
+final class PlayerRoster {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final boolean broadcast;
+    private Player[] alivePlayers = new Player[INITIAL_CAPACITY];
+    private int aliveCount;
+    // first player of the ring in seat order
+    private Player head;
+
+    PlayerRoster(boolean broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    /**
+     * @return roster of the alive players of the list, the players are moved to it from their previous roster
+     */
+    static PlayerRoster of(List<Player> players, boolean broadcast) {
+        PlayerRoster roster = new PlayerRoster(broadcast);
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            player.roster = null;
+            player.rosterIndex = -1;
+            player.seat = i;
+            player.nextAlive = null;
+            player.previousAlive = null;
+            if( player.isAlive() ) {
+                roster.add(player);
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Adds the player after the last player of the ring, players should be added in seat order.
+     */
+    void add(Player player) {
+        if( aliveCount == alivePlayers.length ) {
+            alivePlayers = Arrays.copyOf(alivePlayers, aliveCount * 2);
+        }
+        player.roster = this;
+        player.rosterIndex = aliveCount;
+        alivePlayers[aliveCount++] = player;
+
+        if( head == null ) {
+            head = player;
+            player.nextAlive = player;
+            player.previousAlive = player;
+        } else {
+            Player last = head.previousAlive;
+            player.nextAlive = head;
+            player.previousAlive = last;
+            last.nextAlive = player;
+            head.previousAlive = player;
+        }
+    }
+
+    void remove(Player player) {
+        int index = player.rosterIndex;
+        if( player.roster != this || index < 0 ) return;
+
+        Player last = alivePlayers[--aliveCount];
+        alivePlayers[index] = last;
+        last.rosterIndex = index;
+        alivePlayers[aliveCount] = null;
+        player.rosterIndex = -1;
+
+        // the links of the player are kept, so a dead active player still finds the next alive player
+        player.previousAlive.nextAlive = player.nextAlive;
+        player.nextAlive.previousAlive = player.previousAlive;
+        if( head == player ) {
+            head = aliveCount == 0 ? null : player.nextAlive;
+        }
+    }
+
+    /**
+     * Notifies every alive player but source. Players are visited from the last, so a player that dies and is
+     * swapped out by the last player does not make the broadcast skip anyone: the last player was visited already.
+     */
+    void broadcast(Player source, DamageEvent damageEvent) {
+        for (int i = aliveCount - 1; i >= 0; i--) {
+            Player player = alivePlayers[i];
+            if( player != source ) {
+                player.takeDamage(damageEvent);
+            }
+        }
+    }
+
+    boolean isBroadcast() {
+        return broadcast;
+    }
+
+    int getAliveCount() {
+        return aliveCount;
+    }
+
+    Player getAlivePlayer(int index) {
+        return alivePlayers[index];
+    }
+}
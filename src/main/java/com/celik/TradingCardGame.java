@@ -2,17 +2,28 @@ package com.celik;
 
 import com.celik.constants.GameConstants;
 import com.celik.domain.Health;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.Zobrist;
 import com.celik.domain.cardholder.Deck;
 import com.celik.domain.mana.Mana;
+import com.celik.engine.EndgameTablebase;
+import com.celik.engine.OptimalTurnTable;
+import com.celik.engine.PackedGame;
 import com.celik.exception.*;
+import com.celik.journal.GameEventListener;
 import com.celik.model.Card;
+import com.celik.model.PlayResult;
+import com.celik.model.TurnOutcome;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 public abstract class TradingCardGame {
@@ -21,10 +32,37 @@ public abstract class TradingCardGame {
 
     protected List<Player> players;
     protected Integer activePlayerIndex;
+    protected SplitMixRandom random;
+
+    // ids are scoped to the game, so games do not share any counter
+    private int playerSequence;
+    private int cardSequence;
+    private GameEventListener eventListener = GameEventListener.NONE;
+    private boolean largeLobby;
+    // alive players, isOver and getWinner do not visit the players
+    private PlayerRoster roster = new PlayerRoster(false);
+    private TurnOrder turnOrder = TurnOrder.ROUND_ROBIN;
 
     public TradingCardGame(){
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a reproducible game. Same seed and same commands give the same game.
+     * @param seed -- seed of the source of randomness of this game
+     */
+    public TradingCardGame(long seed){
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * @param random -- source of randomness of this game only. Every deck gets a split of it.
+     *               The game takes over its stream, see {@link SplitMixRandom#SplitMixRandom(SplittableRandom)}.
+     */
+    public TradingCardGame(SplittableRandom random){
         players = new ArrayList<>();
         activePlayerIndex = 0;
+        this.random = new SplitMixRandom(random);
         logger.info("Game initialized");
     }
 
@@ -34,29 +72,47 @@ public abstract class TradingCardGame {
                                                                         GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY));
         }
 
+        eventListener.onGameStarted(players.size());
         this.getPlayers().forEach(this::drawInitialCardsOfPlayer);
 
         activatePlayer(activePlayerIndex);
         while( !isOver() ) {
             try {
-                playRound();
-            } catch (TurnIsOverException e) {
-                setNextTurnPlayerIndex();
-                activatePlayer(activePlayerIndex);
+                if( playTurn() == TurnOutcome.END_TURN ) {
+                    setNextTurnPlayerIndex();
+                    activatePlayer(activePlayerIndex);
+                }
             } finally {
                 nextRound();
             }
         }
     }
 
+    /**
+     * Plays a round of the active player and reports whether the turn is over.
+     * By default it delegates to {@link #playRound()}, games that run many rounds
+     * should override it to end the turn without throwing.
+     * @return {@link TurnOutcome#END_TURN} when the turn passes to the next player
+     */
+    protected TurnOutcome playTurn() throws DeadPlayerException, DoesNotExistException {
+        try {
+            playRound();
+            return TurnOutcome.CONTINUE;
+        } catch (TurnIsOverException e) {
+            return TurnOutcome.END_TURN;
+        }
+    }
+
     protected abstract void playRound() throws TurnIsOverException, DeadPlayerException, DoesNotExistException;
     protected abstract void nextRound();
     protected abstract void notifyPlayer(String message);
 
     protected Player preparePlayerForGame(String name) {
-        Deck deck = Deck.getDeckWithManaCosts(GameConstants.INITIAL_MANA_COSTS_OF_DECK);
+        Deck deck = Deck.getDefaultDeck(cardSequence + 1, random.split());
+        cardSequence += GameConstants.INITIAL_MANA_COSTS_OF_DECK.size();
+
         Health health = new Health(GameConstants.INITIAL_PLAYER_HEALTH);
-        return new Player(name, health, Mana.getEmptyMana(), deck);
+        return new Player(++playerSequence, name, health, Mana.getEmptyMana(), deck);
     }
 
     private void drawInitialCardsOfPlayer(Player player){
@@ -65,19 +121,222 @@ public abstract class TradingCardGame {
 
     public void addPlayer(String name){
         Player newPlayer = preparePlayerForGame(name);
+        newPlayer.setEventListener(eventListener);
 
-        players.stream().forEach( existingPlayer -> {
-            existingPlayer.addOpponentPlayer(newPlayer);
-            newPlayer.addOpponentPlayer(existingPlayer);
-        });
+        if( !largeLobby ) {
+            players.stream().forEach( existingPlayer -> {
+                existingPlayer.addOpponentPlayer(newPlayer);
+                newPlayer.addOpponentPlayer(existingPlayer);
+            });
+        }
+        newPlayer.seat = players.size();
         players.add(newPlayer);
+        if( newPlayer.isAlive() ) {
+            roster.add(newPlayer);
+        }
 
         logger.info("Player {} was added to game", newPlayer.getName());
     }
 
+    /**
+     * Turns the game into a free for all of hundreds or thousands of players: players are not linked to each other,
+     * a played card damages every alive player but its player through the roster of the game, so joining is O(1)
+     * and the dead players are not notified anymore.
+     * @throws IllegalStateException -- when a player joined already
+     */
+    public void useLargeLobby() {
+        if( !players.isEmpty() ) {
+            throw new IllegalStateException("Large lobby should be used before the players join");
+        }
+        largeLobby = true;
+        roster = new PlayerRoster(true);
+    }
+
+    public boolean isLargeLobby() {
+        return largeLobby;
+    }
+
+    /**
+     * @param turnOrder -- picks the player of every next turn, {@link TurnOrder#ROUND_ROBIN} by default
+     */
+    public void setTurnOrder(TurnOrder turnOrder) {
+        this.turnOrder = turnOrder;
+    }
+
+    /**
+     * Reports every action of the game from now on, e.g. to an {@link com.celik.journal.EventJournal}.
+     * Branches of {@link #whatIf(Consumer)} are not reported.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+        players.forEach(player -> player.setEventListener(eventListener));
+    }
+
     public Optional<Player> getWinner(){
-        if( !isOver() ) return Optional.empty();
-        return players.stream().filter(player -> player.isAlive()).findFirst();
+        if( !isOver() || roster.getAliveCount() == 0 ) return Optional.empty();
+        return Optional.of(roster.getAlivePlayer(0));
+    }
+
+    /**
+     * Hint for the active player: cards that deal the most damage in this turn with the current mana.
+     * When both decks of a two player game are empty, the cards of the fastest kill from the {@link EndgameTablebase}.
+     * @return cards of the best play, most expensive first, empty if nothing is worth playing
+     * @see OptimalTurnTable
+     */
+    public List<Card> getHint() {
+        Player activePlayer = getActivePlayer();
+        if( activePlayer == null ) return Collections.emptyList();
+
+        List<Integer> manaCosts = new ArrayList<>();
+        PackedGame endgame = getEndgame();
+        if( endgame != null ) {
+            EndgameTablebase tablebase = EndgameTablebase.getDefault();
+            while( !endgame.isOver() ) {
+                int manaCost = tablebase.getBestManaCost(endgame);
+                // a card that can not be played leaves the endgame unchanged, e.g. from a corrupt table
+                if( manaCost == PackedGame.NO_CARD || endgame.playCard(manaCost) != PlayResult.PLAYED ) break;
+                manaCosts.add(manaCost);
+            }
+        } else {
+            int play = OptimalTurnTable.getPlay(activePlayer.getHand(), activePlayer.getMana().getManaValue());
+            for (int i = 0; i < OptimalTurnTable.getCardCount(play); i++) {
+                manaCosts.add(OptimalTurnTable.getManaCost(play, i));
+            }
+        }
+
+        List<Card> cards = new ArrayList<>(activePlayer.getHand().getCards());
+        List<Card> hint = new ArrayList<>(manaCosts.size());
+        for (int manaCost : manaCosts) {
+            for (Iterator<Card> iterator = cards.iterator(); iterator.hasNext(); ) {
+                Card card = iterator.next();
+                if( card.getManaCost() == manaCost ) {
+                    hint.add(card);
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        return hint;
+    }
+
+    /**
+     * 64-bit Zobrist hash of the game state: the active player and the health, mana, hand and deck of every player.
+     * Card holders keep their hashes up to date on every move of a card, the other parts are single keys, so the
+     * hash costs a few xors per player. Equal states have equal hashes, e.g. to dedupe positions or key caches.
+     * @see Zobrist
+     */
+    public long stateHash() {
+        return stateHash(players, activePlayerIndex);
+    }
+
+    static long stateHash(List<Player> players, int activePlayerIndex) {
+        long hash = Zobrist.getActivePlayerKey(activePlayerIndex);
+        for (Player player : players) {
+            hash ^= player.getStateHash();
+        }
+        return hash;
+    }
+
+    /**
+     * Takes a snapshot of the game, it is much cheaper than building the game again: cards are shared,
+     * only the health, mana, card arrays and random states are copied.
+     * @see #restore(GameSnapshot)
+     */
+    public GameSnapshot snapshot() {
+        List<Player> copies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            copies.add(player.copy());
+        }
+        return new GameSnapshot(copies, activePlayerIndex, random.copy(), playerSequence, cardSequence, stateHash());
+    }
+
+    /**
+     * Restores the game to the snapshot, e.g. to undo the last card. Players are replaced by copies of the players
+     * of the snapshot, so player instances that were taken from the game before are not a part of it anymore.
+     * @param snapshot -- snapshot of this game
+     */
+    public void restore(GameSnapshot snapshot) {
+        List<Player> copies = new ArrayList<>(snapshot.getPlayerCount());
+        for (Player player : snapshot.getPlayers()) {
+            Player copy = player.copy();
+            copy.setEventListener(eventListener);
+            copies.add(copy);
+        }
+        linkOpponents(copies);
+        setState(copies, snapshot.getActivePlayerIndex(), snapshot.getRandom().copy(),
+                 snapshot.getPlayerSequence(), snapshot.getCardSequence());
+    }
+
+    /**
+     * Evaluates action on a branch of the game and discards the branch: the action plays on copies of the players,
+     * afterwards the game has its own players again, unchanged, even if the action throws.
+     * @param action -- reads or plays the branch, e.g. to compare the outcomes of cards
+     */
+    public void whatIf(Consumer<TradingCardGame> action) {
+        List<Player> currentPlayers = new ArrayList<>(players);
+        int currentActivePlayerIndex = activePlayerIndex;
+        SplitMixRandom currentRandom = random;
+        int currentPlayerSequence = playerSequence;
+        int currentCardSequence = cardSequence;
+
+        List<Player> copies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            copies.add(player.copy());
+        }
+        GameEventListener currentEventListener = eventListener;
+        // the copies do not report to the listener either
+        eventListener = GameEventListener.NONE;
+        linkOpponents(copies);
+        setState(copies, activePlayerIndex, random.copy(), playerSequence, cardSequence);
+        try {
+            action.accept(this);
+        } finally {
+            setState(currentPlayers, currentActivePlayerIndex, currentRandom, currentPlayerSequence, currentCardSequence);
+            eventListener = currentEventListener;
+        }
+    }
+
+    // links the copies like addPlayer does; a dead player does not damage anyone, see Player#takeDamage
+    private void linkOpponents(List<Player> copies) {
+        if( largeLobby ) return;
+        for (Player player : copies) {
+            if( player.isDead() ) continue;
+            for (Player opponent : copies) {
+                if( opponent != player ) {
+                    player.addOpponentPlayer(opponent);
+                }
+            }
+        }
+    }
+
+    int getPlayerSequence() {
+        return playerSequence;
+    }
+
+    int getCardSequence() {
+        return cardSequence;
+    }
+
+    // the list instance is kept, views of it are handed out by getPlayers
+    private void setState(List<Player> players, int activePlayerIndex, SplitMixRandom random,
+                          int playerSequence, int cardSequence) {
+        this.players.clear();
+        this.players.addAll(players);
+        this.roster = PlayerRoster.of(players, largeLobby);
+        this.activePlayerIndex = activePlayerIndex;
+        this.random = random;
+        this.playerSequence = playerSequence;
+        this.cardSequence = cardSequence;
+    }
+
+    // packed copy of a two player game whose decks are empty, or null
+    private PackedGame getEndgame() {
+        if( players.size() != 2 || isOver() || players.stream().anyMatch(player -> !player.getDeck().isEmpty()) ) {
+            return null;
+        }
+        // the game random is not used, so hints do not change the draws
+        PackedGame game = PackedGame.of(players, activePlayerIndex, new SplittableRandom());
+        return EndgameTablebase.isEndgame(game) ? game : null;
     }
 
     protected void playCardWithActivePlayer(int cardId) throws DeadPlayerException, DoesNotExistException, InsufficientAmountException {
@@ -89,15 +348,19 @@ public abstract class TradingCardGame {
         return players.size() > activePlayerIndex ? players.get(activePlayerIndex) : null;
     }
 
+    /**
+     * The alive count is kept by the players, see {@link PlayerRoster}: a player leaves the roster when a damage
+     * kills it, a player whose health is decreased to zero directly is still counted.
+     */
     protected boolean isOver(){
         return getAlivePlayerCount() < 2;
     }
 
-    private int getAlivePlayerCount(){
-        return Long.valueOf(players.stream().filter(player -> player.isAlive()).count()).intValue();
+    protected int getAlivePlayerCount(){
+        return roster.getAliveCount();
     }
 
-    protected List<Player> getPlayers() {
+    public List<Player> getPlayers() {
         return Collections.unmodifiableList(players);
     }
 
@@ -106,43 +369,48 @@ public abstract class TradingCardGame {
         if( players.size() <= playerIndex ) return;
 
         Player player = players.get(playerIndex);
+        eventListener.onTurnStarted(player.getId());
         addManaSlotToPlayer(player);
         player.getMana().refillManaSlots();
+        eventListener.onManaGained(player.getId(), player.getMana().getManaSlotCount(), player.getMana().getManaValue());
         drawNewCardToHand(player);
     }
 
     private void addManaSlotToPlayer(Player player) {
-        try {
-            player.getMana().addManaSlot();
-        } catch (HasNoCapacityException e) {
+        if( !player.getMana().tryAddManaSlot() ) {
             logger.info("Player {} has not mana slot capacity.", player.getId());
         }
     }
 
     private void drawNewCardToHand(Player player) {
-        try {
-            player.drawCard();
-        } catch (EmptyResourceUsingException e) {
-            logger.info("Player {}'s deck has not any card to draw new card!", player.getId());
-           bleedingOut(player);
-        } catch (HasNoCapacityException e) {
-            logger.info("Player {}'s hand has not card capacity to draw new card!", player.getId());
-            notifyPlayer("OVERLOAD! You can not draw a new card when the hand is full.");
+        switch (player.tryDrawCard()) {
+            case EMPTY_DECK:
+                logger.info("Player {}'s deck has not any card to draw new card!", player.getId());
+                bleedingOut(player);
+                break;
+            case OVERLOAD:
+                logger.info("Player {}'s hand has not card capacity to draw new card!", player.getId());
+                notifyPlayer("OVERLOAD! You can not draw a new card when the hand is full.");
+                break;
+            default:
         }
     }
 
     private void bleedingOut(Player player){
+        eventListener.onBleedingOut(player.getId(), GameConstants.EMPTY_DECK_DAMAGE);
         player.takeDamage(GameConstants.EMPTY_DECK_DAMAGE);
         notifyPlayer("Bleeding OUT! You was damaged cause your deck is empty before end of game.");
     }
 
-    // change active player
+    // change active player; isOver is called once per turn change
     private void setNextTurnPlayerIndex() {
-        int nextTurnIndex = activePlayerIndex;
-        do {
-            nextTurnIndex = nextTurnIndex + 1;
-            if( nextTurnIndex >= players.size() ) nextTurnIndex = 0;
-        } while (!isOver() && players.get(nextTurnIndex).isDead());
-        activePlayerIndex = nextTurnIndex;
+        Player activePlayer = getActivePlayer();
+        Player nextPlayer = isOver() || activePlayer == null ? null : turnOrder.next(activePlayer);
+        if( nextPlayer != null ) {
+            activePlayerIndex = nextPlayer.seat;
+        } else {
+            // the game is over, the turn passes to the next seat like before the game ended
+            activePlayerIndex = activePlayerIndex + 1 < players.size() ? activePlayerIndex + 1 : 0;
+        }
     }
 }
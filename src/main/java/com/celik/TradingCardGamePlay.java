@@ -4,15 +4,23 @@ import com.celik.exception.DeadPlayerException;
 import com.celik.exception.DoesNotExistException;
 import com.celik.exception.InsufficientAmountException;
 import com.celik.exception.TurnIsOverException;
+import com.celik.model.Card;
 import com.celik.provider.InputProvider;
 import com.celik.provider.OutputProvider;
+import com.celik.strategy.PlayerStrategy;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class TradingCardGamePlay extends TradingCardGame {
 
     private static String PASS_KEY = "p";
+    private static String HINT_KEY = "h";
+    private static String UNDO_KEY = "u";
 
     private static String DEAD_PLAYER_MESSAGE = "Dead player passed";
     private static String NO_PLAYABLE_CARD_MESSAGE = "Player has not any playable card. Passed";
@@ -20,19 +28,53 @@ public class TradingCardGamePlay extends TradingCardGame {
     private static String INSUFFICIENT_MANNA_ERROR = "Mana is not enough to play the selected card";
     private static String WRONG_FORMAT_ERROR_MESSAGE = "Input is wrong please try again";
 
+    private static String HINT_MESSAGE = "Hint: %s";
+    private static String NO_HINT_MESSAGE = "Hint: pass";
+    private static String UNDO_MESSAGE = "Last card was taken back";
+    private static String NO_UNDO_MESSAGE = "There is no card to take back in this turn";
+    private static String BOT_COMMAND_MESSAGE = "Bot command: %s";
+
     private static String CONTINUE_REQUEST_MESSAGE = "Please provide any key to continue";
     private static String INPUT_REQUEST_MESSAGE =
-                            String.format("Please provide a card id to play with active player. (Pass: %s)", PASS_KEY);
+                            String.format("Please provide a card id to play with active player. (Pass: %s, Hint: %s, Undo: %s)",
+                                          PASS_KEY, HINT_KEY, UNDO_KEY);
 
     InputProvider inputProvider;
     OutputProvider outputProvider;
 
+    // strategies of the players that are played by the computer, by player id
+    private final Map<Integer, PlayerStrategy> botStrategies = new HashMap<>();
+    // snapshots before the cards that were played in this turn, the last card first
+    private final Deque<GameSnapshot> undoSnapshots = new ArrayDeque<>();
+
     public TradingCardGamePlay(InputProvider inputProvider, OutputProvider outputProvider) {
         super();
         this.inputProvider = inputProvider;
         this.outputProvider = outputProvider;
     }
 
+    /**
+     * Creates a reproducible game. Replaying the commands recorded from a game
+     * with the same seed gives the same game.
+     * @see com.celik.provider.RecordingInputProvider
+     * @see com.celik.provider.ReplayInputProvider
+     */
+    public TradingCardGamePlay(InputProvider inputProvider, OutputProvider outputProvider, long seed) {
+        super(seed);
+        this.inputProvider = inputProvider;
+        this.outputProvider = outputProvider;
+    }
+
+    /**
+     * Adds a player whose cards are selected by strategy instead of the input provider.
+     * @param name -- name of the player
+     * @param strategy -- strategy of the player
+     */
+    public void addPlayer(String name, PlayerStrategy strategy) {
+        addPlayer(name);
+        botStrategies.put(players.get(players.size() - 1).getId(), strategy);
+    }
+
     public void playRound() throws TurnIsOverException, DeadPlayerException, DoesNotExistException {
         outputProvider.printOutput(lastState());
 
@@ -47,17 +89,26 @@ public class TradingCardGamePlay extends TradingCardGame {
         }
 
         outputProvider.printOutput(getActivePlayer().getHand());
-        outputProvider.printOutput(INPUT_REQUEST_MESSAGE);
-        String command = inputProvider.getInput();
+        String command = getCommand();
         if( command.toLowerCase().equals(PASS_KEY) ) {
             outputProvider.printOutput(PASS_MESSAGE);
             throw new TurnIsOverException();
         }
+        if( command.toLowerCase().equals(HINT_KEY) ) {
+            printHint();
+            return;
+        }
+        if( command.toLowerCase().equals(UNDO_KEY) ) {
+            undo();
+            return;
+        }
 
         try {
 
             int cardId = Integer.parseInt(command);
+            GameSnapshot snapshot = snapshot();
             playCardWithActivePlayer(cardId);
+            undoSnapshots.push(snapshot);
 
         } catch (NumberFormatException e) {
             outputProvider.printOutput(WRONG_FORMAT_ERROR_MESSAGE);
@@ -66,6 +117,46 @@ public class TradingCardGamePlay extends TradingCardGame {
         }
     }
 
+    private String getCommand() {
+        PlayerStrategy botStrategy = botStrategies.get(getActivePlayer().getId());
+        if( botStrategy == null ) {
+            outputProvider.printOutput(INPUT_REQUEST_MESSAGE);
+            return inputProvider.getInput();
+        }
+
+        String command = botStrategy.selectCard(getActivePlayer(), getPlayers())
+                                    .map(card -> String.valueOf(card.getId()))
+                                    .orElse(PASS_KEY);
+        outputProvider.printOutput(String.format(BOT_COMMAND_MESSAGE, command));
+        return command;
+    }
+
+    private void printHint() {
+        List<Card> hint = getHint();
+        if( hint.isEmpty() ) {
+            outputProvider.printOutput(NO_HINT_MESSAGE);
+            return;
+        }
+        String cards = hint.stream().map(String::valueOf).collect(Collectors.joining(", "));
+        outputProvider.printOutput(String.format(HINT_MESSAGE, cards));
+    }
+
+    private void undo() {
+        if( undoSnapshots.isEmpty() ) {
+            outputProvider.printOutput(NO_UNDO_MESSAGE);
+            return;
+        }
+        restore(undoSnapshots.pop());
+        outputProvider.printOutput(UNDO_MESSAGE);
+    }
+
+    @Override
+    protected void activatePlayer(int playerIndex) {
+        // cards of the previous turns can not be taken back
+        undoSnapshots.clear();
+        super.activatePlayer(playerIndex);
+    }
+
     @Override
     protected void nextRound() {
         outputProvider.printOutput(CONTINUE_REQUEST_MESSAGE);
@@ -0,0 +1,32 @@
+package com.celik;
+
+/**
+ * Picks the player of the next turn from the ring of the alive players, see {@link Player#getNextAlivePlayer()}.
+ * @see TradingCardGame#setTurnOrder(TurnOrder)
+ */
+public interface TurnOrder {
+
+    /**
+     * Turns pass to the next alive player in joining order, the default order.
+     */
+    TurnOrder ROUND_ROBIN = Player::getNextAlivePlayer;
+
+    /**
+     * Turns pass to the previous alive player in joining order.
+     */
+    TurnOrder REVERSE = Player::getPreviousAlivePlayer;
+
+    /**
+     * Turns are played in rounds, every round the alive players play from the most health to the least,
+     * players with the same health in joining order. The round is a part of the player state, the order caches it, so every game should have its own order.
+     */
+    static TurnOrder initiativeByHealth() {
+        return new InitiativeByHealthTurnOrder();
+    }
+
+    /**
+     * @param activePlayer -- player of the turn that is over, it may have died in its turn
+     * @return an alive player of the game of activePlayer, null when there is none
+     */
+    Player next(Player activePlayer);
+}
@@ -0,0 +1,113 @@
+package com.celik.domain;
+
+import com.celik.exception.InsufficientAmountException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Health that is changed by compare and set, so players of different threads can damage it at the same time,
+ * e.g. in a {@link com.celik.simulation.SimultaneousGame}. Every change is a single atomic step from a value to
+ * another, the health never drops below zero and {@link #decreaseHealthAndDetectDeath(int)} reports a death to
+ * exactly one caller. Changes are not logged, logging would serialize the threads.
+ */
+public class AtomicHealth extends Health {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Health.class, "value", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public AtomicHealth(int value) {
+        super(value);
+    }
+
+    @Override
+    public void increaseHealth() {
+        VALUE.getAndAdd(this, 1);
+    }
+
+    @Override
+    public void increaseHealth(int increaseValue) throws IllegalArgumentException {
+        if( increaseValue <= 0 ) {
+            throw new IllegalArgumentException("increaseValue should be positive");
+        }
+        VALUE.getAndAdd(this, increaseValue);
+    }
+
+    @Override
+    public void decreaseHealth() throws InsufficientAmountException {
+        int current;
+        do {
+            current = getHealthValue();
+            if( current == 0 ) {
+                throw new InsufficientAmountException("There is no available health to decrease");
+            }
+        } while( !VALUE.compareAndSet(this, current, current - 1) );
+    }
+
+    @Override
+    public boolean tryDecreaseHealth(int decreaseValue) {
+        while( true ) {
+            int current = getHealthValue();
+            if( current == 0 || decreaseValue > current ) {
+                if( VALUE.compareAndSet(this, current, 0) ) return false;
+            } else if( decreaseValue < 0 ) {
+                throw new IllegalArgumentException("increaseValue should be positive");
+            } else if( VALUE.compareAndSet(this, current, current - decreaseValue) ) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Decreases health, the health drops to zero when it is not enough.
+     * @param decreaseValue -- should not be negative
+     * @return true when this decrease took the last health; when many threads kill the player at the same time,
+     *         only one of them gets true
+     * @throws IllegalArgumentException -- when decreaseValue is negative
+     */
+    public boolean decreaseHealthAndDetectDeath(int decreaseValue) {
+        if( decreaseValue < 0 ) {
+            throw new IllegalArgumentException("decreaseValue should not be negative");
+        }
+        while( true ) {
+            int current = getHealthValue();
+            if( current == 0 ) return false;
+            int decreased = Math.max(current - decreaseValue, 0);
+            if( VALUE.compareAndSet(this, current, decreased) ) {
+                return decreased == 0;
+            }
+        }
+    }
+
+    @Override
+    public AtomicHealth copy() {
+        return new AtomicHealth(getHealthValue());
+    }
+
+    @Override
+    public int getHealthValue() {
+        return (int) VALUE.getVolatile(this);
+    }
+
+    @Override
+    public long getStateHash() {
+        return Zobrist.getHealthKey(getHealthValue());
+    }
+
+    @Override
+    public boolean hasHealth() {
+        return getHealthValue() > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Health: %d", getHealthValue());
+    }
+}
@@ -43,10 +43,22 @@ public class Health {
     }
 
     public void decreaseHealth(int decreaseValue) throws InsufficientAmountException {
+        if( !tryDecreaseHealth(decreaseValue) ) {
+            throw new InsufficientAmountException("There is no available health to decrease");
+        }
+    }
+
+    /**
+     * Decreases health without throwing when there is not enough health, the health drops to zero instead.
+     * @param decreaseValue -- should not be negative
+     * @return false if health was not enough for decreaseValue, in the same cases {@link #decreaseHealth(int)} throws
+     * @throws IllegalArgumentException -- when decreaseValue is negative
+     */
+    public boolean tryDecreaseHealth(int decreaseValue) {
         if( value == 0 || decreaseValue > value) {
             value = 0;
             logger.info("Tried to decrease health with value over from health. Health: {}", value);
-            throw new InsufficientAmountException("There is no available health to decrease");
+            return false;
         } else if( decreaseValue < 0 ) {
             logger.error("Tried to decrease health with negative number. Health: {}", value);
             throw new IllegalArgumentException("increaseValue should be positive");
@@ -54,13 +66,24 @@ public class Health {
 
         value -= decreaseValue;
         logger.info("Health was decreased with {}. Health: {}", decreaseValue, value);
+        return true;
+    }
 
+    public Health copy() {
+        return new Health(value);
     }
 
     public int getHealthValue() {
         return this.value;
     }
 
+    /**
+     * @return Zobrist hash of the health, it is the key of the health value, see {@link Zobrist}
+     */
+    public long getStateHash() {
+        return Zobrist.getHealthKey(value);
+    }
+
     public boolean hasHealth() {
         return value > 0;
     }
@@ -0,0 +1,154 @@
+package com.celik.domain;
+
+import java.util.SplittableRandom;
+
+/**
+ * SplitMix64 generator that gives exactly the values and splits of {@link SplittableRandom} for the same seed,
+ * but exposes its state: it can be copied and restored, e.g. to snapshot a game and draw the same cards again.
+ *
+ * The state is a seed that is advanced by an odd gamma before every value. Not thread safe.
+ */
+public final class SplitMixRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // modular inverses of the multipliers of mix64
+    private static final long MIX64_INVERSE_1 = inverse(0xBF58476D1CE4E5B9L);
+    private static final long MIX64_INVERSE_2 = inverse(0x94D049BB133111EBL);
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * Creates a generator with a random seed.
+     */
+    public SplitMixRandom() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * @param seed -- same seed gives the same values as a {@link SplittableRandom} with the seed
+     */
+    public SplitMixRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Restores a generator from the state of another, see {@link #getSeed()} and {@link #getGamma()}.
+     * @throws IllegalArgumentException -- when gamma is even
+     */
+    public SplitMixRandom(long seed, long gamma) {
+        if( (gamma & 1) == 0 ) {
+            throw new IllegalArgumentException("gamma should be odd");
+        }
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Takes over the stream of random: the generator gives the values that random would give from now on.
+     * The state is recovered from the next two values of random, so random should not be used afterwards.
+     */
+    public SplitMixRandom(SplittableRandom random) {
+        long firstSeed = unmix64(random.nextLong());
+        long secondSeed = unmix64(random.nextLong());
+        this.gamma = secondSeed - firstSeed;
+        this.seed = firstSeed - gamma;
+    }
+
+    /**
+     * @return a generator with the same state, it gives the same values as this one
+     */
+    public SplitMixRandom copy() {
+        return new SplitMixRandom(seed, gamma);
+    }
+
+    /**
+     * @return a new generator whose values do not depend on the values of this one, like {@link SplittableRandom#split()}
+     */
+    public SplitMixRandom split() {
+        return new SplitMixRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * @param bound -- should be positive
+     * @return a uniform value between 0 inclusive and bound exclusive, like {@link SplittableRandom#nextInt(int)}
+     */
+    public int nextInt(int bound) {
+        if( bound <= 0 ) {
+            throw new IllegalArgumentException("bound should be positive");
+        }
+        int value = nextInt();
+        int mask = bound - 1;
+        if( (bound & mask) == 0 ) {
+            return value & mask;
+        }
+        // rejects the values of the last partial range, so every value is equally likely
+        for (int u = value >>> 1; u + mask - (value = u % bound) < 0; u = nextInt() >>> 1) {
+        }
+        return value;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getGamma() {
+        return gamma;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long unmix64(long z) {
+        z = unshift(z, 31) * MIX64_INVERSE_2;
+        z = unshift(z, 27) * MIX64_INVERSE_1;
+        return unshift(z, 30);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitionCount = Long.bitCount(z ^ (z >>> 1));
+        return transitionCount < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    // inverse of z ^ (z >>> shift)
+    private static long unshift(long z, int shift) {
+        long value = z;
+        for (int i = shift; i < Long.SIZE; i += shift) {
+            value = z ^ (value >>> shift);
+        }
+        return value;
+    }
+
+    // inverse of an odd multiplier modulo 2^64 by Newton's iteration
+    private static long inverse(long multiplier) {
+        long inverse = multiplier;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - multiplier * inverse;
+        }
+        return inverse;
+    }
+}
@@ -0,0 +1,61 @@
+package com.celik.domain;
+
+import com.celik.model.Card;
+
+/**
+ * Keys of the Zobrist hash of a game state.
+ *
+ * The hash of a state is the xor of the keys of its parts, so a change of a part updates the hash by two xors:
+ * the key of the old value out and the key of the new value in. Health, mana and card ids are not bounded, so keys
+ * are not kept in tables; a key is a SplitMix64 mix of the kind of the part and its value, which is as cheap as a
+ * table lookup and the same in every run.
+ */
+public final class Zobrist {
+
+    public static final int HAND = 1;
+    public static final int DECK = 2;
+    public static final int OTHER_HOLDER = 3;
+
+    private static final long HEALTH = 4;
+    private static final long MANA = 5;
+    private static final long ACTIVE_PLAYER = 6;
+    private static final long PLAYER = 7;
+    private static final int KIND_SHIFT = 56;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param holder -- {@link #HAND}, {@link #DECK} or {@link #OTHER_HOLDER}, a card has another key in every holder
+     */
+    public static long getCardKey(int holder, Card card) {
+        return mix((long) holder << KIND_SHIFT ^ (long) card.getManaCost() << Integer.SIZE ^ card.getId() & 0xFFFFFFFFL);
+    }
+
+    public static long getHealthKey(int healthValue) {
+        return mix(HEALTH << KIND_SHIFT ^ healthValue & 0xFFFFFFFFL);
+    }
+
+    public static long getManaKey(int slotCount, int manaValue) {
+        return mix(MANA << KIND_SHIFT ^ (long) slotCount << Integer.SIZE ^ manaValue & 0xFFFFFFFFL);
+    }
+
+    public static long getActivePlayerKey(int playerIndex) {
+        return mix(ACTIVE_PLAYER << KIND_SHIFT ^ playerIndex & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Binds the hash of health and mana to a player, otherwise players with swapped health values would have the
+     * same hash. Cards do not need it, their ids are unique in a game.
+     */
+    public static long getPlayerHash(int playerId, long hash) {
+        return mix(mix(PLAYER << KIND_SHIFT ^ playerId & 0xFFFFFFFFL) ^ hash);
+    }
+
+    // finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,5 +1,6 @@
 package com.celik.domain.cardholder;
 
+import com.celik.domain.Zobrist;
 import com.celik.exception.DoesNotExistException;
 import com.celik.exception.HasNoCapacityException;
 import com.celik.model.Card;
@@ -16,9 +17,18 @@ public abstract class CardHolder {
     static Logger logger = LoggerFactory.getLogger(CardHolder.class);
 
     protected Set<Card> cards;
+    // xor of the Zobrist keys of the cards, updated on every add and remove
+    long stateHash;
 
     protected CardHolder(){
-        cards = new HashSet<>();
+        this(new HashSet<>());
+    }
+
+    /**
+     * @param cards -- empty set that stores the cards of this holder
+     */
+    protected CardHolder(Set<Card> cards){
+        this.cards = cards;
     }
 
     public abstract boolean hasCapacity();
@@ -37,6 +47,8 @@ public abstract class CardHolder {
 
     public void reset(){
         cards.clear();
+        stateHash = 0;
+        onCardsCleared();
     }
 
     public int getCardCount(){
@@ -47,7 +59,10 @@ public abstract class CardHolder {
         if( !hasCapacity() ) {
             throw new HasNoCapacityException("There is no capacity to add new card");
         }
-        cards.add(card);
+        if( cards.add(card) ) {
+            stateHash ^= getCardKey(card);
+            onCardAdded(card);
+        }
     }
 
     /**
@@ -62,7 +77,7 @@ public abstract class CardHolder {
             throw new DoesNotExistException("Card does not exists");
         }
 
-        cards.remove( card );
+        removeCard(card);
         return card;
     }
 
@@ -74,7 +89,7 @@ public abstract class CardHolder {
      */
     public Card giveCard(int cardId) throws DoesNotExistException {
         Optional<Card> foundCard = findCardById(cardId);
-        foundCard.ifPresent(card -> cards.remove(card) );
+        foundCard.ifPresent(this::removeCard);
         return foundCard.orElseThrow(() -> new DoesNotExistException("Card does not exist"));
     }
 
@@ -92,12 +107,54 @@ public abstract class CardHolder {
         }
 
         another.addCard(card);
-        cards.remove( card );
+        removeCard(card);
+    }
+
+    private void removeCard(Card card) {
+        if( cards.remove(card) ) {
+            stateHash ^= getCardKey(card);
+            onCardRemoved(card);
+        }
+    }
+
+    /**
+     * @return Zobrist hash of the cards of this holder, the order of the cards does not change it
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * @return Zobrist key of the card in this holder, see {@link Zobrist#getCardKey(int, Card)}
+     */
+    protected long getCardKey(Card card) {
+        return Zobrist.getCardKey(Zobrist.OTHER_HOLDER, card);
+    }
+
+    /**
+     * Invoked after a card was added to this holder. Subclasses can keep derived state up to date.
+     */
+    protected void onCardAdded(Card card) {
+    }
+
+    /**
+     * Invoked after a card was removed from this holder.
+     */
+    protected void onCardRemoved(Card card) {
+    }
+
+    /**
+     * Invoked after all cards were removed from this holder.
+     */
+    protected void onCardsCleared() {
     }
 
     public Optional<Card> findCardById(int cardId) {
-        return cards.stream()
-                .filter(card -> Integer.valueOf(cardId).equals(card.getId()))
-                .findFirst();
+        for (Card card : cards) {
+            if( card.getId() == cardId ) {
+                return Optional.of(card);
+            }
+        }
+        return Optional.empty();
     }
 }
@@ -1,28 +1,152 @@
 package com.celik.domain.cardholder;
 
+import com.celik.constants.GameConstants;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.Zobrist;
 import com.celik.exception.EmptyResourceUsingException;
 import com.celik.model.Card;
 
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+/**
+ * Cards of a deck are kept in an indexed array, so picking a random card and
+ * giving it away afterwards are constant time and do not allocate.
+ */
 public class Deck extends CardHolder {
 
-    private static final Random random = new Random();
+    private final SplitMixRandom random;
+    private final IndexedCardSet indexedCards;
+
+    public Deck() {
+        this(new SplitMixRandom());
+    }
+
+    /**
+     * @param random -- source of the random picks, the deck takes over its stream, see {@link SplitMixRandom#SplitMixRandom(SplittableRandom)}
+     */
+    public Deck(SplittableRandom random) {
+        this(new SplitMixRandom(random));
+    }
+
+    /**
+     * @param random -- source of the random picks, it should not be shared with another thread
+     */
+    public Deck(SplitMixRandom random) {
+        this(random, new IndexedCardSet());
+    }
+
+    private Deck(SplitMixRandom random, IndexedCardSet indexedCards) {
+        super(indexedCards);
+        this.random = random;
+        this.indexedCards = indexedCards;
+    }
+
+    /**
+     * Returns a deck with the same cards in the same order.
+     * @param random -- source of the random picks of the copy
+     * @return Deck
+     */
+    public Deck copy(SplittableRandom random) {
+        return copy(new SplitMixRandom(random));
+    }
+
+    /**
+     * Returns a deck with the same cards in the same order and a copy of the random of this deck,
+     * so the copy picks the same cards as this deck would.
+     * @return Deck
+     */
+    public Deck copy() {
+        return copy(random.copy());
+    }
+
+    private Deck copy(SplitMixRandom random) {
+        Deck deck = new Deck(random, indexedCards.copy());
+        deck.stateHash = stateHash;
+        return deck;
+    }
+
+    /**
+     * @return a copy of the random of the deck, e.g. to save its state, see {@link SplitMixRandom#getSeed()}
+     */
+    public SplitMixRandom copyRandom() {
+        return random.copy();
+    }
 
     public static Deck getDeckWithManaCosts(List<Integer> manaCosts) {
         Deck deck = new Deck();
-        manaCosts.stream().map(Card::new).forEach(deck.cards::add);
+        manaCosts.stream().map(Card::new).forEach(deck::append);
         return deck;
     }
 
+    /**
+     * Returns a deck whose cards take consecutive ids starting from firstCardId.
+     * @param manaCosts -- mana cost of every card in the deck
+     * @param firstCardId -- id of the first card
+     * @param random -- source of the random picks of the deck
+     * @return Deck
+     */
+    public static Deck getDeckWithManaCosts(List<Integer> manaCosts, int firstCardId, SplittableRandom random) {
+        return getDeckWithManaCosts(manaCosts, firstCardId, new SplitMixRandom(random));
+    }
+
+    private static Deck getDeckWithManaCosts(List<Integer> manaCosts, int firstCardId, SplitMixRandom random) {
+        Deck deck = new Deck(random);
+        int cardId = firstCardId;
+        for (Integer manaCost : manaCosts) {
+            deck.append(new Card(cardId++, manaCost));
+        }
+        return deck;
+    }
+
+    /**
+     * Returns a deck with the default mana costs, {@link com.celik.constants.GameConstants#INITIAL_MANA_COSTS_OF_DECK},
+     * whose cards take consecutive ids starting from firstCardId.
+     * Decks of the same id range share the same immutable cards, they are copied from a cached prototype.
+     * @param firstCardId -- id of the first card
+     * @param random -- source of the random picks of the deck
+     * @return Deck
+     */
+    public static Deck getDefaultDeck(int firstCardId, SplittableRandom random) {
+        return getDefaultDeck(firstCardId, new SplitMixRandom(random));
+    }
+
+    /**
+     * @see #getDefaultDeck(int, SplittableRandom)
+     */
+    public static Deck getDefaultDeck(int firstCardId, SplitMixRandom random) {
+        Card[] prototype = DefaultDeckPrototypes.get(firstCardId);
+        if( prototype == null ) {
+            return getDeckWithManaCosts(GameConstants.INITIAL_MANA_COSTS_OF_DECK, firstCardId, random);
+        }
+
+        Deck deck = new Deck(random);
+        deck.indexedCards.appendAll(prototype);
+        for (Card card : prototype) {
+            deck.stateHash ^= deck.getCardKey(card);
+        }
+        return deck;
+    }
+
+    // appends a new card of a deck that is being built, bypassing the duplicate check of addCard
+    private void append(Card card) {
+        indexedCards.append(card);
+        stateHash ^= getCardKey(card);
+    }
+
+    @Override
+    protected long getCardKey(Card card) {
+        return Zobrist.getCardKey(Zobrist.DECK, card);
+    }
+
     @Override
     public boolean hasCapacity() {
         return true; // there is no restriction for deck, for now.
     }
 
     /**
-     * Picks a random card from deck.
+     * Picks a random card from deck. The card stays in the deck,
+     * giving it to another holder right after picking is constant time.
      * @return a random card
      * @throws EmptyResourceUsingException
      */
@@ -31,10 +155,7 @@ public class Deck extends CardHolder {
             throw new EmptyResourceUsingException("There is no card to pick");
         }
 
-        int randomCardIndex = random.nextInt(cards.size());
-        Card pickedCard = cards.stream().skip(randomCardIndex).findFirst().get();
-
-        return pickedCard;
+        return indexedCards.get(random.nextInt(indexedCards.size()));
     }
 
     @Override
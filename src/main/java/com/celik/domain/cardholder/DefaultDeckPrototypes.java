@@ -0,0 +1,74 @@
+package com.celik.domain.cardholder;
+
+import com.celik.constants.GameConstants;
+import com.celik.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cards of the default deck, {@link GameConstants#INITIAL_MANA_COSTS_OF_DECK}, for consecutive id ranges.
+ *
+ * Card ids are scoped to the game, so the n-th deck of every game has the same cards. They are created once
+ * and shared by the decks of all games; decks copy them instead of creating new cards. Cards are immutable.
+ * Prototypes are appended copy-on-write, therefore lookups do not lock.
+ */
+final class DefaultDeckPrototypes {
+
+    private static final List<Integer> MANA_COSTS = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+    // decks of larger games get new cards
+    private static final int MAX_PROTOTYPE_COUNT = 1024;
+
+    // the n-th prototype holds the cards with ids from n * deck size + 1
+    private static volatile Card[][] prototypes = new Card[0][];
+
+    private DefaultDeckPrototypes() {
+    }
+
+    static int getDeckSize() {
+        return MANA_COSTS.size();
+    }
+
+    /**
+     * @param firstCardId -- id of the first card, the prototype of the n-th deck starts from n * deck size + 1
+     * @return cards of the default deck in deck order, or null if there is no prototype starting from firstCardId
+     * The array should not be modified.
+     */
+    static Card[] get(int firstCardId) {
+        int deckSize = getDeckSize();
+        if( firstCardId < 1 || (firstCardId - 1) % deckSize != 0 ) {
+            return null;
+        }
+
+        int ordinal = (firstCardId - 1) / deckSize;
+        if( ordinal >= MAX_PROTOTYPE_COUNT ) {
+            return null;
+        }
+        Card[][] current = prototypes;
+        if( ordinal < current.length ) {
+            return current[ordinal];
+        }
+        return grow(ordinal);
+    }
+
+    private static synchronized Card[] grow(int ordinal) {
+        Card[][] current = prototypes;
+        if( ordinal >= current.length ) {
+            Card[][] grown = Arrays.copyOf(current, ordinal + 1);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = createCards(i * getDeckSize() + 1);
+            }
+            prototypes = grown;
+            current = grown;
+        }
+        return current[ordinal];
+    }
+
+    private static Card[] createCards(int firstCardId) {
+        Card[] cards = new Card[getDeckSize()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = new Card(firstCardId + i, MANA_COSTS.get(i));
+        }
+        return cards;
+    }
+}
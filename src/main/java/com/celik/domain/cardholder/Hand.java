@@ -1,16 +1,141 @@
 package com.celik.domain.cardholder;
 
+import com.celik.domain.Zobrist;
+import com.celik.model.Card;
+
+import java.util.Arrays;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Besides the cards, a hand keeps the count of cards per mana cost and a bit mask of present costs.
+ * They are updated on every add and remove, so the cheapest card and the playable cards
+ * for a mana value are answered without iterating the cards.
+ */
 public class Hand extends CardHolder {
 
     public static final int MAX_CARD_COUNT = 5;
+    public static final int NO_CARD = -1;
+
+    private static final int DEFAULT_COST_RANGE = 16;
+    private static final int MASKED_COST_RANGE = Long.SIZE;
+
+    private int[] costCounts = new int[DEFAULT_COST_RANGE];
+    // bit i is set when there is a card with mana cost i, for costs less than 64
+    private long costMask;
+
+    /**
+     * @return a hand with the same cards, cards are immutable so they are not copied
+     */
+    public Hand copy() {
+        Hand hand = new Hand();
+        hand.cards.addAll(cards);
+        hand.costCounts = costCounts.clone();
+        hand.costMask = costMask;
+        hand.stateHash = stateHash;
+        return hand;
+    }
 
     @Override
     public boolean hasCapacity() {
         return getCardCount() < MAX_CARD_COUNT;
     }
 
+    /**
+     * @return lowest mana cost in the hand, or {@link #NO_CARD} when the hand is empty
+     */
+    public int getMinManaCost() {
+        if( costMask != 0 ) {
+            return Long.numberOfTrailingZeros(costMask);
+        }
+        for (int manaCost = MASKED_COST_RANGE; manaCost < costCounts.length; manaCost++) {
+            if( costCounts[manaCost] > 0 ) return manaCost;
+        }
+        return NO_CARD;
+    }
+
+    /**
+     * @return highest mana cost that is not greater than manaValue, or {@link #NO_CARD} when nothing is playable
+     */
+    public int getMaxPlayableManaCost(int manaValue) {
+        if( manaValue < 0 ) return NO_CARD;
+        if( manaValue < MASKED_COST_RANGE - 1 ) {
+            long playableMask = costMask & ((1L << (manaValue + 1)) - 1);
+            return playableMask == 0 ? NO_CARD : MASKED_COST_RANGE - 1 - Long.numberOfLeadingZeros(playableMask);
+        }
+        for (int manaCost = Math.min(manaValue, costCounts.length - 1); manaCost >= 0; manaCost--) {
+            if( costCounts[manaCost] > 0 ) return manaCost;
+        }
+        return NO_CARD;
+    }
+
+    public boolean hasPlayableCard(int manaValue) {
+        int minManaCost = getMinManaCost();
+        return minManaCost != NO_CARD && minManaCost <= manaValue;
+    }
+
+    /**
+     * @return count of cards whose mana cost is not greater than manaValue
+     */
+    public int getPlayableCardCount(int manaValue) {
+        int playableCardCount = 0;
+        for (int manaCost = 0; manaCost <= manaValue && manaCost < costCounts.length; manaCost++) {
+            playableCardCount += costCounts[manaCost];
+        }
+        return playableCardCount;
+    }
+
+    public int getCardCountWithManaCost(int manaCost) {
+        return manaCost >= 0 && manaCost < costCounts.length ? costCounts[manaCost] : 0;
+    }
+
+    public Optional<Card> findCardWithManaCost(int manaCost) {
+        if( getCardCountWithManaCost(manaCost) == 0 ) {
+            return Optional.empty();
+        }
+        for (Card card : cards) {
+            if( card.getManaCost() == manaCost ) {
+                return Optional.of(card);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Card> getMinManaCostCard() {
+        return findCardWithManaCost(getMinManaCost());
+    }
+
+    @Override
+    protected long getCardKey(Card card) {
+        return Zobrist.getCardKey(Zobrist.HAND, card);
+    }
+
+    @Override
+    protected void onCardAdded(Card card) {
+        int manaCost = card.getManaCost();
+        if( manaCost >= costCounts.length ) {
+            costCounts = Arrays.copyOf(costCounts, Math.max(manaCost + 1, costCounts.length * 2));
+        }
+        costCounts[manaCost]++;
+        if( manaCost < MASKED_COST_RANGE ) {
+            costMask |= 1L << manaCost;
+        }
+    }
+
+    @Override
+    protected void onCardRemoved(Card card) {
+        int manaCost = card.getManaCost();
+        if( --costCounts[manaCost] == 0 && manaCost < MASKED_COST_RANGE ) {
+            costMask &= ~(1L << manaCost);
+        }
+    }
+
+    @Override
+    protected void onCardsCleared() {
+        Arrays.fill(costCounts, 0);
+        costMask = 0;
+    }
+
     @Override
     public String toString() {
         String cardDelimiter = "\n\t";
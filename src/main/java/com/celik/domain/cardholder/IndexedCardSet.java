@@ -0,0 +1,162 @@
+package com.celik.domain.cardholder;
+
+import com.celik.model.Card;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Array backed card set that supports random access by index.
+ *
+ * Removal swaps the last card into the hole, so it does not shift or allocate.
+ * The slot of the last accessed card is remembered, therefore looking up or removing a card
+ * right after it was picked by {@link #get(int)} is constant time. Other lookups scan the array.
+ * Not thread safe.
+ */
+class IndexedCardSet extends AbstractSet<Card> {
+
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private Card[] slots;
+    private int size;
+    private int lastAccessedSlot = -1;
+
+    IndexedCardSet() {
+        this.slots = new Card[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * @return a set with the same cards in the same slots
+     */
+    IndexedCardSet copy() {
+        IndexedCardSet copy = new IndexedCardSet();
+        copy.slots = Arrays.copyOf(slots, slots.length);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * @param index -- slot index, should be less than size
+     * @return card in the slot
+     */
+    Card get(int index) {
+        if( index < 0 || index >= size ) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+        }
+        lastAccessedSlot = index;
+        return slots[index];
+    }
+
+    /**
+     * Appends a card without checking whether it is already in the set.
+     * Only for cards that are known to be new, e.g. while a deck is built.
+     */
+    void append(Card card) {
+        if( size == slots.length ) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size++] = card;
+    }
+
+    /**
+     * Appends all cards in bulk without checking whether they are already in the set.
+     */
+    void appendAll(Card[] cards) {
+        if( size + cards.length > slots.length ) {
+            slots = Arrays.copyOf(slots, Math.max(size + cards.length, slots.length * 2));
+        }
+        System.arraycopy(cards, 0, slots, size, cards.length);
+        size += cards.length;
+    }
+
+    @Override
+    public boolean add(Card card) {
+        if( indexOf(card) >= 0 ) {
+            return false;
+        }
+        append(card);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if( index < 0 ) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, size, null);
+        size = 0;
+        lastAccessedSlot = -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<>() {
+            private int cursor;
+            private int lastReturned = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public Card next() {
+                if( cursor >= size ) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                return slots[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if( lastReturned < 0 ) {
+                    throw new IllegalStateException();
+                }
+                removeAt(lastReturned);
+                // the last card was swapped into the removed slot, it should be visited too
+                cursor = lastReturned;
+                lastReturned = -1;
+            }
+        };
+    }
+
+    private int indexOf(Object o) {
+        if( lastAccessedSlot >= 0 && lastAccessedSlot < size && slots[lastAccessedSlot].equals(o) ) {
+            return lastAccessedSlot;
+        }
+        for (int i = 0; i < size; i++) {
+            if( slots[i].equals(o) ) {
+                lastAccessedSlot = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        int lastIndex = --size;
+        slots[index] = slots[lastIndex];
+        slots[lastIndex] = null;
+        lastAccessedSlot = -1;
+    }
+}
@@ -2,7 +2,7 @@ package com.celik.domain.damage;
 
 public abstract class Damage {
 
-    private int damageAmount;
+    private final int damageAmount;
 
     public Damage(int damageAmount){
         this.damageAmount = damageAmount;
@@ -11,8 +11,4 @@ public abstract class Damage {
     public int getDamageAmount() {
         return this.damageAmount;
     }
-
-    public void setDamageAmount(int damageAmount) {
-        this.damageAmount = damageAmount;
-    }
 }
@@ -9,6 +9,15 @@ public class DamageEvent {
         this.damage = damage;
     }
 
+    // reusable event of a damager, see Damager#inflictDamage
+    DamageEvent(Damager damager) {
+        this(damager, null);
+    }
+
+    void setDamage(Damage damage) {
+        this.damage = damage;
+    }
+
     public Damage getDamage() {
         return damage;
     }
@@ -7,14 +7,18 @@ import java.util.Objects;
 public abstract class Damager {
 
     protected final List<DamageEventListener> damageListenerList;
+    // listeners take the damage synchronously and do not keep the event, so a single event is reused
+    private final DamageEvent damageEvent;
 
     public Damager() {
         this.damageListenerList = new ArrayList<>();
+        this.damageEvent = new DamageEvent(this);
     }
 
     protected void inflictDamage(Damage damage) {
-        DamageEvent damageEvent = new DamageEvent(this, damage);
+        damageEvent.setDamage(damage);
         notifyDamageListeners(damageEvent);
+        damageEvent.setDamage(null);
     }
 
     protected void addDamageListener(DamageEventListener damageListener) {
@@ -32,7 +36,10 @@ public abstract class Damager {
     }
 
     protected void notifyDamageListeners(DamageEvent damageEvent) {
-        damageListenerList.forEach(listener -> listener.takeDamage(damageEvent));
+        // indexed, so notifying does not allocate an iterator or a capturing lambda
+        for (int i = 0; i < damageListenerList.size(); i++) {
+            damageListenerList.get(i).takeDamage(damageEvent);
+        }
     }
 
     @Override
@@ -1,27 +1,32 @@
 package com.celik.domain.mana;
 
-import com.celik.exception.EmptyResourceUsingException;
+import com.celik.domain.Zobrist;
 import com.celik.exception.HasNoCapacityException;
 import com.celik.exception.InsufficientAmountException;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Mana of a player. Slots are interchangeable, so only the slot count and the full slot count are kept;
+ * refilling, using and querying mana are constant time and do not allocate.
+ */
 public class Mana {
 
     static private Logger logger = LoggerFactory.getLogger(Mana.class);
 
     public static final int MAX_SLOT_COUNT = 10;
-    List<ManaSlot> manaSlots;
+
+    private int slotCount;
+    private int fullSlotCount;
+
+    // compatibility view of the slots, built on demand
+    private List<ManaSlot> manaSlotsView;
 
     private Mana() {
-        manaSlots = new LinkedList<>();
     }
 
     public static Mana getEmptyMana() {
@@ -35,18 +40,51 @@ public class Mana {
      */
     public static Mana getManaWithSlotCount(int slotCount) {
         Mana mana = new Mana();
-        IntStream.range(0, slotCount).forEach(i -> {
-            try {
-                mana.addManaSlot();
-            } catch (HasNoCapacityException e) {
-                logger.warn("Tried to add mana slot when mana has not capacity.");
-            }
-        });
+        if( slotCount > MAX_SLOT_COUNT ) {
+            logger.warn("Tried to add mana slot when mana has not capacity.");
+        }
+        mana.slotCount = Math.max(0, Math.min(slotCount, MAX_SLOT_COUNT));
+        return mana;
+    }
+
+    /**
+     * Returns a Mana instance with mana slot count and mana value provided, e.g. to load a saved game.
+     * @throws IllegalArgumentException -- when slotCount is greater than max mana slot count, or manaValue is not between 0 and slotCount
+     */
+    public static Mana getManaWithSlotCount(int slotCount, int manaValue) {
+        if( slotCount < 0 || slotCount > MAX_SLOT_COUNT || manaValue < 0 || manaValue > slotCount ) {
+            throw new IllegalArgumentException(String.format("Invalid mana: %d/%d", manaValue, slotCount));
+        }
+        Mana mana = new Mana();
+        mana.slotCount = slotCount;
+        mana.fullSlotCount = manaValue;
         return mana;
     }
 
+    public Mana copy() {
+        Mana mana = new Mana();
+        mana.slotCount = slotCount;
+        mana.fullSlotCount = fullSlotCount;
+        return mana;
+    }
+
+    /**
+     * Returns the slots as a list. Empty slots come first, because mana is used from the first full slots.
+     * The list is built lazily and is cached until the mana changes.
+     */
     public List<ManaSlot> getManaSlots() {
-        return Collections.unmodifiableList(manaSlots);
+        if( manaSlotsView == null ) {
+            List<ManaSlot> manaSlots = new ArrayList<>(slotCount);
+            for (int i = 0; i < slotCount; i++) {
+                ManaSlot manaSlot = new ManaSlot();
+                if( i >= slotCount - fullSlotCount ) {
+                    manaSlot.fillManaSlot();
+                }
+                manaSlots.add(manaSlot);
+            }
+            manaSlotsView = Collections.unmodifiableList(manaSlots);
+        }
+        return manaSlotsView;
     }
 
     /**
@@ -54,25 +92,37 @@ public class Mana {
      * @throws HasNoCapacityException
      */
     public void addManaSlot() throws HasNoCapacityException {
-        if ( !canIncreaseManaSlot() ) {
+        if ( !tryAddManaSlot() ) {
             throw new HasNoCapacityException("There is no capacity to add new mana slot.");
         }
-        manaSlots.add(new ManaSlot());
-        logger.info("Added a mana slot. New mana slot capacity: {}", getManaSlotCount());
+    }
+
+    /**
+     * Adds a new empty slot to mana if it has capacity.
+     * @return false when mana has max slot count
+     */
+    public boolean tryAddManaSlot() {
+        if ( !canIncreaseManaSlot() ) {
+            return false;
+        }
+        slotCount++;
+        manaSlotsView = null;
+        logger.info("Added a mana slot. New mana slot capacity: {}", slotCount);
+        return true;
     }
 
     public void refillManaSlots() {
-        manaSlots.stream().forEach(manaSlot -> manaSlot.fillManaSlot());
-        logger.info("Filled mana slots. New mana value: {}", getManaValue() );
+        fullSlotCount = slotCount;
+        manaSlotsView = null;
+        logger.info("Filled mana slots. New mana value: {}", fullSlotCount);
     }
 
     public int getManaValue() {
-        if (manaSlots.isEmpty()) return 0;
-        return getFullManaSlots().size();
+        return fullSlotCount;
     }
 
     public int getManaSlotCount() {
-        return manaSlots.size();
+        return slotCount;
     }
 
     public int getMaxSlotCount(){
@@ -84,41 +134,49 @@ public class Mana {
      * If there is no full mana slot as much as manaCost, throws an exception.
      * @param manaCost
      * @throws InsufficientAmountException
+     * @throws IllegalArgumentException -- when manaCost is negative
      */
     public void useMana(int manaCost) throws InsufficientAmountException {
+        if ( !tryUseMana(manaCost) ) {
+            throw new InsufficientAmountException("There is no mana to using as manaCost");
+        }
+    }
+
+    /**
+     * Uses mana as much as manaCost if there are enough full slots.
+     * @return false when there is no full mana slot as much as manaCost, mana is not changed then
+     * @throws IllegalArgumentException -- when manaCost is negative
+     */
+    public boolean tryUseMana(int manaCost) {
         logger.info("Requested to use {} mana", manaCost);
+        if( manaCost < 0 ) {
+            logger.error("Tried to use negative mana. Mana value: {}", fullSlotCount);
+            throw new IllegalArgumentException("manaCost should not be negative");
+        }
         if ( !hasAvailableManaFor(manaCost) ) {
-            throw new InsufficientAmountException("There is no mana to using as manaCost");
-        };
-
-        int usedMana = 0;
-        List<ManaSlot> fullSlots = getFullManaSlots();
-        for(ManaSlot slot : fullSlots){
-            if(usedMana == manaCost ) break;
-            try {
-                slot.useManaSlot();
-                usedMana++;
-            } catch (EmptyResourceUsingException e) {
-                logger.error("Tried to use empty mana slot while using mana cost.");
-            }
+            return false;
         }
 
-        logger.info("Used {} mana. Remaining mana value is {}", usedMana, getManaValue());
+        fullSlotCount -= manaCost;
+        manaSlotsView = null;
+        logger.info("Used {} mana. Remaining mana value is {}", manaCost, fullSlotCount);
+        return true;
     }
 
-    public boolean hasAvailableManaFor(int manaCost) {
-        if( manaSlots.size() == 0 ) return false;
-        return getManaValue() >= manaCost;
+    /**
+     * @return Zobrist hash of the mana, it is the key of the slot count and the mana value, see {@link Zobrist}
+     */
+    public long getStateHash() {
+        return Zobrist.getManaKey(slotCount, fullSlotCount);
     }
 
-    private boolean canIncreaseManaSlot() {
-        return manaSlots.size() < getMaxSlotCount();
+    public boolean hasAvailableManaFor(int manaCost) {
+        if( slotCount == 0 ) return false;
+        return fullSlotCount >= manaCost;
     }
 
-    private List<ManaSlot> getFullManaSlots(){
-        return manaSlots.stream()
-                .filter(manaSlot -> manaSlot.isFull())
-                .collect(Collectors.toList());
+    private boolean canIncreaseManaSlot() {
+        return slotCount < getMaxSlotCount();
     }
 
     @Override
@@ -126,12 +184,13 @@ public class Mana {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Mana mana = (Mana) o;
-        return manaSlots.equals(mana.manaSlots);
+        return slotCount == mana.slotCount &&
+                fullSlotCount == mana.fullSlotCount;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(manaSlots);
+        return 31 * slotCount + fullSlotCount;
     }
 
     @Override
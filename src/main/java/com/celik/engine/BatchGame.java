@@ -0,0 +1,435 @@
+package com.celik.engine;
+
+import com.celik.constants.GameConstants;
+import com.celik.domain.SplitMixRandom;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.simulation.GameResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Many games of the rules of {@link PackedGame} that are played by greedy players, see {@link GreedyCostStrategy},
+ * and stepped together one turn at a time, e.g. for Monte Carlo studies with millions of games in flight.
+ *
+ * The games are not objects: their state is kept off heap in a single direct buffer, as a column for every field
+ * of all players or all games, so the heap does not grow with the game count and a step reads the columns in order.
+ * A player takes 38 bytes:
+ * <ul>
+ *     <li>status -- health, mana slot count, full mana slot count, deck size and hand size in an int</li>
+ *     <li>hand -- histogram of the hand, 4 bits per mana cost, in a long</li>
+ *     <li>deck -- mana costs of the deck cards in deck order, 4 bits per card, in a long and a short</li>
+ *     <li>seed and gamma -- state of the {@link SplitMixRandom} of the deck</li>
+ * </ul>
+ * and a game takes 10 bytes more for its active player, alive player count, turn count and played card count.
+ * The deck is kept in order instead of as a histogram, because a draw picks a card by its index in the deck;
+ * therefore a game that is reset with the same random as a {@link PackedGame} plays the same game.
+ *
+ * Not thread safe, but disjoint ranges of games can be stepped on different threads, see {@link #step(int, int)}.
+ */
+public final class BatchGame implements GameBatch {
+
+    public static final int MAX_DECK_SIZE = 20;
+    public static final int MAX_HEALTH = 0xFF;
+
+    // status layout
+    private static final int HEALTH_MASK = 0xFF;
+    private static final int SLOT_SHIFT = 8;
+    private static final int FULL_SLOT_SHIFT = 12;
+    private static final int DECK_SIZE_SHIFT = 16;
+    private static final int HAND_SIZE_SHIFT = 24;
+    private static final int NIBBLE_MASK = 0xF;
+    private static final int DECK_SIZE_MASK = 0x1F;
+
+    private static final int CARDS_PER_LONG = 16;
+    private static final int BYTES_PER_PLAYER = 4 * Long.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int BYTES_PER_GAME = 2 * Integer.BYTES + 2 * Byte.BYTES;
+
+    private final int gameCount;
+    private final int playerCount;
+    private final ByteBuffer memory;
+
+    // column offsets, the wider columns come first, so every value is aligned
+    private final int handColumn;
+    private final int deckColumn;
+    private final int seedColumn;
+    private final int gammaColumn;
+    private final int statusColumn;
+    private final int turnCountColumn;
+    private final int playedCardCountColumn;
+    private final int deckTailColumn;
+    private final int activePlayerColumn;
+    private final int aliveCountColumn;
+
+    // initial deck in deck order
+    private final long initialDeck;
+    private final short initialDeckTail;
+    private final int initialDeckSize;
+
+    /**
+     * Allocates the games, they are over until they are reset, see {@link #reset(int, SplittableRandom)}.
+     * @param gameCount -- count of the games
+     * @param playerCount -- count of the players of every game
+     * @throws IllegalArgumentException -- when the games do not fit into a buffer
+     */
+    public BatchGame(int gameCount, int playerCount) {
+        if( playerCount < GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY ) {
+            throw new IllegalArgumentException(String.format("Min %d players are required to play",
+                                                                GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY));
+        }
+        if( playerCount > Byte.MAX_VALUE ) {
+            throw new IllegalArgumentException("Max " + Byte.MAX_VALUE + " players can play a batch game");
+        }
+        if( gameCount < 0 ) {
+            throw new IllegalArgumentException("gameCount should not be negative");
+        }
+        long byteSize = (long) gameCount * getBytesPerGame(playerCount);
+        if( byteSize > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException("Games do not fit into " + Integer.MAX_VALUE + " bytes");
+        }
+        List<Integer> manaCosts = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+        if( manaCosts.size() > MAX_DECK_SIZE || GameConstants.INITIAL_PLAYER_HEALTH > MAX_HEALTH ) {
+            throw new IllegalStateException("Default deck or health does not fit into a batch game");
+        }
+
+        this.gameCount = gameCount;
+        this.playerCount = playerCount;
+        this.memory = ByteBuffer.allocateDirect((int) byteSize).order(ByteOrder.nativeOrder());
+
+        int slotCount = gameCount * playerCount;
+        int offset = 0;
+        handColumn = offset;
+        offset += slotCount * Long.BYTES;
+        deckColumn = offset;
+        offset += slotCount * Long.BYTES;
+        seedColumn = offset;
+        offset += slotCount * Long.BYTES;
+        gammaColumn = offset;
+        offset += slotCount * Long.BYTES;
+        statusColumn = offset;
+        offset += slotCount * Integer.BYTES;
+        turnCountColumn = offset;
+        offset += gameCount * Integer.BYTES;
+        playedCardCountColumn = offset;
+        offset += gameCount * Integer.BYTES;
+        deckTailColumn = offset;
+        offset += slotCount * Short.BYTES;
+        activePlayerColumn = offset;
+        offset += gameCount;
+        aliveCountColumn = offset;
+
+        long deck = 0;
+        int deckTail = 0;
+        for (int i = 0; i < manaCosts.size(); i++) {
+            long manaCost = manaCosts.get(i);
+            if( manaCost > PackedGame.MAX_MANA_COST ) {
+                throw new IllegalStateException("Mana cost should be at most " + PackedGame.MAX_MANA_COST);
+            }
+            if( i < CARDS_PER_LONG ) deck |= manaCost << (i * 4);
+            else deckTail |= manaCost << ((i - CARDS_PER_LONG) * 4);
+        }
+        this.initialDeck = deck;
+        this.initialDeckTail = (short) deckTail;
+        this.initialDeckSize = manaCosts.size();
+    }
+
+    /**
+     * @return count of the off heap bytes of a game
+     */
+    public static int getBytesPerGame(int playerCount) {
+        return playerCount * BYTES_PER_PLAYER + BYTES_PER_GAME;
+    }
+
+    @Override
+    public void resetAll(SplittableRandom random) {
+        for (int game = 0; game < gameCount; game++) {
+            reset(game, random.split());
+        }
+    }
+
+    /**
+     * Starts a new game with the default decks and health, like {@link PackedGame#PackedGame(int, SplittableRandom)}
+     * followed by {@link PackedGame#start()}: the players draw their initial cards and the first player is activated.
+     * @param random -- source of randomness of the game, every deck gets a split of it in player order
+     */
+    @Override
+    public void reset(int game, SplittableRandom random) {
+        int firstPlayer = game * playerCount;
+        for (int player = firstPlayer; player < firstPlayer + playerCount; player++) {
+            SplitMixRandom deckRandom = new SplitMixRandom(random.split());
+            memory.putLong(seedColumn + player * Long.BYTES, deckRandom.getSeed());
+            memory.putLong(gammaColumn + player * Long.BYTES, deckRandom.getGamma());
+            memory.putLong(handColumn + player * Long.BYTES, 0);
+            memory.putLong(deckColumn + player * Long.BYTES, initialDeck);
+            memory.putShort(deckTailColumn + player * Short.BYTES, initialDeckTail);
+            setStatus(player, GameConstants.INITIAL_PLAYER_HEALTH | initialDeckSize << DECK_SIZE_SHIFT);
+        }
+        memory.put(activePlayerColumn + game, (byte) 0);
+        memory.put(aliveCountColumn + game, (byte) playerCount);
+        memory.putInt(turnCountColumn + game * Integer.BYTES, 0);
+        memory.putInt(playedCardCountColumn + game * Integer.BYTES, 0);
+
+        for (int player = firstPlayer; player < firstPlayer + playerCount; player++) {
+            for (int i = 0; i < GameConstants.INITIAL_CARD_DRAW_COUNT; i++) {
+                drawCard(game, player);
+            }
+        }
+        activatePlayer(game, 0);
+    }
+
+    @Override
+    public int step() {
+        return step(0, gameCount);
+    }
+
+    /**
+     * Plays a turn of every game from fromGame inclusive to toGame exclusive that is not over.
+     * Steps of disjoint ranges do not touch the same bytes, so they can run on different threads.
+     * @return count of the games of the range that are not over after the step
+     */
+    public int step(int fromGame, int toGame) {
+        int runningCount = 0;
+        for (int game = fromGame; game < toGame; game++) {
+            if( isOver(game) ) continue;
+            playTurn(game);
+            if( !isOver(game) ) runningCount++;
+        }
+        return runningCount;
+    }
+
+    @Override
+    public int playAll() {
+        int stepCount = 1;
+        while( step() > 0 ) {
+            stepCount++;
+        }
+        return stepCount;
+    }
+
+    // the active player plays its most expensive affordable card until it can not, then the turn passes
+    private void playTurn(int game) {
+        int player = game * playerCount + getActivePlayerIndex(game);
+        if( isAlive(player) ) {
+            while( true ) {
+                int status = getStatus(player);
+                long hand = getHand(player);
+                int manaCost = PackedGame.getMaxPlayableManaCost(hand, status >>> FULL_SLOT_SHIFT & NIBBLE_MASK);
+                if( manaCost == PackedGame.NO_CARD ) break;
+
+                setStatus(player, status - (manaCost << FULL_SLOT_SHIFT) - (1 << HAND_SIZE_SHIFT));
+                memory.putLong(handColumn + player * Long.BYTES, hand - (1L << (manaCost * 4)));
+                int playedCardCountOffset = playedCardCountColumn + game * Integer.BYTES;
+                memory.putInt(playedCardCountOffset, memory.getInt(playedCardCountOffset) + 1);
+
+                if( manaCost > 0 ) {
+                    int firstPlayer = game * playerCount;
+                    for (int opponent = firstPlayer; opponent < firstPlayer + playerCount; opponent++) {
+                        if( opponent != player ) takeDamage(game, opponent, manaCost);
+                    }
+                    if( isOver(game) ) return;
+                }
+            }
+        }
+        endTurn(game);
+    }
+
+    private void endTurn(int game) {
+        int firstPlayer = game * playerCount;
+        int nextTurnIndex = getActivePlayerIndex(game);
+        do {
+            nextTurnIndex = nextTurnIndex + 1;
+            if( nextTurnIndex >= playerCount ) nextTurnIndex = 0;
+        } while( !isAlive(firstPlayer + nextTurnIndex) );
+        memory.put(activePlayerColumn + game, (byte) nextTurnIndex);
+        activatePlayer(game, nextTurnIndex);
+    }
+
+    private void activatePlayer(int game, int playerIndex) {
+        int turnCountOffset = turnCountColumn + game * Integer.BYTES;
+        memory.putInt(turnCountOffset, memory.getInt(turnCountOffset) + 1);
+
+        int player = game * playerCount + playerIndex;
+        int status = getStatus(player);
+        int slotCount = status >>> SLOT_SHIFT & NIBBLE_MASK;
+        if( slotCount < Mana.MAX_SLOT_COUNT ) {
+            slotCount++;
+        }
+        status = status & ~(NIBBLE_MASK << SLOT_SHIFT | NIBBLE_MASK << FULL_SLOT_SHIFT)
+                 | slotCount << SLOT_SHIFT | slotCount << FULL_SLOT_SHIFT;
+        setStatus(player, status);
+
+        drawCard(game, player);
+    }
+
+    // draws like PackedGame: the index is picked before the hand is checked, the last card takes the drawn place
+    private void drawCard(int game, int player) {
+        int status = getStatus(player);
+        int deckSize = status >>> DECK_SIZE_SHIFT & DECK_SIZE_MASK;
+        if( deckSize == 0 ) {
+            takeDamage(game, player, GameConstants.EMPTY_DECK_DAMAGE);
+            return;
+        }
+
+        int index = nextInt(player, deckSize);
+        if( (status >>> HAND_SIZE_SHIFT) >= Hand.MAX_CARD_COUNT ) {
+            return;
+        }
+
+        int manaCost = getDeckCard(player, index);
+        int lastIndex = deckSize - 1;
+        setDeckCard(player, index, getDeckCard(player, lastIndex));
+        setDeckCard(player, lastIndex, 0);
+        setStatus(player, (status & ~(DECK_SIZE_MASK << DECK_SIZE_SHIFT) | lastIndex << DECK_SIZE_SHIFT) + (1 << HAND_SIZE_SHIFT));
+        memory.putLong(handColumn + player * Long.BYTES, getHand(player) + (1L << (manaCost * 4)));
+    }
+
+    private void takeDamage(int game, int player, int damageAmount) {
+        int status = getStatus(player);
+        int health = status & HEALTH_MASK;
+        if( health == 0 ) return;
+
+        int remainingHealth = Math.max(0, health - damageAmount);
+        setStatus(player, status & ~HEALTH_MASK | remainingHealth);
+        if( remainingHealth == 0 ) {
+            memory.put(aliveCountColumn + game, (byte) (getAlivePlayerCount(game) - 1));
+        }
+    }
+
+    // SplitMixRandom#nextInt(int) on the columns of the player
+    private int nextInt(int player, int bound) {
+        int seedOffset = seedColumn + player * Long.BYTES;
+        long gamma = memory.getLong(gammaColumn + player * Long.BYTES);
+        long seed = memory.getLong(seedOffset) + gamma;
+        int value = mix32(seed);
+        int mask = bound - 1;
+        if( (bound & mask) == 0 ) {
+            value &= mask;
+        } else {
+            for (int u = value >>> 1; u + mask - (value = u % bound) < 0; u = mix32(seed += gamma) >>> 1) {
+            }
+        }
+        memory.putLong(seedOffset, seed);
+        return value;
+    }
+
+    // same as the mix32 of SplittableRandom
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private int getDeckCard(int player, int index) {
+        if( index < CARDS_PER_LONG ) {
+            return (int) (memory.getLong(deckColumn + player * Long.BYTES) >>> (index * 4)) & NIBBLE_MASK;
+        }
+        return memory.getShort(deckTailColumn + player * Short.BYTES) >>> ((index - CARDS_PER_LONG) * 4) & NIBBLE_MASK;
+    }
+
+    private void setDeckCard(int player, int index, int manaCost) {
+        if( index < CARDS_PER_LONG ) {
+            int offset = deckColumn + player * Long.BYTES;
+            int shift = index * 4;
+            memory.putLong(offset, memory.getLong(offset) & ~(0xFL << shift) | (long) manaCost << shift);
+        } else {
+            int offset = deckTailColumn + player * Short.BYTES;
+            int shift = (index - CARDS_PER_LONG) * 4;
+            memory.putShort(offset, (short) (memory.getShort(offset) & ~(0xF << shift) | manaCost << shift));
+        }
+    }
+
+    private int getStatus(int player) {
+        return memory.getInt(statusColumn + player * Integer.BYTES);
+    }
+
+    private void setStatus(int player, int status) {
+        memory.putInt(statusColumn + player * Integer.BYTES, status);
+    }
+
+    private long getHand(int player) {
+        return memory.getLong(handColumn + player * Long.BYTES);
+    }
+
+    private boolean isAlive(int player) {
+        return (getStatus(player) & HEALTH_MASK) > 0;
+    }
+
+    @Override
+    public boolean isOver(int game) {
+        return getAlivePlayerCount(game) < 2;
+    }
+
+    public int getAlivePlayerCount(int game) {
+        return memory.get(aliveCountColumn + game);
+    }
+
+    public int getActivePlayerIndex(int game) {
+        return memory.get(activePlayerColumn + game);
+    }
+
+    public int getHealth(int game, int player) {
+        return getStatus(game * playerCount + player) & HEALTH_MASK;
+    }
+
+    public int getManaValue(int game, int player) {
+        return getStatus(game * playerCount + player) >>> FULL_SLOT_SHIFT & NIBBLE_MASK;
+    }
+
+    public int getManaSlotCount(int game, int player) {
+        return getStatus(game * playerCount + player) >>> SLOT_SHIFT & NIBBLE_MASK;
+    }
+
+    public int getDeckSize(int game, int player) {
+        return getStatus(game * playerCount + player) >>> DECK_SIZE_SHIFT & DECK_SIZE_MASK;
+    }
+
+    public int getHandCount(int game, int player) {
+        return getStatus(game * playerCount + player) >>> HAND_SIZE_SHIFT;
+    }
+
+    /**
+     * @return histogram of the hand, count of cards with mana cost i is in bits 4i to 4i+3
+     */
+    public long getHand(int game, int player) {
+        return getHand(game * playerCount + player);
+    }
+
+    public int getTurnCount(int game) {
+        return memory.getInt(turnCountColumn + game * Integer.BYTES);
+    }
+
+    public int getPlayedCardCount(int game) {
+        return memory.getInt(playedCardCountColumn + game * Integer.BYTES);
+    }
+
+    @Override
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * @return count of the off heap bytes of all games
+     */
+    public int getByteSize() {
+        return memory.capacity();
+    }
+
+    @Override
+    public GameResult getResult(int game) {
+        int winnerIndex = GameResult.NO_WINNER;
+        if( isOver(game) ) {
+            for (int player = 0; player < playerCount && winnerIndex == GameResult.NO_WINNER; player++) {
+                if( isAlive(game * playerCount + player) ) winnerIndex = player;
+            }
+        }
+        int remainingHealth = winnerIndex == GameResult.NO_WINNER ? 0 : getHealth(game, winnerIndex);
+        return new GameResult(winnerIndex, getTurnCount(game), remainingHealth, getPlayedCardCount(game));
+    }
+}
@@ -0,0 +1,15 @@
+package com.celik.engine;
+
+/**
+ * Strategy of a player of a {@link PackedGame}. Cards are selected by their mana costs.
+ */
+@FunctionalInterface
+public interface CostStrategy {
+
+    /**
+     * Selects the card that the active player of the game will play.
+     * @param game -- game whose active player has at least one affordable card
+     * @return mana cost of a card in the hand of the active player, or {@link PackedGame#NO_CARD} to pass
+     */
+    int selectManaCost(PackedGame game);
+}
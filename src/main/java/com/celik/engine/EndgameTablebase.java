@@ -0,0 +1,216 @@
+package com.celik.engine;
+
+import com.celik.domain.mana.Mana;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Exact values of the two player endgames where both decks are empty.
+ *
+ * There are no draws in such an endgame, a player only bleeds out at the start of its turn. Nothing that a player
+ * plays changes its own health, so the endgame is a race: every player kills its opponent as fast as it can and the
+ * first kill wins. The fastest kill of a player depends on its hand, mana slots, mana value and the health of its
+ * opponent only, so the table keeps it for every such position instead of every pair of players;
+ * the value of an endgame is two entries.
+ *
+ * An entry is two bytes of a memory mapped file, see {@link EndgameTablebaseGenerator}: the kill time
+ * in half turns, 1 is this turn and 2 is the bleeding out of the opponent at the start of its next turn,
+ * and the most expensive card of the fastest kill in this turn. The header keeps a CRC32C checksum of the entries,
+ * a file is mapped only when its entries match it.
+ */
+public final class EndgameTablebase {
+
+    public static final int MAX_HEALTH = 31;
+    public static final String PATH_PROPERTY = "tcg.tablebase.path";
+
+    static final int MAGIC = 0x45475443;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 20;
+
+    static final int HAND_RANK_COUNT = OptimalTurnTable.HAND_RANK_COUNT;
+    private static final int SLOT_VALUE_COUNT = Mana.MAX_SLOT_COUNT + 1;
+    static final int ENTRY_COUNT = HAND_RANK_COUNT * SLOT_VALUE_COUNT * SLOT_VALUE_COUNT * MAX_HEALTH;
+
+    private static final int KILL_TIME_MASK = 0xFF;
+    private static final int MANA_COST_SHIFT = 8;
+    private static final int NO_MANA_COST = 0xF;
+
+    private static volatile EndgameTablebase defaultTablebase;
+
+    private final ShortBuffer entries;
+
+    private EndgameTablebase(ShortBuffer entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Maps the tablebase at the path of {@link #PATH_PROPERTY}, or in the .tcg directory of the user home by default.
+     * The file is generated once when it does not exist or is not a tablebase of this format version.
+     * @throws UncheckedIOException -- when the file can not be generated or read
+     */
+    public static EndgameTablebase getDefault() {
+        EndgameTablebase tablebase = defaultTablebase;
+        if( tablebase != null ) {
+            return tablebase;
+        }
+        synchronized (EndgameTablebase.class) {
+            if( defaultTablebase == null ) {
+                Path path = getDefaultPath();
+                try {
+                    defaultTablebase = loadOrGenerate(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Endgame tablebase can not be loaded from " + path, e);
+                }
+            }
+            return defaultTablebase;
+        }
+    }
+
+    static Path getDefaultPath() {
+        String path = System.getProperty(PATH_PROPERTY);
+        if( path != null ) {
+            return Paths.get(path);
+        }
+        // not the shared temporary directory, other users could plant a table there
+        return Paths.get(System.getProperty("user.home"), ".tcg", "endgame-v" + FORMAT_VERSION + ".tb");
+    }
+
+    private static EndgameTablebase loadOrGenerate(Path path) throws IOException {
+        if( Files.exists(path) ) {
+            try {
+                return load(path);
+            } catch (IOException e) {
+                // an old format version or a corrupt file, it is generated again
+            }
+        }
+        EndgameTablebaseGenerator.generate(path);
+        return load(path);
+    }
+
+    /**
+     * Maps a tablebase file that was written by {@link EndgameTablebaseGenerator}.
+     * @throws IOException -- when the file can not be read, was written by another format version or its entries
+     * do not match the checksum
+     */
+    public static EndgameTablebase load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if( channel.size() != HEADER_SIZE + (long) ENTRY_COUNT * Short.BYTES
+                    || !isCompatible(buffer.getInt(0), buffer.getInt(4), buffer.getInt(8), buffer.getInt(12)) ) {
+                throw new IOException(path + " is not an endgame tablebase of format version " + FORMAT_VERSION);
+            }
+            buffer.position(HEADER_SIZE);
+            ByteBuffer entries = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            if( checksum(entries.duplicate()) != buffer.getInt(16) ) {
+                throw new IOException(path + " has entries that do not match its checksum");
+            }
+            return new EndgameTablebase(entries.asShortBuffer());
+        }
+    }
+
+    /**
+     * @return CRC32C of the remaining bytes of entries, see {@link EndgameTablebaseGenerator}
+     */
+    static int checksum(ByteBuffer entries) {
+        CRC32C crc = new CRC32C();
+        crc.update(entries);
+        return (int) crc.getValue();
+    }
+
+    private static boolean isCompatible(int magic, int formatVersion, int maxHealth, int entryCount) {
+        return magic == MAGIC && formatVersion == FORMAT_VERSION && maxHealth == MAX_HEALTH && entryCount == ENTRY_COUNT;
+    }
+
+    /**
+     * @return whether the game is a two player endgame with empty decks that fits the table
+     */
+    public static boolean isEndgame(PackedGame game) {
+        if( game.getPlayerCount() != 2 || game.isOver() ) {
+            return false;
+        }
+        for (int player = 0; player < 2; player++) {
+            if( game.getDeckSize(player) != 0 || game.getHealth(player) > MAX_HEALTH
+                    || OptimalTurnTable.rank(game.getHand(player)) < 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param game -- endgame, see {@link #isEndgame(PackedGame)}
+     * @return whether the active player wins with optimal play
+     */
+    public boolean isWinning(PackedGame game) {
+        int player = game.getActivePlayerIndex();
+        int opponent = 1 - player;
+        int opponentSlotCount = Math.min(game.getManaSlotCount(opponent) + 1, Mana.MAX_SLOT_COUNT);
+        int opponentDeath = getKillTime(game.getHand(player), game.getManaSlotCount(player),
+                                        game.getManaValue(player), game.getHealth(opponent));
+        int death = 1 + getKillTime(game.getHand(opponent), opponentSlotCount, opponentSlotCount, game.getHealth(player));
+        return isWinning(opponentDeath, death);
+    }
+
+    /**
+     * Compares the deaths in half turns from the active player's turn. The opponent bleeds out in even half turns
+     * before it plays, the active player bleeds out in odd half turns before it plays.
+     */
+    static boolean isWinning(int opponentDeath, int death) {
+        return opponentDeath < death || opponentDeath == death && opponentDeath % 2 == 0;
+    }
+
+    /**
+     * @param game -- endgame, see {@link #isEndgame(PackedGame)}
+     * @return mana cost of the card that the active player should play, or {@link PackedGame#NO_CARD} to end the turn
+     */
+    public int getBestManaCost(PackedGame game) {
+        int player = game.getActivePlayerIndex();
+        return getBestManaCost(game.getHand(player), game.getManaSlotCount(player), game.getManaValue(player),
+                               game.getHealth(1 - player));
+    }
+
+    /**
+     * @param hand -- histogram of the hand, see {@link PackedGame#getHand(int)}
+     * @param targetHealth -- health of the opponent, between 1 and {@link #MAX_HEALTH}
+     * @return half turns until the fastest kill of the opponent, see {@link EndgameTablebase}
+     */
+    public int getKillTime(long hand, int slotCount, int manaValue, int targetHealth) {
+        return getKillTime(entries.get(index(OptimalTurnTable.rank(hand), slotCount, manaValue, targetHealth)));
+    }
+
+    /**
+     * @return mana cost of the most expensive card of the fastest kill in this turn, or {@link PackedGame#NO_CARD}
+     */
+    public int getBestManaCost(long hand, int slotCount, int manaValue, int targetHealth) {
+        return getManaCost(entries.get(index(OptimalTurnTable.rank(hand), slotCount, manaValue, targetHealth)));
+    }
+
+    static int index(int handRank, int slotCount, int manaValue, int targetHealth) {
+        return ((handRank * SLOT_VALUE_COUNT + slotCount) * SLOT_VALUE_COUNT + manaValue) * MAX_HEALTH + targetHealth - 1;
+    }
+
+    static short entry(int killTime, int manaCost) {
+        return (short) (killTime | (manaCost == PackedGame.NO_CARD ? NO_MANA_COST : manaCost) << MANA_COST_SHIFT);
+    }
+
+    static int getKillTime(short entry) {
+        return entry & KILL_TIME_MASK;
+    }
+
+    static int getManaCost(short entry) {
+        int manaCost = entry >>> MANA_COST_SHIFT & NO_MANA_COST;
+        return manaCost == NO_MANA_COST ? PackedGame.NO_CARD : manaCost;
+    }
+}
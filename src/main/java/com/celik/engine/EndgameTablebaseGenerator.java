@@ -0,0 +1,185 @@
+package com.celik.engine;
+
+import com.celik.constants.GameConstants;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Generates the {@link EndgameTablebase} file by retrograde analysis.
+ *
+ * An entry is the fastest kill of a player: its hand, mana slots and mana value in the current turn and the health
+ * of its opponent. A turn plays a subset of the hand and the opponent bleeds out at the start of its turn, so the
+ * entry of a hand depends on the entries of its smaller hands and of the same hand with a lower opponent health.
+ * Entries are generated from the empty hand and the lowest health up, every one in a single pass.
+ *
+ * Run with the path of the file as the argument to generate it ahead of time.
+ */
+public final class EndgameTablebaseGenerator {
+
+    private static final int MAX_SUBSETS = 1 << Hand.MAX_CARD_COUNT;
+
+    private EndgameTablebaseGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : EndgameTablebase.getDefaultPath();
+        generate(path);
+        System.out.println("Endgame tablebase was written to " + path.toAbsolutePath());
+    }
+
+    /**
+     * Generates the tablebase and writes it to path. The file is written next to path and moved, so readers
+     * never see a partial file.
+     */
+    public static void generate(Path path) throws IOException {
+        short[] entries = generate();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+            ByteBuffer body = ByteBuffer.allocate(entries.length * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            body.asShortBuffer().put(entries);
+
+            ByteBuffer header = ByteBuffer.allocate(EndgameTablebase.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(EndgameTablebase.MAGIC)
+                  .putInt(EndgameTablebase.FORMAT_VERSION)
+                  .putInt(EndgameTablebase.MAX_HEALTH)
+                  .putInt(entries.length)
+                  .putInt(EndgameTablebase.checksum(body.duplicate()));
+            header.flip();
+            writeFully(channel, header);
+            writeFully(channel, body);
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryPath);
+            throw e;
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while( buffer.hasRemaining() ) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @return entries in the order of {@link EndgameTablebase#index(int, int, int, int)}
+     */
+    static short[] generate() {
+        int handCount = EndgameTablebase.HAND_RANK_COUNT;
+        long[] hands = new long[handCount];
+        int[] handSizes = new int[handCount];
+        collectHands(hands, handSizes, 0, 0, 0L);
+
+        // subsets of every hand: their damage and the rank of the rest of the hand
+        int[][] subsetDamages = new int[handCount][];
+        int[][] subsetMaxManaCosts = new int[handCount][];
+        int[][] restRanks = new int[handCount][];
+        for (int rank = 0; rank < handCount; rank++) {
+            int[] manaCosts = toManaCosts(hands[rank], handSizes[rank]);
+            int subsetCount = 1 << handSizes[rank];
+            subsetDamages[rank] = new int[subsetCount];
+            subsetMaxManaCosts[rank] = new int[subsetCount];
+            restRanks[rank] = new int[subsetCount];
+            for (int subset = 0; subset < subsetCount; subset++) {
+                long rest = hands[rank];
+                int maxManaCost = PackedGame.NO_CARD;
+                for (int i = 0; i < manaCosts.length; i++) {
+                    if( (subset >>> i & 1) == 0 ) continue;
+                    subsetDamages[rank][subset] += manaCosts[i];
+                    maxManaCost = Math.max(maxManaCost, manaCosts[i]);
+                    rest -= 1L << (manaCosts[i] * 4);
+                }
+                subsetMaxManaCosts[rank][subset] = maxManaCost;
+                restRanks[rank][subset] = OptimalTurnTable.rank(rest);
+            }
+        }
+
+        short[] entries = new short[EndgameTablebase.ENTRY_COUNT];
+        for (int handSize = 0; handSize <= Hand.MAX_CARD_COUNT; handSize++) {
+            for (int health = 1; health <= EndgameTablebase.MAX_HEALTH; health++) {
+                for (int rank = 0; rank < handCount; rank++) {
+                    if( handSizes[rank] != handSize ) continue;
+                    for (int slotCount = 0; slotCount <= Mana.MAX_SLOT_COUNT; slotCount++) {
+                        for (int manaValue = 0; manaValue <= Mana.MAX_SLOT_COUNT; manaValue++) {
+                            entries[EndgameTablebase.index(rank, slotCount, manaValue, health)] =
+                                    solve(entries, rank, slotCount, manaValue, health,
+                                          subsetDamages[rank], subsetMaxManaCosts[rank], restRanks[rank]);
+                        }
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the subset of the hand to play in this turn that kills the opponent first; among them the subset
+     * with the most damage, damage now is never worse than damage later.
+     */
+    private static short solve(short[] entries, int rank, int slotCount, int manaValue, int health,
+                               int[] subsetDamages, int[] subsetMaxManaCosts, int[] restRanks) {
+        int nextSlotCount = Math.min(slotCount + 1, Mana.MAX_SLOT_COUNT);
+        int bestKillTime = Integer.MAX_VALUE;
+        int bestDamage = -1;
+        int bestManaCost = PackedGame.NO_CARD;
+        for (int subset = 0; subset < subsetDamages.length && subset < MAX_SUBSETS; subset++) {
+            int damage = subsetDamages[subset];
+            if( damage > manaValue ) continue;
+
+            int killTime;
+            int restHealth = health - damage;
+            if( restHealth <= 0 ) {
+                killTime = 1;
+            } else if( restHealth <= GameConstants.EMPTY_DECK_DAMAGE ) {
+                killTime = 2;
+            } else {
+                int next = EndgameTablebase.index(restRanks[subset], nextSlotCount, nextSlotCount,
+                                                  restHealth - GameConstants.EMPTY_DECK_DAMAGE);
+                killTime = 2 + EndgameTablebase.getKillTime(entries[next]);
+            }
+
+            if( killTime < bestKillTime || killTime == bestKillTime && damage > bestDamage ) {
+                bestKillTime = killTime;
+                bestDamage = damage;
+                bestManaCost = damage > 0 ? subsetMaxManaCosts[subset] : PackedGame.NO_CARD;
+            }
+        }
+        return EndgameTablebase.entry(bestKillTime, bestManaCost);
+    }
+
+    // visits every sorted hand of up to Hand.MAX_CARD_COUNT cards
+    private static void collectHands(long[] hands, int[] handSizes, int size, int minManaCost, long hand) {
+        int rank = OptimalTurnTable.rank(hand);
+        hands[rank] = hand;
+        handSizes[rank] = size;
+
+        if( size == Hand.MAX_CARD_COUNT ) return;
+        for (int manaCost = minManaCost; manaCost <= OptimalTurnTable.MAX_TABLE_MANA_COST; manaCost++) {
+            collectHands(hands, handSizes, size + 1, manaCost, hand + (1L << (manaCost * 4)));
+        }
+    }
+
+    private static int[] toManaCosts(long hand, int size) {
+        int[] manaCosts = new int[size];
+        int count = 0;
+        for (int manaCost = 0; hand != 0; manaCost++, hand >>>= 4) {
+            for (int i = (int) hand & 0xF; i > 0; i--) {
+                manaCosts[count++] = manaCost;
+            }
+        }
+        return manaCosts;
+    }
+}
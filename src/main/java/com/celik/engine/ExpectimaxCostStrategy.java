@@ -0,0 +1,29 @@
+package com.celik.engine;
+
+/**
+ * Selects cards by {@link ExpectimaxSolver}. The solver sees the hands and decks of both players,
+ * so it is an upper bound of a fair bot, not a fair bot.
+ */
+public class ExpectimaxCostStrategy implements CostStrategy {
+
+    private final ExpectimaxSolver solver;
+
+    /**
+     * @param solver -- solver of the decisions, its table is reused by the decisions of the games
+     */
+    public ExpectimaxCostStrategy(ExpectimaxSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public int selectManaCost(PackedGame game) {
+        try {
+            return solver.solve(game).getManaCost();
+        } catch (InterruptedException e) {
+            // there is no time to solve, plays greedy
+            Thread.currentThread().interrupt();
+            int player = game.getActivePlayerIndex();
+            return game.getMaxPlayableManaCost(player, game.getManaValue(player));
+        }
+    }
+}
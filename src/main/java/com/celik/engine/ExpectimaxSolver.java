@@ -0,0 +1,439 @@
+package com.celik.engine;
+
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact expectimax solver of two player {@link PackedGame}s with full information.
+ *
+ * Cards with the same mana cost are interchangeable, so a player is its health, mana slots and the mana cost
+ * histograms of its hand and deck. A decision node plays an affordable card or ends the turn; the chance node
+ * of the next turn draws every mana cost of the deck with probability count / deck size. The score of a state is
+ * the probability that the active player wins when both players play optimally, so the score of the opponent
+ * is one minus it.
+ *
+ * Health, slots, decks and played cards only change one way, so the only loop is two players ending their turns
+ * one after the other without playing a card while their draws are overloaded at full mana slots. Such a loop would
+ * never end, the solver scores it as a draw worth 1/2.
+ *
+ * Scores are memoized in a {@link TranspositionTable} that is shared by the threads searching the root actions.
+ * The table is lossy, a replaced state is evaluated again, so the scores are exact with any table size.
+ * States whose decks are both empty are read from an {@link EndgameTablebase} when the solver has one.
+ */
+public class ExpectimaxSolver {
+
+    public static final int DEFAULT_TABLE_BITS = 20;
+    public static final int MAX_MANA_COST = OptimalTurnTable.MAX_TABLE_MANA_COST;
+    public static final int MAX_CARD_COUNT_WITH_MANA_COST = 7;
+    public static final int MAX_HEALTH = 63;
+
+    static final double DRAW_SCORE = 0.5;
+
+    // player: count of the deck cards with mana cost i in bits 3i to 3i+2, hand cards from bit 27, then health and slots
+    private static final int FIELD_BITS = 3;
+    private static final long FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int DECK_SHIFT = 0;
+    private static final int HAND_SHIFT = DECK_SHIFT + (MAX_MANA_COST + 1) * FIELD_BITS;
+    private static final int HEALTH_SHIFT = HAND_SHIFT + (MAX_MANA_COST + 1) * FIELD_BITS;
+    private static final int SLOT_SHIFT = HEALTH_SHIFT + 6;
+    private static final long HEALTH_MASK = 0x3F;
+
+    // turn: mana value of the active player, mana cost of the last card it played in this turn
+    // and whether the previous turn ended without any change
+    private static final int MANA_MASK = 0xF;
+    private static final int LAST_PLAYED_SHIFT = 4;
+    private static final int NOT_PLAYED = 0xF << LAST_PLAYED_SHIFT;
+    private static final int STALLED = 1 << 8;
+
+    // key: deck, rank of the hand, health and slots of a player in 48 bits, the turn of the active player above them
+    private static final int KEY_HAND_SHIFT = HAND_SHIFT;
+    private static final int KEY_STATUS_SHIFT = KEY_HAND_SHIFT + 11;
+    private static final int KEY_TURN_SHIFT = KEY_STATUS_SHIFT + 10;
+
+    private final int threadCount;
+    private final TranspositionTable table;
+    private final EndgameTablebase tablebase;
+
+    public ExpectimaxSolver(int threadCount) {
+        this(threadCount, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * @param threadCount -- count of the threads that search the root actions
+     * @param tableBits -- the table keeps 2^tableBits states, 24 bytes each
+     */
+    public ExpectimaxSolver(int threadCount, int tableBits) {
+        this(threadCount, tableBits, null);
+    }
+
+    /**
+     * @param threadCount -- count of the threads that search the root actions
+     * @param tableBits -- the table keeps 2^tableBits states, 24 bytes each
+     * @param tablebase -- values of the endgames with empty decks, or null to search them too
+     */
+    public ExpectimaxSolver(int threadCount, int tableBits, EndgameTablebase tablebase) {
+        if( threadCount <= 0 ) {
+            throw new IllegalArgumentException("threadCount should be positive");
+        }
+        this.threadCount = threadCount;
+        this.table = new TranspositionTable(tableBits);
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Solves the game for its active player. The game is not changed. Solved states stay in the table,
+     * so the next decisions of the same game are cheap.
+     * @param game -- started game of two players, mana costs up to {@link #MAX_MANA_COST}, at most
+     *             {@link #MAX_CARD_COUNT_WITH_MANA_COST} deck cards of a mana cost and health up to {@link #MAX_HEALTH}
+     * @return win probability of the active player and its best action
+     * @throws InterruptedException -- when the calling thread is interrupted while waiting the threads
+     * @throws IllegalArgumentException -- when the game does not fit
+     */
+    public Result solve(PackedGame game) throws InterruptedException {
+        if( game.getPlayerCount() != 2 ) {
+            throw new IllegalArgumentException("Solver supports two players");
+        }
+        if( game.isOver() ) {
+            throw new IllegalArgumentException("Game is over");
+        }
+
+        int activePlayer = game.getActivePlayerIndex();
+        long active = pack(game, activePlayer);
+        long opponent = pack(game, 1 - activePlayer);
+        int turn = game.getManaValue(activePlayer) | NOT_PLAYED;
+        LongAdder evaluationCount = new LongAdder();
+
+        List<Integer> actions = new ArrayList<>();
+        if( game.isDecisionPoint() ) {
+            for (int manaCost = 0; manaCost <= Math.min(turn & MANA_MASK, MAX_MANA_COST); manaCost++) {
+                if( count(active, HAND_SHIFT, manaCost) > 0 ) actions.add(manaCost);
+            }
+        }
+        actions.add(PackedGame.NO_CARD);
+
+        double[] scores = new double[actions.size()];
+        if( threadCount == 1 || actions.size() == 1 ) {
+            for (int i = 0; i < actions.size(); i++) {
+                scores[i] = score(active, opponent, turn, actions.get(i), evaluationCount);
+            }
+        } else {
+            solveInParallel(active, opponent, turn, actions, scores, evaluationCount);
+        }
+
+        // ties go to the most expensive card, the turn ends only when it is strictly better
+        int bestAction = actions.size() - 1;
+        for (int i = 0; i < actions.size() - 1; i++) {
+            if( scores[i] >= scores[bestAction] ) bestAction = i;
+        }
+        return new Result(actions.get(bestAction), scores[bestAction], evaluationCount.sum());
+    }
+
+    private void solveInParallel(long active, long opponent, int turn, List<Integer> actions, double[] scores,
+                                 LongAdder evaluationCount) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, actions.size()));
+        try {
+            List<Future<Double>> workers = new ArrayList<>(actions.size());
+            for (Integer action : actions) {
+                Callable<Double> worker = () -> score(active, opponent, turn, action, evaluationCount);
+                workers.add(executor.submit(worker));
+            }
+            for (int i = 0; i < workers.size(); i++) {
+                try {
+                    scores[i] = workers.get(i).get();
+                } catch (ExecutionException e) {
+                    if( e.getCause() instanceof RuntimeException ) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException("Solver worker failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double score(long active, long opponent, int turn, int action, LongAdder evaluationCount) {
+        return action == PackedGame.NO_CARD ? endTurn(active, opponent, turn, evaluationCount)
+                                            : play(active, opponent, turn, action, evaluationCount);
+    }
+
+    /**
+     * @return win probability of the active player, who selects the best of playing a card or ending the turn
+     */
+    private double score(long active, long opponent, int turn, LongAdder evaluationCount) {
+        if( tablebase != null && isEndgame(active) && isEndgame(opponent) ) {
+            return scoreEndgame(active, opponent, turn);
+        }
+
+        long activeKey = key(active) | (long) turn << KEY_TURN_SHIFT;
+        long opponentKey = key(opponent);
+        double score = table.get(activeKey, opponentKey);
+        if( !Double.isNaN(score) ) {
+            return score;
+        }
+        evaluationCount.increment();
+
+        // order of the cards does not change the end of a turn, so cards are played in descending mana cost
+        score = 0;
+        int maxManaCost = Math.min(turn & MANA_MASK, Math.min(turn >>> LAST_PLAYED_SHIFT & 0xF, MAX_MANA_COST));
+        for (int manaCost = maxManaCost; manaCost >= 0 && score < 1; manaCost--) {
+            if( count(active, HAND_SHIFT, manaCost) > 0 ) {
+                score = Math.max(score, play(active, opponent, turn, manaCost, evaluationCount));
+            }
+        }
+        if( score < 1 ) {
+            score = Math.max(score, endTurn(active, opponent, turn, evaluationCount));
+        }
+
+        table.put(activeKey, opponentKey, score);
+        return score;
+    }
+
+    private double play(long active, long opponent, int turn, int manaCost, LongAdder evaluationCount) {
+        active -= 1L << (HAND_SHIFT + manaCost * FIELD_BITS);
+        if( manaCost > 0 ) {
+            long health = opponent >>> HEALTH_SHIFT & HEALTH_MASK;
+            if( health <= manaCost ) {
+                return 1;
+            }
+            opponent -= (long) manaCost << HEALTH_SHIFT;
+        }
+        return score(active, opponent, (turn & MANA_MASK) - manaCost | manaCost << LAST_PLAYED_SHIFT, evaluationCount);
+    }
+
+    /**
+     * Activates the opponent: it gets a mana slot, refills its mana and draws a card, or bleeds out.
+     * @return win probability of the active player
+     */
+    private double endTurn(long active, long opponent, int turn, LongAdder evaluationCount) {
+        boolean changed = (turn & NOT_PLAYED) != NOT_PLAYED;
+
+        long next = opponent;
+        int slotCount = (int) (next >>> SLOT_SHIFT);
+        if( slotCount < Mana.MAX_SLOT_COUNT ) {
+            slotCount++;
+            next += 1L << SLOT_SHIFT;
+            changed = true;
+        }
+
+        int deckSize = 0;
+        int handCount = 0;
+        for (int manaCost = 0; manaCost <= MAX_MANA_COST; manaCost++) {
+            deckSize += count(next, DECK_SHIFT, manaCost);
+            handCount += count(next, HAND_SHIFT, manaCost);
+        }
+
+        if( deckSize == 0 ) {
+            if( (next >>> HEALTH_SHIFT & HEALTH_MASK) <= 1 ) {
+                return 1;
+            }
+            return 1 - score(next - (1L << HEALTH_SHIFT), active, slotCount | NOT_PLAYED, evaluationCount);
+        }
+
+        if( handCount >= Hand.MAX_CARD_COUNT ) {
+            // overload, the drawn card stays in the deck
+            if( changed ) {
+                return 1 - score(next, active, slotCount | NOT_PLAYED, evaluationCount);
+            }
+            if( (turn & STALLED) != 0 ) {
+                return DRAW_SCORE;
+            }
+            return 1 - score(next, active, slotCount | NOT_PLAYED | STALLED, evaluationCount);
+        }
+
+        double score = 0;
+        for (int manaCost = 0; manaCost <= MAX_MANA_COST; manaCost++) {
+            int count = count(next, DECK_SHIFT, manaCost);
+            if( count == 0 ) continue;
+            long drawn = next - (1L << (DECK_SHIFT + manaCost * FIELD_BITS)) + (1L << (HAND_SHIFT + manaCost * FIELD_BITS));
+            score += (double) count / deckSize * (1 - score(drawn, active, slotCount | NOT_PLAYED, evaluationCount));
+        }
+        return score;
+    }
+
+    private static boolean isEndgame(long player) {
+        return (player & ((1L << HAND_SHIFT) - 1)) == 0 && (player >>> HEALTH_SHIFT & HEALTH_MASK) <= EndgameTablebase.MAX_HEALTH;
+    }
+
+    private double scoreEndgame(long active, long opponent, int turn) {
+        int opponentSlotCount = Math.min((int) (opponent >>> SLOT_SHIFT) + 1, Mana.MAX_SLOT_COUNT);
+        int opponentDeath = tablebase.getKillTime(hand(active), (int) (active >>> SLOT_SHIFT), turn & MANA_MASK,
+                                                  (int) (opponent >>> HEALTH_SHIFT & HEALTH_MASK));
+        int death = 1 + tablebase.getKillTime(hand(opponent), opponentSlotCount, opponentSlotCount,
+                                              (int) (active >>> HEALTH_SHIFT & HEALTH_MASK));
+        return EndgameTablebase.isWinning(opponentDeath, death) ? 1 : 0;
+    }
+
+    private static int count(long player, int shift, int manaCost) {
+        return (int) (player >>> (shift + manaCost * FIELD_BITS) & FIELD_MASK);
+    }
+
+    // deck, hand rank, health and slots in 48 bits
+    private static long key(long player) {
+        long deck = player & ((1L << HAND_SHIFT) - 1);
+        return deck | (long) OptimalTurnTable.rank(hand(player)) << KEY_HAND_SHIFT | (player >>> HEALTH_SHIFT) << KEY_STATUS_SHIFT;
+    }
+
+    // histogram of the hand like PackedGame#getHand(int)
+    private static long hand(long player) {
+        long hand = 0;
+        for (int manaCost = 0; manaCost <= MAX_MANA_COST; manaCost++) {
+            hand |= (long) count(player, HAND_SHIFT, manaCost) << (manaCost * 4);
+        }
+        return hand;
+    }
+
+    private static long pack(PackedGame game, int player) {
+        int health = game.getHealth(player);
+        if( health > MAX_HEALTH ) {
+            throw new IllegalArgumentException("Health should not be more than " + MAX_HEALTH);
+        }
+        if( game.getHandCount(player) > Hand.MAX_CARD_COUNT ) {
+            throw new IllegalArgumentException("Hand can not have more than " + Hand.MAX_CARD_COUNT + " cards");
+        }
+
+        int[] deck = new int[PackedGame.MAX_MANA_COST + 1];
+        for (int i = 0; i < game.getDeckSize(player); i++) {
+            deck[game.getDeckCard(player, i)]++;
+        }
+
+        long packed = (long) health << HEALTH_SHIFT | (long) game.getManaSlotCount(player) << SLOT_SHIFT;
+        for (int manaCost = 0; manaCost <= PackedGame.MAX_MANA_COST; manaCost++) {
+            int handCount = game.getCardCountWithManaCost(player, manaCost);
+            if( deck[manaCost] + handCount == 0 ) continue;
+            if( manaCost > MAX_MANA_COST ) {
+                throw new IllegalArgumentException("Mana cost should not be more than " + MAX_MANA_COST);
+            }
+            if( deck[manaCost] > MAX_CARD_COUNT_WITH_MANA_COST ) {
+                throw new IllegalArgumentException("Deck can not have more than " + MAX_CARD_COUNT_WITH_MANA_COST
+                                                    + " cards with mana cost " + manaCost);
+            }
+            packed |= (long) deck[manaCost] << (DECK_SHIFT + manaCost * FIELD_BITS)
+                    | (long) handCount << (HAND_SHIFT + manaCost * FIELD_BITS);
+        }
+        return packed;
+    }
+
+    /**
+     * Result of a solve.
+     */
+    public static final class Result {
+
+        private final int manaCost;
+        private final double winProbability;
+        private final long evaluationCount;
+
+        Result(int manaCost, double winProbability, long evaluationCount) {
+            this.manaCost = manaCost;
+            this.winProbability = winProbability;
+            this.evaluationCount = evaluationCount;
+        }
+
+        /**
+         * @return mana cost of the card to play, or {@link PackedGame#NO_CARD} to end the turn
+         */
+        public int getManaCost() {
+            return manaCost;
+        }
+
+        /**
+         * @return win probability of the active player with optimal play, a never ending game counts as half a win
+         */
+        public double getWinProbability() {
+            return winProbability;
+        }
+
+        /**
+         * @return count of the states that were evaluated, not found in the table
+         */
+        public long getEvaluationCount() {
+            return evaluationCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Mana Cost: %d -- Win Probability: %.6f -- Evaluations: %d",
+                                 manaCost, winProbability, evaluationCount);
+        }
+    }
+
+    /**
+     * Lockless transposition table. A bucket of four entries is selected by the hash of the key and an entry keeps
+     * the two key words xor the score and the score. Writers do not lock, so an entry may be torn by two writers;
+     * the xor check of a reader fails then and the state is evaluated again.
+     */
+    static final class TranspositionTable {
+
+        private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+        private static final int ENTRY_WORDS = 3;
+        private static final int BUCKET_ENTRIES = 4;
+
+        private final long[] words;
+        private final int bucketMask;
+
+        TranspositionTable(int tableBits) {
+            if( tableBits < 2 || tableBits > 26 ) {
+                throw new IllegalArgumentException("tableBits should be between 2 and 26");
+            }
+            this.words = new long[(1 << tableBits) * ENTRY_WORDS];
+            this.bucketMask = (1 << tableBits) / BUCKET_ENTRIES - 1;
+        }
+
+        /**
+         * @return the score of the key, or NaN if it is not in the table
+         */
+        double get(long activeKey, long opponentKey) {
+            int bucket = bucket(activeKey, opponentKey);
+            for (int i = 0; i < BUCKET_ENTRIES; i++) {
+                int entry = (bucket + i) * ENTRY_WORDS;
+                long score = (long) WORDS.getOpaque(words, entry + 2);
+                if( ((long) WORDS.getOpaque(words, entry) ^ score) == activeKey
+                        && ((long) WORDS.getOpaque(words, entry + 1) ^ score) == opponentKey ) {
+                    return Double.longBitsToDouble(score);
+                }
+            }
+            return Double.NaN;
+        }
+
+        /**
+         * Keeps the score in the entry of the key or an empty entry of the bucket, or replaces an entry selected by the key.
+         */
+        void put(long activeKey, long opponentKey, double score) {
+            int bucket = bucket(activeKey, opponentKey);
+            int entry = (bucket + ((int) (activeKey ^ opponentKey) & BUCKET_ENTRIES - 1)) * ENTRY_WORDS;
+            for (int i = 0; i < BUCKET_ENTRIES; i++) {
+                int candidate = (bucket + i) * ENTRY_WORDS;
+                long candidateScore = (long) WORDS.getOpaque(words, candidate + 2);
+                long candidateKey = (long) WORDS.getOpaque(words, candidate) ^ candidateScore;
+                if( candidateKey == 0 || candidateKey == activeKey ) {
+                    entry = candidate;
+                    break;
+                }
+            }
+
+            long bits = Double.doubleToRawLongBits(score);
+            WORDS.setOpaque(words, entry, activeKey ^ bits);
+            WORDS.setOpaque(words, entry + 1, opponentKey ^ bits);
+            WORDS.setOpaque(words, entry + 2, bits);
+        }
+
+        private int bucket(long activeKey, long opponentKey) {
+            long hash = activeKey ^ opponentKey * 0x9E3779B97F4A7C15L;
+            hash = (hash ^ hash >>> 30) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ hash >>> 27) * 0x94D049BB133111EBL;
+            hash ^= hash >>> 31;
+            return ((int) hash & bucketMask) * BUCKET_ENTRIES;
+        }
+    }
+}
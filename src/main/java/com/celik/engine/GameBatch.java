@@ -0,0 +1,46 @@
+package com.celik.engine;
+
+import com.celik.simulation.GameResult;
+
+import java.util.SplittableRandom;
+
+/**
+ * Games of greedy players that are stepped together one turn at a time, see {@link BatchGame}.
+ * Implementations play the same games for the same randoms, so they can replace each other.
+ */
+public interface GameBatch {
+
+    /**
+     * Resets every game, game i gets the i-th split of random.
+     */
+    void resetAll(SplittableRandom random);
+
+    /**
+     * Starts a new game with the default decks and health.
+     * @param random -- source of randomness of the game, every deck gets a split of it in player order
+     */
+    void reset(int game, SplittableRandom random);
+
+    /**
+     * Plays a turn of every game that is not over.
+     * @return count of the games that are not over after the step
+     */
+    int step();
+
+    /**
+     * Steps every game until all of them are over.
+     * @return count of the steps
+     */
+    int playAll();
+
+    boolean isOver(int game);
+
+    /**
+     * @return result of the game, the winner is the first alive player when the game is over
+     */
+    GameResult getResult(int game);
+
+    int getGameCount();
+
+    int getPlayerCount();
+}
@@ -0,0 +1,13 @@
+package com.celik.engine;
+
+/**
+ * Plays the most expensive card that the active player can afford, like {@link com.celik.strategy.GreedyStrategy}.
+ */
+public class GreedyCostStrategy implements CostStrategy {
+
+    @Override
+    public int selectManaCost(PackedGame game) {
+        int player = game.getActivePlayerIndex();
+        return game.getMaxPlayableManaCost(player, game.getManaValue(player));
+    }
+}
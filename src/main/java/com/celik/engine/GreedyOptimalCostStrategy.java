@@ -0,0 +1,14 @@
+package com.celik.engine;
+
+/**
+ * Plays the cards of the best play of the turn from {@link OptimalTurnTable}, most expensive first,
+ * like {@link com.celik.strategy.GreedyOptimalStrategy}.
+ */
+public class GreedyOptimalCostStrategy implements CostStrategy {
+
+    @Override
+    public int selectManaCost(PackedGame game) {
+        int player = game.getActivePlayerIndex();
+        return OptimalTurnTable.getFirstManaCost(OptimalTurnTable.getPlay(game.getHand(player), game.getManaValue(player)));
+    }
+}
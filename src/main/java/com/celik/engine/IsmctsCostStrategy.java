@@ -0,0 +1,50 @@
+package com.celik.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Selects cards by {@link IsmctsSearch}. The search sees the hidden cards of the opponents only as a whole.
+ * Closing the strategy closes its search.
+ */
+public class IsmctsCostStrategy implements CostStrategy, AutoCloseable {
+
+    private final IsmctsSearch search;
+    private final long budgetMillis;
+    private final long maxIterations;
+
+    /**
+     * @param threadCount -- count of the search threads
+     * @param budgetMillis -- time budget of a decision
+     */
+    public IsmctsCostStrategy(int threadCount, long budgetMillis) {
+        this(new IsmctsSearch(threadCount), budgetMillis, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param search -- search of the decisions
+     * @param budgetMillis -- time budget of a decision
+     * @param maxIterations -- iteration limit of a decision
+     */
+    public IsmctsCostStrategy(IsmctsSearch search, long budgetMillis, long maxIterations) {
+        this.search = search;
+        this.budgetMillis = budgetMillis;
+        this.maxIterations = maxIterations;
+    }
+
+    @Override
+    public int selectManaCost(PackedGame game) {
+        try {
+            return search.search(game, budgetMillis, maxIterations, new SplittableRandom().nextLong()).getManaCost();
+        } catch (InterruptedException e) {
+            // there is no time to search, plays greedy
+            Thread.currentThread().interrupt();
+            int player = game.getActivePlayerIndex();
+            return game.getMaxPlayableManaCost(player, game.getManaValue(player));
+        }
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
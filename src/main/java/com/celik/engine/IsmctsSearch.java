@@ -0,0 +1,411 @@
+package com.celik.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Single observer information set Monte Carlo tree search on {@link PackedGame}.
+ *
+ * Hands and deck orders of the opponents are hidden from the active player, so every iteration searches
+ * a determinization: the hidden cards of every opponent are dealt again to its hand and deck, and future draws
+ * get a new random. The tree is shared by all determinizations; a node keeps how many times its action was
+ * available besides its visits and wins. Turns without a decision are skipped, and whether an opponent can play
+ * depends on its hidden hand, so the same actions may lead to a decision of different players in different
+ * determinizations. Children are therefore keyed by the acting player and the action.
+ *
+ * Iterations run on several threads on the same tree without locks. Children are created by compare and set,
+ * statistics are updated atomically and a thread adds a virtual loss to the nodes on its path,
+ * so other threads prefer different paths until the result of its rollout is back propagated.
+ * The search is anytime: it stops at the time budget or the iteration limit and returns the most visited action.
+ * A parallel search keeps its threads between the searches, close it to stop them.
+ */
+public class IsmctsSearch implements AutoCloseable {
+
+    public static final double DEFAULT_EXPLORATION = 0.7;
+
+    // playing a card with mana cost i is action i
+    static final int PASS_ACTION = PackedGame.MAX_MANA_COST + 1;
+    static final int ACTION_COUNT = PASS_ACTION + 1;
+
+    private static final int VIRTUAL_LOSS = 1;
+    // no action leads to the root
+    private static final int NO_PLAYER = -1;
+
+    private final int threadCount;
+    private final double exploration;
+    // threads of the parallel searches, null when the search runs on the calling thread
+    private final ExecutorService executor;
+
+    public IsmctsSearch(int threadCount) {
+        this(threadCount, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * @param threadCount -- count of the threads that run iterations
+     * @param exploration -- exploration constant of the UCB formula
+     */
+    public IsmctsSearch(int threadCount, double exploration) {
+        if( threadCount <= 0 ) {
+            throw new IllegalArgumentException("threadCount should be positive");
+        }
+        this.threadCount = threadCount;
+        this.exploration = exploration;
+        this.executor = threadCount == 1 ? null : Executors.newFixedThreadPool(threadCount, runnable -> {
+            // an unclosed search does not keep the JVM alive
+            Thread thread = new Thread(runnable, "ismcts-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the best action of the active player within a time budget.
+     * @see #search(PackedGame, long, long, long)
+     */
+    public Result search(PackedGame game, long budgetMillis) throws InterruptedException {
+        return search(game, budgetMillis, Long.MAX_VALUE, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Searches the best action of the active player. The game is not changed.
+     * @param game -- started game
+     * @param budgetMillis -- time budget of the search
+     * @param maxIterations -- iteration limit of the search
+     * @param seed -- seed of the determinizations and rollouts, a single threaded search with an iteration limit
+     *             is reproducible
+     * @return best action, {@link PackedGame#NO_CARD} is passing
+     * @throws InterruptedException -- when the calling thread is interrupted while waiting the threads
+     */
+    public Result search(PackedGame game, long budgetMillis, long maxIterations, long seed) throws InterruptedException {
+        if( !game.isDecisionPoint() ) {
+            return new Result(PackedGame.NO_CARD, 0);
+        }
+
+        Node root = searchTree(game, budgetMillis, maxIterations, seed);
+        int observer = game.getActivePlayerIndex();
+        int bestAction = PASS_ACTION;
+        int bestVisitCount = -1;
+        long iterationCount = 0;
+        for (int action = 0; action < ACTION_COUNT; action++) {
+            Node child = root.children.get(getChildIndex(observer, action));
+            if( child == null ) continue;
+
+            // every finished iteration visits a child of the root
+            iterationCount += child.visits;
+            if( child.visits > bestVisitCount ) {
+                bestAction = action;
+                bestVisitCount = child.visits;
+            }
+        }
+        return new Result(bestAction == PASS_ACTION ? PackedGame.NO_CARD : bestAction, iterationCount);
+    }
+
+    /**
+     * Grows the tree of a decision point.
+     * @return root of the tree
+     */
+    Node searchTree(PackedGame game, long budgetMillis, long maxIterations, long seed) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Node root = new Node(NO_PLAYER, game.getPlayerCount());
+        AtomicLong iterationCount = new AtomicLong();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        if( executor == null ) {
+            iterate(game, root, deadline, maxIterations, iterationCount, random);
+            if( Thread.interrupted() ) {
+                throw new InterruptedException("Search is interrupted");
+            }
+        } else {
+            runInParallel(game, root, deadline, maxIterations, iterationCount, random);
+        }
+        return root;
+    }
+
+    /**
+     * Stops the threads of the parallel searches, a closed search can not search in parallel.
+     */
+    @Override
+    public void close() {
+        if( executor != null ) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runInParallel(PackedGame game, Node root, long deadline, long maxIterations,
+                               AtomicLong iterationCount, SplittableRandom random) throws InterruptedException {
+        List<Future<Void>> workers = new ArrayList<>(threadCount);
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                SplittableRandom workerRandom = random.split();
+                Callable<Void> worker = () -> {
+                    iterate(game, root, deadline, maxIterations, iterationCount, workerRandom);
+                    return null;
+                };
+                workers.add(executor.submit(worker));
+            }
+            for (Future<Void> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    if( e.getCause() instanceof RuntimeException ) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException("Search worker failed", e.getCause());
+                }
+            }
+        } finally {
+            // the workers of a failed or interrupted search do not outlive it
+            for (Future<Void> worker : workers) {
+                worker.cancel(true);
+            }
+        }
+    }
+
+    private void iterate(PackedGame game, Node root, long deadline, long maxIterations,
+                         AtomicLong iterationCount, SplittableRandom random) {
+        int observer = game.getActivePlayerIndex();
+        List<CostStrategy> rolloutStrategies = Collections.nCopies(game.getPlayerCount(), new GreedyCostStrategy());
+        Node[] path = new Node[16];
+        int[] pool = new int[PackedGame.MAX_DECK_SIZE + PackedGame.MAX_MANA_COST * 16];
+
+        // a cancelled worker stops, its thread is kept for the next search
+        while( System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()
+               && iterationCount.getAndIncrement() < maxIterations ) {
+            PackedGame determinization = determinize(game, observer, random, pool);
+
+            // selection and expansion
+            int depth = 0;
+            Node node = root;
+            boolean expanded = false;
+            while( !expanded && !determinization.isOver() ) {
+                int player = determinization.getActivePlayerIndex();
+                int action = selectAction(node, determinization, random);
+                int childIndex = getChildIndex(player, action);
+                Node child = node.children.get(childIndex);
+                if( child == null ) {
+                    node.children.compareAndSet(childIndex, null, new Node(player, determinization.getPlayerCount()));
+                    child = node.children.get(childIndex);
+                    expanded = true;
+                }
+                child.addVirtualLoss();
+
+                if( depth == path.length ) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = child;
+                node = child;
+
+                apply(determinization, action);
+            }
+
+            // simulation
+            int winner = determinization.resume(rolloutStrategies).getWinnerIndex();
+
+            // back propagation
+            for (int i = 0; i < depth; i++) {
+                path[i].update(path[i].player == winner);
+                path[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Selects an untried action randomly, or the action with the best upper confidence bound.
+     * Availability of every legal action is counted.
+     */
+    private int selectAction(Node node, PackedGame game, SplittableRandom random) {
+        long legalActions = getLegalActions(game);
+        int player = game.getActivePlayerIndex();
+
+        int untriedAction = -1;
+        int untriedCount = 0;
+        int bestAction = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (long actions = legalActions; actions != 0; actions &= actions - 1) {
+            int action = Long.numberOfTrailingZeros(actions);
+            Node child = node.children.get(getChildIndex(player, action));
+            if( child == null ) {
+                // reservoir sampling among untried actions
+                if( random.nextInt(++untriedCount) == 0 ) untriedAction = action;
+                continue;
+            }
+
+            int availability = child.incrementAvailability();
+            int visits = child.visits + child.virtualLosses;
+            if( visits == 0 ) {
+                visits = 1;
+            }
+            double score = (double) child.wins / visits + exploration * Math.sqrt(Math.log(availability) / visits);
+            if( score > bestScore ) {
+                bestScore = score;
+                bestAction = action;
+            }
+        }
+        return untriedAction >= 0 ? untriedAction : bestAction;
+    }
+
+    /**
+     * @return bit i is set when playing the card with mana cost i is legal, the pass action is always legal
+     */
+    static long getLegalActions(PackedGame game) {
+        int player = game.getActivePlayerIndex();
+        int manaValue = game.getManaValue(player);
+        long legalActions = 1L << PASS_ACTION;
+        for (int manaCost = 0; manaCost <= manaValue && manaCost <= PackedGame.MAX_MANA_COST; manaCost++) {
+            if( game.getCardCountWithManaCost(player, manaCost) > 0 ) {
+                legalActions |= 1L << manaCost;
+            }
+        }
+        return legalActions;
+    }
+
+    /**
+     * @return index of the child that the action of the player leads to
+     */
+    static int getChildIndex(int player, int action) {
+        return player * ACTION_COUNT + action;
+    }
+
+    /**
+     * Applies the action of the active player and plays the turns that do not need a decision.
+     */
+    private static void apply(PackedGame game, int action) {
+        if( action == PASS_ACTION ) {
+            game.endTurn();
+        } else {
+            game.playTurn(action);
+        }
+        while( !game.isOver() && !game.isDecisionPoint() ) {
+            game.endTurn();
+        }
+    }
+
+    /**
+     * Deals the hidden cards of every opponent of the observer again. An opponent keeps its hand and deck sizes,
+     * its cards are a random split of its hand and deck cards, which the observer knows as a whole
+     * from the initial deck and the played cards.
+     */
+    static PackedGame determinize(PackedGame game, int observer, SplittableRandom random, int[] pool) {
+        PackedGame determinization = game.copy(random);
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            if( player == observer ) continue;
+
+            int deckSize = game.getDeckSize(player);
+            int cardCount = 0;
+            for (int i = 0; i < deckSize; i++) {
+                pool[cardCount++] = game.getDeckCard(player, i);
+            }
+            for (int manaCost = 0; manaCost <= PackedGame.MAX_MANA_COST; manaCost++) {
+                for (int i = game.getCardCountWithManaCost(player, manaCost); i > 0; i--) {
+                    pool[cardCount++] = manaCost;
+                }
+            }
+
+            // partial Fisher-Yates shuffle, the last cards become the hand
+            long hand = 0;
+            for (int i = cardCount - 1; i >= deckSize; i--) {
+                int j = random.nextInt(i + 1);
+                int manaCost = pool[j];
+                pool[j] = pool[i];
+                pool[i] = manaCost;
+                hand += 1L << (manaCost * 4);
+            }
+            determinization.setCards(player, hand, pool, deckSize);
+        }
+        return determinization;
+    }
+
+    /**
+     * Result of a search.
+     */
+    public static final class Result {
+
+        private final int manaCost;
+        private final long iterationCount;
+
+        Result(int manaCost, long iterationCount) {
+            this.manaCost = manaCost;
+            this.iterationCount = iterationCount;
+        }
+
+        /**
+         * @return mana cost of the card to play, or {@link PackedGame#NO_CARD} to pass
+         */
+        public int getManaCost() {
+            return manaCost;
+        }
+
+        public long getIterationCount() {
+            return iterationCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Mana Cost: %d -- Iterations: %d", manaCost, iterationCount);
+        }
+    }
+
+    /**
+     * Node of the shared tree. Statistics are from the view of the player who took the action leading to the node.
+     */
+    static final class Node {
+
+        private static final VarHandle VISITS;
+        private static final VarHandle WINS;
+        private static final VarHandle AVAILABILITY;
+        private static final VarHandle VIRTUAL_LOSSES;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+                WINS = lookup.findVarHandle(Node.class, "wins", int.class);
+                AVAILABILITY = lookup.findVarHandle(Node.class, "availability", int.class);
+                VIRTUAL_LOSSES = lookup.findVarHandle(Node.class, "virtualLosses", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final int player;
+        // indexed by getChildIndex(int, int)
+        final AtomicReferenceArray<Node> children;
+
+        volatile int visits;
+        volatile int wins;
+        volatile int availability;
+        volatile int virtualLosses;
+
+        Node(int player, int playerCount) {
+            this.player = player;
+            this.children = new AtomicReferenceArray<>(playerCount * ACTION_COUNT);
+        }
+
+        int incrementAvailability() {
+            return (int) AVAILABILITY.getAndAdd(this, 1) + 1;
+        }
+
+        void addVirtualLoss() {
+            VIRTUAL_LOSSES.getAndAdd(this, VIRTUAL_LOSS);
+        }
+
+        void update(boolean won) {
+            if( won ) WINS.getAndAdd(this, 1);
+            VISITS.getAndAdd(this, 1);
+            VIRTUAL_LOSSES.getAndAdd(this, -VIRTUAL_LOSS);
+        }
+    }
+}
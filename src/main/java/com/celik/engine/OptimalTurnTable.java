@@ -0,0 +1,191 @@
+package com.celik.engine;
+
+import com.celik.constants.GameConstants;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Precomputed best plays of a single turn. The best play of a hand is the set of cards with the highest total
+ * damage whose total mana cost is not greater than the mana value; free dud cards are played too, they only take up
+ * space in the hand. Cards of a play are ordered by descending mana cost.
+ *
+ * Hands of at most {@link Hand#MAX_CARD_COUNT} cards with costs of the default deck are ranked in the combinatorial
+ * number system: the sorted costs padded by an empty card value become a strictly increasing sequence, so every hand
+ * multiset has a dense index. The table keeps a play for every hand and mana value, it is built when the class is
+ * loaded. Other hands are solved on demand.
+ */
+public final class OptimalTurnTable {
+
+    public static final int MAX_TABLE_MANA_COST = Collections.max(GameConstants.INITIAL_MANA_COSTS_OF_DECK);
+
+    private static final int EMPTY_CARD = MAX_TABLE_MANA_COST + 1;
+    private static final int HAND_SIZE = Hand.MAX_CARD_COUNT;
+    private static final int MANA_VALUE_COUNT = Mana.MAX_SLOT_COUNT + 1;
+
+    // play layout: count of the cards in bits 0-2, mana cost of the i-th card in bits 3+4i to 6+4i
+    private static final int COUNT_BITS = 3;
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+    private static final int MAX_PLAY_SIZE = 7;
+
+    private static final int[][] BINOMIALS = binomials(EMPTY_CARD + HAND_SIZE, HAND_SIZE);
+    static final int HAND_RANK_COUNT = BINOMIALS[EMPTY_CARD + HAND_SIZE][HAND_SIZE];
+    private static final int[] PLAYS = buildPlays();
+
+    private OptimalTurnTable() {
+    }
+
+    /**
+     * @param hand -- histogram of the hand, count of cards with mana cost i is in bits 4i to 4i+3, see {@link PackedGame#getHand(int)}
+     * @param manaValue -- mana value of the player
+     * @return best play of the hand, read by {@link #getCardCount(int)} and {@link #getManaCost(int, int)}
+     */
+    public static int getPlay(long hand, int manaValue) {
+        int rank = rank(hand);
+        if( rank >= 0 && manaValue >= 0 && manaValue < MANA_VALUE_COUNT ) {
+            return PLAYS[rank * MANA_VALUE_COUNT + manaValue];
+        }
+        return solve(toManaCosts(hand), manaValue);
+    }
+
+    /**
+     * @return best play of the hand of a player
+     */
+    public static int getPlay(Hand hand, int manaValue) {
+        long histogram = 0;
+        for (int manaCost = 0; manaCost <= PackedGame.MAX_MANA_COST; manaCost++) {
+            histogram |= (long) Math.min(hand.getCardCountWithManaCost(manaCost), 0xF) << (manaCost * 4);
+        }
+        return getPlay(histogram, manaValue);
+    }
+
+    public static int getCardCount(int play) {
+        return play & COUNT_MASK;
+    }
+
+    /**
+     * @param index -- index of the card in the play, cards are ordered by descending mana cost
+     * @return mana cost of the card
+     */
+    public static int getManaCost(int play, int index) {
+        return play >>> (COUNT_BITS + index * 4) & 0xF;
+    }
+
+    /**
+     * @return mana cost of the first card of the play, or {@link PackedGame#NO_CARD} when there is nothing to play
+     */
+    public static int getFirstManaCost(int play) {
+        return getCardCount(play) == 0 ? PackedGame.NO_CARD : getManaCost(play, 0);
+    }
+
+    public static int getDamage(int play) {
+        int damage = 0;
+        for (int i = 0; i < getCardCount(play); i++) {
+            damage += getManaCost(play, i);
+        }
+        return damage;
+    }
+
+    /**
+     * @return dense index of the hand, or -1 if the hand is not in the table
+     */
+    static int rank(long hand) {
+        int rank = 0;
+        int index = 0;
+        for (int manaCost = 0; hand != 0; manaCost++, hand >>>= 4) {
+            int count = (int) hand & 0xF;
+            if( count == 0 ) continue;
+            if( manaCost > MAX_TABLE_MANA_COST || index + count > HAND_SIZE ) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++, index++) {
+                rank += BINOMIALS[manaCost + index][index + 1];
+            }
+        }
+        for (; index < HAND_SIZE; index++) {
+            rank += BINOMIALS[EMPTY_CARD + index][index + 1];
+        }
+        return rank;
+    }
+
+    private static int[] buildPlays() {
+        int[] plays = new int[HAND_RANK_COUNT * MANA_VALUE_COUNT];
+        int[] manaCosts = new int[HAND_SIZE];
+        buildPlays(plays, manaCosts, 0, 0, 0L);
+        return plays;
+    }
+
+    // visits every sorted hand of up to HAND_SIZE cards
+    private static void buildPlays(int[] plays, int[] manaCosts, int count, int minManaCost, long hand) {
+        int rank = rank(hand);
+        int[] cards = Arrays.copyOf(manaCosts, count);
+        for (int manaValue = 0; manaValue < MANA_VALUE_COUNT; manaValue++) {
+            plays[rank * MANA_VALUE_COUNT + manaValue] = solve(cards, manaValue);
+        }
+
+        if( count == HAND_SIZE ) return;
+        for (int manaCost = minManaCost; manaCost <= MAX_TABLE_MANA_COST; manaCost++) {
+            manaCosts[count] = manaCost;
+            buildPlays(plays, manaCosts, count + 1, manaCost, hand + (1L << (manaCost * 4)));
+        }
+    }
+
+    /**
+     * Finds the best play by trying every subset of the cards.
+     */
+    private static int solve(int[] manaCosts, int manaValue) {
+        int cardCount = Math.min(manaCosts.length, MAX_PLAY_SIZE);
+        int bestSubset = 0;
+        int bestDamage = -1;
+        int bestSize = -1;
+        for (int subset = 0; subset < 1 << cardCount; subset++) {
+            int damage = 0;
+            for (int i = 0; i < cardCount; i++) {
+                if( (subset >>> i & 1) != 0 ) damage += manaCosts[i];
+            }
+            int size = Integer.bitCount(subset);
+            if( damage <= manaValue && (damage > bestDamage || damage == bestDamage && size > bestSize) ) {
+                bestSubset = subset;
+                bestDamage = damage;
+                bestSize = size;
+            }
+        }
+
+        int[] played = new int[bestSize];
+        int playedCount = 0;
+        for (int i = 0; i < cardCount; i++) {
+            if( (bestSubset >>> i & 1) != 0 ) played[playedCount++] = manaCosts[i];
+        }
+        Arrays.sort(played);
+
+        int play = playedCount;
+        for (int i = 0; i < playedCount; i++) {
+            play |= played[playedCount - 1 - i] << (COUNT_BITS + i * 4);
+        }
+        return play;
+    }
+
+    private static int[] toManaCosts(long hand) {
+        int[] manaCosts = new int[Long.bitCount(hand) * 15];
+        int count = 0;
+        for (int manaCost = 0; hand != 0; manaCost++, hand >>>= 4) {
+            for (int i = (int) hand & 0xF; i > 0; i--) {
+                manaCosts[count++] = manaCost;
+            }
+        }
+        return Arrays.copyOf(manaCosts, count);
+    }
+
+    private static int[][] binomials(int maxN, int maxK) {
+        int[][] binomials = new int[maxN + 1][maxK + 1];
+        for (int n = 0; n <= maxN; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, maxK); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + (k <= n - 1 ? binomials[n - 1][k] : 0);
+            }
+        }
+        return binomials;
+    }
+}
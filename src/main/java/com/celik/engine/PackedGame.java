@@ -0,0 +1,510 @@
+package com.celik.engine;
+
+import com.celik.Player;
+import com.celik.constants.GameConstants;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.model.Card;
+import com.celik.model.DrawResult;
+import com.celik.model.PlayResult;
+import com.celik.model.TurnOutcome;
+import com.celik.simulation.GameResult;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compact implementation of the rules of {@link com.celik.TradingCardGame}, played by {@link CostStrategy} instances.
+ *
+ * The whole state of a player is kept in an int and three longs:
+ * <ul>
+ *     <li>status -- health, mana slot count, full mana slot count and deck size</li>
+ *     <li>hand -- histogram of the hand, 4 bits per mana cost</li>
+ *     <li>deck -- mana costs of the deck cards in deck order, 4 bits per card, in two longs</li>
+ * </ul>
+ * Cards are identified by their mana cost only, because cards with the same cost are interchangeable.
+ * The deck order follows the array of {@link com.celik.domain.cardholder.Deck}, therefore a game that is created
+ * with the same random as a {@link com.celik.simulation.HeadlessTradingCardGame} draws the same cards.
+ * Not thread safe.
+ */
+public final class PackedGame {
+
+    public static final int NO_CARD = Hand.NO_CARD;
+    public static final int MAX_MANA_COST = 15;
+    public static final int MAX_DECK_SIZE = 32;
+
+    // status layout
+    private static final int HEALTH_MASK = 0xFFFF;
+    private static final int SLOT_SHIFT = 16;
+    private static final int FULL_SLOT_SHIFT = 20;
+    private static final int DECK_SIZE_SHIFT = 24;
+    private static final int NIBBLE_MASK = 0xF;
+    private static final int DECK_SIZE_MASK = 0x3F;
+
+    private static final int CARDS_PER_LONG = 16;
+    private static final long LOW_BITS_OF_NIBBLES = 0x1111_1111_1111_1111L;
+
+    private final int playerCount;
+    private final int[] statuses;
+    private final long[] hands;
+    private final long[] lowDecks;
+    private final long[] highDecks;
+    private final SplittableRandom[] deckRandoms;
+
+    private int activePlayerIndex;
+    private int turnCount;
+    private int playedCardCount;
+    private boolean started;
+
+    public PackedGame(int playerCount, long seed) {
+        this(playerCount, new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates a game whose players have the default deck and health.
+     * Every deck gets a split of random in player order, like the decks of {@link com.celik.TradingCardGame}.
+     * @param playerCount -- count of the players
+     * @param random -- source of randomness of this game only
+     */
+    public PackedGame(int playerCount, SplittableRandom random) {
+        this(playerCount, random, GameConstants.INITIAL_MANA_COSTS_OF_DECK, GameConstants.INITIAL_PLAYER_HEALTH);
+    }
+
+    /**
+     * @param playerCount -- count of the players
+     * @param random -- source of randomness of this game only
+     * @param manaCosts -- mana costs of the initial deck in deck order, at most {@link #MAX_DECK_SIZE} cards
+     *                  with costs up to {@link #MAX_MANA_COST}
+     * @param health -- initial health of the players
+     */
+    public PackedGame(int playerCount, SplittableRandom random, List<Integer> manaCosts, int health) {
+        if( playerCount < GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY ) {
+            throw new IllegalArgumentException(String.format("Min %d players are required to play",
+                                                                GameConstants.MINIMUM_PLAYER_COUNT_TO_PLAY));
+        }
+        if( manaCosts.size() > MAX_DECK_SIZE ) {
+            throw new IllegalArgumentException("Deck can not have more than " + MAX_DECK_SIZE + " cards");
+        }
+        if( health < 0 || health > HEALTH_MASK ) {
+            throw new IllegalArgumentException("Health should be between 0 and " + HEALTH_MASK);
+        }
+
+        long lowDeck = 0;
+        long highDeck = 0;
+        for (int i = 0; i < manaCosts.size(); i++) {
+            long manaCost = checkManaCost(manaCosts.get(i));
+            if( i < CARDS_PER_LONG ) lowDeck |= manaCost << (i * 4);
+            else highDeck |= manaCost << ((i - CARDS_PER_LONG) * 4);
+        }
+
+        this.playerCount = playerCount;
+        this.statuses = new int[playerCount];
+        this.hands = new long[playerCount];
+        this.lowDecks = new long[playerCount];
+        this.highDecks = new long[playerCount];
+        this.deckRandoms = new SplittableRandom[playerCount];
+        for (int player = 0; player < playerCount; player++) {
+            statuses[player] = health | manaCosts.size() << DECK_SIZE_SHIFT;
+            lowDecks[player] = lowDeck;
+            highDecks[player] = highDeck;
+            deckRandoms[player] = random.split();
+        }
+    }
+
+    private PackedGame(PackedGame game, SplittableRandom random) {
+        this.playerCount = game.playerCount;
+        this.statuses = game.statuses.clone();
+        this.hands = game.hands.clone();
+        this.lowDecks = game.lowDecks.clone();
+        this.highDecks = game.highDecks.clone();
+        this.deckRandoms = new SplittableRandom[playerCount];
+        for (int player = 0; player < playerCount; player++) {
+            deckRandoms[player] = random.split();
+        }
+        this.activePlayerIndex = game.activePlayerIndex;
+        this.turnCount = game.turnCount;
+        this.playedCardCount = game.playedCardCount;
+        this.started = game.started;
+    }
+
+    /**
+     * Copies the state of the game. Copy is as cheap as copying a few arrays.
+     * @param random -- source of the random draws of the copy, every deck gets a split of it
+     * @return a game with the same state whose future draws come from random
+     */
+    public PackedGame copy(SplittableRandom random) {
+        return new PackedGame(this, random);
+    }
+
+    /**
+     * Packs the state of a started game of {@link com.celik.TradingCardGame}. Turn and played card counts start from zero.
+     * @param players -- players of the game in joining order
+     * @param activePlayerIndex -- index of the active player
+     * @param random -- source of the random draws of the packed game
+     * @return a started game in the same state
+     * @throws IllegalArgumentException -- when the state does not fit, see {@link #MAX_DECK_SIZE} and {@link #MAX_MANA_COST}
+     */
+    public static PackedGame of(List<Player> players, int activePlayerIndex, SplittableRandom random) {
+        PackedGame game = new PackedGame(players.size(), random, List.of(), 0);
+        for (int player = 0; player < players.size(); player++) {
+            Player source = players.get(player);
+            int health = source.getHealth().getHealthValue();
+            if( health > HEALTH_MASK ) {
+                throw new IllegalArgumentException("Health should be between 0 and " + HEALTH_MASK);
+            }
+            if( source.getDeck().getCardCount() > MAX_DECK_SIZE ) {
+                throw new IllegalArgumentException("Deck can not have more than " + MAX_DECK_SIZE + " cards");
+            }
+
+            long hand = 0;
+            for (Card card : source.getHand().getCards()) {
+                hand += 1L << (checkManaCost(card.getManaCost()) * 4);
+            }
+            game.hands[player] = hand;
+
+            int index = 0;
+            for (Card card : source.getDeck().getCards()) {
+                game.setDeckCard(player, index++, checkManaCost(card.getManaCost()));
+            }
+
+            int status = health | index << DECK_SIZE_SHIFT;
+            status = withNibble(status, SLOT_SHIFT, source.getMana().getManaSlotCount());
+            game.statuses[player] = withNibble(status, FULL_SLOT_SHIFT, source.getMana().getManaValue());
+        }
+        game.activePlayerIndex = activePlayerIndex;
+        game.started = true;
+        return game;
+    }
+
+    private static int checkManaCost(int manaCost) {
+        if( manaCost < 0 || manaCost > MAX_MANA_COST ) {
+            throw new IllegalArgumentException("Mana cost should be between 0 and " + MAX_MANA_COST);
+        }
+        return manaCost;
+    }
+
+    /**
+     * Plays the game until it is over.
+     * @param strategies -- strategy of every player in player order
+     * @return result of the game
+     */
+    public GameResult play(List<? extends CostStrategy> strategies) {
+        start();
+        return resume(strategies);
+    }
+
+    /**
+     * Plays a started game until it is over.
+     * @param strategies -- strategy of every player in player order
+     * @return result of the game
+     */
+    public GameResult resume(List<? extends CostStrategy> strategies) {
+        if( strategies.size() != playerCount ) {
+            throw new IllegalArgumentException("Every player should have a strategy");
+        }
+        if( !started ) {
+            throw new IllegalStateException("Game was not started");
+        }
+
+        while( !isOver() ) {
+            int manaCost = NO_CARD;
+            if( isDecisionPoint() ) {
+                manaCost = strategies.get(activePlayerIndex).selectManaCost(this);
+            }
+            if( playTurn(manaCost) == TurnOutcome.END_TURN ) {
+                endTurn();
+            }
+        }
+        return getResult();
+    }
+
+    /**
+     * Draws the initial cards of the players and activates the first player.
+     */
+    public void start() {
+        if( started ) {
+            throw new IllegalStateException("Game was already started");
+        }
+        started = true;
+
+        for (int player = 0; player < playerCount; player++) {
+            for (int i = 0; i < GameConstants.INITIAL_CARD_DRAW_COUNT; i++) {
+                drawCard(player);
+            }
+        }
+        activatePlayer(activePlayerIndex);
+    }
+
+    /**
+     * Plays a card with given mana cost by the active player, the turn ends when it can not be played.
+     * @param manaCost -- mana cost of the card, or {@link #NO_CARD} to pass
+     * @return {@link TurnOutcome#END_TURN} when the card was not played
+     */
+    public TurnOutcome playTurn(int manaCost) {
+        if( isDead(activePlayerIndex) || !canPlayCard() || manaCost == NO_CARD ) {
+            return TurnOutcome.END_TURN;
+        }
+
+        PlayResult result = playCard(manaCost);
+        if( result == PlayResult.NO_SUCH_CARD ) {
+            throw new IllegalArgumentException("There is no card with mana cost " + manaCost + " in the hand");
+        }
+        return result == PlayResult.PLAYED ? TurnOutcome.CONTINUE : TurnOutcome.END_TURN;
+    }
+
+    /**
+     * Plays a card with given mana cost by the active player and damages the other players as much as the cost.
+     * @param manaCost -- mana cost of the card
+     * @return result of the play, the state is not changed unless the card was played
+     */
+    public PlayResult playCard(int manaCost) {
+        int player = activePlayerIndex;
+        if( isDead(player) ) {
+            return PlayResult.DEAD_PLAYER;
+        }
+        if( getCardCountWithManaCost(player, manaCost) == 0 ) {
+            return PlayResult.NO_SUCH_CARD;
+        }
+
+        int status = statuses[player];
+        int fullSlotCount = status >>> FULL_SLOT_SHIFT & NIBBLE_MASK;
+        if( manaCost > 0 ) {
+            if( (status >>> SLOT_SHIFT & NIBBLE_MASK) == 0 || fullSlotCount < manaCost ) {
+                return PlayResult.INSUFFICIENT_MANA;
+            }
+            statuses[player] = withNibble(status, FULL_SLOT_SHIFT, fullSlotCount - manaCost);
+        }
+
+        hands[player] -= 1L << (manaCost * 4);
+        playedCardCount++;
+
+        if( manaCost > 0 ) {
+            for (int opponent = 0; opponent < playerCount; opponent++) {
+                if( opponent != player ) takeDamage(opponent, manaCost);
+            }
+        }
+        return PlayResult.PLAYED;
+    }
+
+    /**
+     * Passes the turn to the next alive player and activates it.
+     */
+    public void endTurn() {
+        int nextTurnIndex = activePlayerIndex;
+        do {
+            nextTurnIndex = nextTurnIndex + 1;
+            if( nextTurnIndex >= playerCount ) nextTurnIndex = 0;
+        } while (!isOver() && isDead(nextTurnIndex));
+        activePlayerIndex = nextTurnIndex;
+        activatePlayer(activePlayerIndex);
+    }
+
+    private void activatePlayer(int player) {
+        turnCount++;
+
+        int status = statuses[player];
+        int slotCount = status >>> SLOT_SHIFT & NIBBLE_MASK;
+        if( slotCount < Mana.MAX_SLOT_COUNT ) {
+            slotCount++;
+        }
+        status = withNibble(status, SLOT_SHIFT, slotCount);
+        statuses[player] = withNibble(status, FULL_SLOT_SHIFT, slotCount);
+
+        drawCard(player);
+    }
+
+    /**
+     * Draws a random card of the deck to the hand. When the deck is empty, the player bleeds out.
+     * When the hand is full, the picked card stays in the deck.
+     */
+    private DrawResult drawCard(int player) {
+        int deckSize = getDeckSize(player);
+        if( deckSize == 0 ) {
+            takeDamage(player, GameConstants.EMPTY_DECK_DAMAGE);
+            return DrawResult.EMPTY_DECK;
+        }
+
+        int index = deckRandoms[player].nextInt(deckSize);
+        if( getHandCount(player) >= Hand.MAX_CARD_COUNT ) {
+            return DrawResult.OVERLOAD;
+        }
+
+        int manaCost = getDeckCard(player, index);
+        // the last card takes the place of the drawn card, like in the deck array
+        int lastIndex = deckSize - 1;
+        setDeckCard(player, index, getDeckCard(player, lastIndex));
+        setDeckCard(player, lastIndex, 0);
+        statuses[player] = statuses[player] & ~(DECK_SIZE_MASK << DECK_SIZE_SHIFT) | lastIndex << DECK_SIZE_SHIFT;
+
+        hands[player] += 1L << (manaCost * 4);
+        return DrawResult.DRAWN;
+    }
+
+    /**
+     * Replaces the hand and the deck of a player, e.g. with a sample of the hidden cards of an opponent.
+     * @param hand -- histogram of the hand, see {@link #getHand(int)}
+     * @param deckCosts -- mana costs of the deck cards in deck order
+     * @param deckSize -- count of the deck cards in deckCosts
+     */
+    void setCards(int player, long hand, int[] deckCosts, int deckSize) {
+        hands[player] = hand;
+        lowDecks[player] = 0;
+        highDecks[player] = 0;
+        for (int i = 0; i < deckSize; i++) {
+            setDeckCard(player, i, deckCosts[i]);
+        }
+        statuses[player] = statuses[player] & ~(DECK_SIZE_MASK << DECK_SIZE_SHIFT) | deckSize << DECK_SIZE_SHIFT;
+    }
+
+    private void takeDamage(int player, int damageAmount) {
+        int health = getHealth(player);
+        if( health == 0 ) return;
+        statuses[player] = statuses[player] & ~HEALTH_MASK | Math.max(0, health - damageAmount);
+    }
+
+    int getDeckCard(int player, int index) {
+        long deck = index < CARDS_PER_LONG ? lowDecks[player] : highDecks[player];
+        return (int) (deck >>> ((index % CARDS_PER_LONG) * 4)) & NIBBLE_MASK;
+    }
+
+    private void setDeckCard(int player, int index, long manaCost) {
+        int shift = (index % CARDS_PER_LONG) * 4;
+        if( index < CARDS_PER_LONG ) {
+            lowDecks[player] = lowDecks[player] & ~(0xFL << shift) | manaCost << shift;
+        } else {
+            highDecks[player] = highDecks[player] & ~(0xFL << shift) | manaCost << shift;
+        }
+    }
+
+    private static int withNibble(int status, int shift, int value) {
+        return status & ~(NIBBLE_MASK << shift) | value << shift;
+    }
+
+    // bit 4i of the result is set when there is a card with mana cost i
+    private static long presentManaCosts(long hand) {
+        return (hand | hand >>> 1 | hand >>> 2 | hand >>> 3) & LOW_BITS_OF_NIBBLES;
+    }
+
+    public boolean isOver() {
+        return getAlivePlayerCount() < 2;
+    }
+
+    public int getAlivePlayerCount() {
+        int alivePlayerCount = 0;
+        for (int player = 0; player < playerCount; player++) {
+            if( !isDead(player) ) alivePlayerCount++;
+        }
+        return alivePlayerCount;
+    }
+
+    /**
+     * @return whether the active player is alive and has to select a card to play or pass
+     */
+    public boolean isDecisionPoint() {
+        return !isOver() && !isDead(activePlayerIndex) && canPlayCard();
+    }
+
+    /**
+     * @return whether the active player has a card that is not more expensive than its mana
+     */
+    public boolean canPlayCard() {
+        int minManaCost = getMinManaCost(activePlayerIndex);
+        return minManaCost != NO_CARD && minManaCost <= getManaValue(activePlayerIndex);
+    }
+
+    /**
+     * @return lowest mana cost in the hand, or {@link #NO_CARD} when the hand is empty
+     */
+    public int getMinManaCost(int player) {
+        long present = presentManaCosts(hands[player]);
+        return present == 0 ? NO_CARD : Long.numberOfTrailingZeros(present) / 4;
+    }
+
+    /**
+     * @return highest mana cost in the hand that is not greater than manaValue, or {@link #NO_CARD}
+     */
+    public int getMaxPlayableManaCost(int player, int manaValue) {
+        return getMaxPlayableManaCost(hands[player], manaValue);
+    }
+
+    // highest mana cost of a hand histogram that is not greater than manaValue, or NO_CARD
+    static int getMaxPlayableManaCost(long hand, int manaValue) {
+        if( manaValue < 0 ) return NO_CARD;
+        long present = presentManaCosts(hand);
+        if( manaValue < MAX_MANA_COST ) {
+            present &= (1L << ((manaValue + 1) * 4)) - 1;
+        }
+        return present == 0 ? NO_CARD : (Long.SIZE - 1 - Long.numberOfLeadingZeros(present)) / 4;
+    }
+
+    public int getCardCountWithManaCost(int player, int manaCost) {
+        if( manaCost < 0 || manaCost > MAX_MANA_COST ) return 0;
+        return (int) (hands[player] >>> (manaCost * 4)) & NIBBLE_MASK;
+    }
+
+    public int getHandCount(int player) {
+        long hand = hands[player];
+        int handCount = 0;
+        for (int manaCost = 0; manaCost <= MAX_MANA_COST; manaCost++) {
+            handCount += (int) (hand >>> (manaCost * 4)) & NIBBLE_MASK;
+        }
+        return handCount;
+    }
+
+    /**
+     * @return histogram of the hand, count of cards with mana cost i is in bits 4i to 4i+3
+     */
+    public long getHand(int player) {
+        return hands[player];
+    }
+
+    public int getHealth(int player) {
+        return statuses[player] & HEALTH_MASK;
+    }
+
+    public boolean isDead(int player) {
+        return getHealth(player) == 0;
+    }
+
+    public int getManaValue(int player) {
+        return statuses[player] >>> FULL_SLOT_SHIFT & NIBBLE_MASK;
+    }
+
+    public int getManaSlotCount(int player) {
+        return statuses[player] >>> SLOT_SHIFT & NIBBLE_MASK;
+    }
+
+    public int getDeckSize(int player) {
+        return statuses[player] >>> DECK_SIZE_SHIFT & DECK_SIZE_MASK;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getActivePlayerIndex() {
+        return activePlayerIndex;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getPlayedCardCount() {
+        return playedCardCount;
+    }
+
+    /**
+     * @return result of the game, the winner is the first alive player when the game is over
+     */
+    public GameResult getResult() {
+        int winnerIndex = GameResult.NO_WINNER;
+        if( isOver() ) {
+            for (int player = 0; player < playerCount && winnerIndex == GameResult.NO_WINNER; player++) {
+                if( !isDead(player) ) winnerIndex = player;
+            }
+        }
+        int remainingHealth = winnerIndex == GameResult.NO_WINNER ? 0 : getHealth(winnerIndex);
+        return new GameResult(winnerIndex, turnCount, remainingHealth, playedCardCount);
+    }
+}
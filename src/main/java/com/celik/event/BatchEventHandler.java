@@ -0,0 +1,14 @@
+package com.celik.event;
+
+/**
+ * Consumes the events of a {@link GameEventBus} on the thread of an {@link EventProcessor}.
+ */
+public interface BatchEventHandler {
+
+    /**
+     * @param event -- slot of the event, it is overwritten after the batch, see {@link GameEvent}
+     * @param sequence -- sequence of the event in the bus, from 0
+     * @param endOfBatch -- true for the last available event, e.g. to flush a buffer of the handler
+     */
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,132 @@
+package com.celik.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumer of a {@link GameEventBus}: hands the published events to its handler in batches.
+ * Either run it on a thread of its own until {@link #halt()}, or call {@link #drain()} from a single thread,
+ * e.g. at the end of every game.
+ *
+ * A lossless consumer hands the slots of the ring to its handler. A lossy consumer is not waited for, so it copies
+ * every event from its slot and skips the events that are overwritten before or while they are copied.
+ */
+public final class EventProcessor implements Runnable {
+
+    // idle wait when the ring is empty, short enough that a batch is never waiting for long
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final GameEventBus bus;
+    private final BatchEventHandler handler;
+    private final AtomicLong sequence;
+    private final boolean lossless;
+    private volatile boolean running = true;
+
+    // copies of a lossy consumer, the last copied event is handed when it is known whether it ends the batch
+    private final GameEvent copy = new GameEvent();
+    private final GameEvent nextCopy = new GameEvent();
+    private long droppedCount;
+
+    EventProcessor(GameEventBus bus, BatchEventHandler handler, AtomicLong sequence, boolean lossless) {
+        this.bus = bus;
+        this.handler = handler;
+        this.sequence = sequence;
+        this.lossless = lossless;
+    }
+
+    /**
+     * Hands the events that are published up to now to the handler as one batch.
+     * @return count of the handled events
+     */
+    public int drain() {
+        long next = sequence.get() + 1;
+        long available = bus.getPublishedSequence();
+        if( available < next ) {
+            return 0;
+        }
+        int handledCount = lossless ? drainSlots(next, available) : drainCopies(next, available);
+        // releases the slots to the publisher
+        sequence.setRelease(available);
+        return handledCount;
+    }
+
+    private int drainSlots(long next, long available) {
+        for (long current = next; current <= available; current++) {
+            handler.onEvent(bus.getSlot(current), current, current == available);
+        }
+        return (int) (available - next + 1);
+    }
+
+    private int drainCopies(long next, long available) {
+        // the events of a ring ago are overwritten already
+        long oldest = available - bus.getCapacity() + 1;
+        if( oldest > next ) {
+            droppedCount += oldest - next;
+            next = oldest;
+        }
+
+        int handledCount = 0;
+        GameEvent pending = null;
+        long pendingSequence = -1;
+        for (long current = next; current <= available; current++) {
+            GameEvent event = pending == copy ? nextCopy : copy;
+            if( !event.copyFrom(bus.getSlot(current), current) ) {
+                droppedCount++;
+                continue;
+            }
+            if( pending != null ) {
+                handler.onEvent(pending, pendingSequence, false);
+                handledCount++;
+            }
+            pending = event;
+            pendingSequence = current;
+        }
+        if( pending != null ) {
+            handler.onEvent(pending, pendingSequence, true);
+            handledCount++;
+        }
+        return handledCount;
+    }
+
+    /**
+     * Drains the bus until {@link #halt()}, the events that are published before the halt are handled too.
+     * A processor runs once, a halted processor only drains.
+     */
+    @Override
+    public void run() {
+        while( running ) {
+            if( drain() == 0 ) {
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+        drain();
+    }
+
+    public void halt() {
+        running = false;
+    }
+
+    /**
+     * @return count of the events that a lossy consumer skipped since they were overwritten, 0 for a lossless consumer;
+     *         exact on the consumer thread, approximate on the others
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public boolean isLossless() {
+        return lossless;
+    }
+
+    /**
+     * @return sequence of the last handled or skipped event, -1 before the first
+     */
+    public long getProcessedSequence() {
+        return sequence.get();
+    }
+
+    AtomicLong getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,138 @@
+package com.celik.event;
+
+import com.celik.journal.GameEventListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Slot of the ring buffer of a {@link GameEventBus}. Slots are allocated once and overwritten by later events,
+ * so a handler should copy the values it keeps instead of the event.
+ *
+ * Values by type: card events have the card id and the mana cost, {@link GameEventType#MANA_GAINED} has the slot count
+ * and the mana value, {@link GameEventType#DAMAGE_TAKEN} has the damage amount and the health after the damage,
+ * {@link GameEventType#BLEEDING_OUT} has the damage amount, {@link GameEventType#GAME_STARTED} has the player count.
+ */
+public final class GameEvent {
+
+    private static final VarHandle SEQUENCE;
+    // sequence of a slot while the publisher writes it
+    private static final long WRITING = -2;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(GameEvent.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // sequence of the event in the slot, a lossy consumer checks it around copying the values
+    private long sequence = -1;
+    private GameEventType type;
+    private int playerId;
+    private int cardId;
+    private int value;
+    private int secondValue;
+
+    GameEvent() {
+    }
+
+    void set(GameEventType type, int playerId, int cardId, int value, int secondValue) {
+        this.type = type;
+        this.playerId = playerId;
+        this.cardId = cardId;
+        this.value = value;
+        this.secondValue = secondValue;
+    }
+
+    /**
+     * Writes the event of sequence into the slot, a reader that copies the slot meanwhile sees that it is torn.
+     */
+    void publish(long sequence, GameEventType type, int playerId, int cardId, int value, int secondValue) {
+        SEQUENCE.setOpaque(this, WRITING);
+        VarHandle.storeStoreFence();
+        set(type, playerId, cardId, value, secondValue);
+        SEQUENCE.setRelease(this, sequence);
+    }
+
+    /**
+     * Copies the event of sequence from slot.
+     * @return false when the slot holds or is being overwritten by another event, the copy is torn then
+     */
+    boolean copyFrom(GameEvent slot, long sequence) {
+        if( (long) SEQUENCE.getAcquire(slot) != sequence ) {
+            return false;
+        }
+        set(slot.type, slot.playerId, slot.cardId, slot.value, slot.secondValue);
+        VarHandle.loadLoadFence();
+        return (long) SEQUENCE.getOpaque(slot) == sequence;
+    }
+
+    /**
+     * Reports the event to listener by the method of its type, e.g. to journal the events of a bus.
+     */
+    public void dispatchTo(GameEventListener listener) {
+        switch (type) {
+            case GAME_STARTED:
+                listener.onGameStarted(value);
+                break;
+            case TURN_STARTED:
+                listener.onTurnStarted(playerId);
+                break;
+            case MANA_GAINED:
+                listener.onManaGained(playerId, value, secondValue);
+                break;
+            case CARD_DRAWN:
+                listener.onCardDrawn(playerId, cardId, value);
+                break;
+            case OVERLOAD:
+                listener.onOverload(playerId, cardId, value);
+                break;
+            case BLEEDING_OUT:
+                listener.onBleedingOut(playerId, value);
+                break;
+            case CARD_PLAYED:
+                listener.onCardPlayed(playerId, cardId, value);
+                break;
+            case DAMAGE_TAKEN:
+                listener.onDamageTaken(playerId, value, secondValue);
+                break;
+            case PLAYER_DIED:
+                listener.onPlayerDied(playerId);
+                break;
+            default:
+        }
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public int getCardId() {
+        return cardId;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getSecondValue() {
+        return secondValue;
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" +
+                "type=" + type +
+                ", playerId=" + playerId +
+                ", cardId=" + cardId +
+                ", value=" + value +
+                ", secondValue=" + secondValue +
+                '}';
+    }
+}
@@ -0,0 +1,246 @@
+package com.celik.event;
+
+import com.celik.journal.GameEventListener;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event bus of a game: a {@link GameEventListener} that reports every event to synchronous handlers and publishes
+ * it to a ring buffer of preallocated {@link GameEvent} slots for asynchronous consumers, see
+ * {@link #subscribe(BatchEventHandler)}. Set it as the event listener of a game or a simulator.
+ *
+ * Handlers run on the game thread before the event is published, e.g. rules that should see the event before the
+ * next action. Consumers run on their own threads and take the events in batches. Publishing writes a slot and
+ * a sequence and does not allocate. A consumer is either
+ * <ul>
+ *     <li>lossy, {@link #subscribe(BatchEventHandler)}: it never slows the game down. When it falls a whole ring
+ *     behind, the publisher overwrites the events it has not taken; it skips them and counts them,
+ *     see {@link EventProcessor#getDroppedCount()}. The other consumers still get every event. E.g. analytics.</li>
+ *     <li>lossless, {@link #subscribeLossless(BatchEventHandler)}: it gets every event. When it is a whole ring
+ *     behind, the publisher waits for it, so a slow lossless consumer slows the game down. E.g. an
+ *     {@link com.celik.journal.EventJournal}, whose replay needs every event. Run it on a thread of its own, or drain
+ *     it before the ring is full; unsubscribe it when it stops.</li>
+ * </ul>
+ *
+ * A bus has a single publisher; the games of a bus should be played on one thread.
+ */
+public final class GameEventBus implements GameEventListener {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final GameEventListener[] NO_HANDLERS = new GameEventListener[0];
+    private static final AtomicLong[] NO_SEQUENCES = new AtomicLong[0];
+    // wait of the publisher for a lossless consumer that is a whole ring behind
+    private static final long WAIT_NANOS = 1_000;
+
+    private final GameEvent[] slots;
+    private final int mask;
+    // sequence of the last published event
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    private volatile GameEventListener[] handlers = NO_HANDLERS;
+    // sequences of the last events that the lossless consumers processed
+    private volatile AtomicLong[] gatingSequences = NO_SEQUENCES;
+
+    // state of the publisher thread
+    private long nextSequence;
+    private long cachedGatingSequence = -1;
+
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity -- count of the slots of the ring, the count of events a consumer can fall behind
+     * @throws IllegalArgumentException -- when capacity is not a power of two
+     */
+    public GameEventBus(int capacity) {
+        if( capacity <= 0 || Integer.bitCount(capacity) != 1 ) {
+            throw new IllegalArgumentException("capacity should be a power of two");
+        }
+        slots = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * @param handler -- receives every event on the game thread, in the order of registration
+     */
+    public synchronized void addHandler(GameEventListener handler) {
+        GameEventListener[] current = handlers;
+        GameEventListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = handler;
+        handlers = updated;
+    }
+
+    public synchronized void removeHandler(GameEventListener handler) {
+        handlers = Arrays.stream(handlers).filter(current -> current != handler).toArray(GameEventListener[]::new);
+    }
+
+    /**
+     * Subscribes a lossy consumer from the next published event, it skips the events that are overwritten before
+     * it takes them.
+     * @return processor of the consumer, run it on a thread or drain it, see {@link EventProcessor}
+     */
+    public synchronized EventProcessor subscribe(BatchEventHandler handler) {
+        return new EventProcessor(this, handler, new AtomicLong(cursor.get()), false);
+    }
+
+    /**
+     * Subscribes a lossy listener as a consumer.
+     * @see #subscribe(BatchEventHandler)
+     */
+    public EventProcessor subscribe(GameEventListener listener) {
+        return subscribe((event, sequence, endOfBatch) -> event.dispatchTo(listener));
+    }
+
+    /**
+     * Subscribes a lossless consumer from the next published event, the publisher waits for it when it is a whole
+     * ring behind. Subscribe before the games start, a consumer that subscribes while events are published may see
+     * the first of them overwritten.
+     * @return processor of the consumer, run it on a thread or drain it, see {@link EventProcessor}
+     */
+    public synchronized EventProcessor subscribeLossless(BatchEventHandler handler) {
+        AtomicLong sequence = new AtomicLong(cursor.get());
+        AtomicLong[] current = gatingSequences;
+        AtomicLong[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = sequence;
+        gatingSequences = updated;
+        return new EventProcessor(this, handler, sequence, true);
+    }
+
+    /**
+     * Subscribes a lossless listener as a consumer, e.g. to write a journal on another thread than the game.
+     * @see #subscribeLossless(BatchEventHandler)
+     */
+    public EventProcessor subscribeLossless(GameEventListener listener) {
+        return subscribeLossless((event, sequence, endOfBatch) -> event.dispatchTo(listener));
+    }
+
+    /**
+     * Removes the consumer of processor, so a lossless consumer does not hold the ring anymore.
+     */
+    public synchronized void unsubscribe(EventProcessor processor) {
+        AtomicLong sequence = processor.getSequence();
+        gatingSequences = Arrays.stream(gatingSequences).filter(current -> current != sequence).toArray(AtomicLong[]::new);
+    }
+
+    @Override
+    public void onGameStarted(int playerCount) {
+        for (GameEventListener handler : handlers) {
+            handler.onGameStarted(playerCount);
+        }
+        publish(GameEventType.GAME_STARTED, 0, 0, playerCount, 0);
+    }
+
+    @Override
+    public void onTurnStarted(int playerId) {
+        for (GameEventListener handler : handlers) {
+            handler.onTurnStarted(playerId);
+        }
+        publish(GameEventType.TURN_STARTED, playerId, 0, 0, 0);
+    }
+
+    @Override
+    public void onManaGained(int playerId, int slotCount, int manaValue) {
+        for (GameEventListener handler : handlers) {
+            handler.onManaGained(playerId, slotCount, manaValue);
+        }
+        publish(GameEventType.MANA_GAINED, playerId, 0, slotCount, manaValue);
+    }
+
+    @Override
+    public void onCardDrawn(int playerId, int cardId, int manaCost) {
+        for (GameEventListener handler : handlers) {
+            handler.onCardDrawn(playerId, cardId, manaCost);
+        }
+        publish(GameEventType.CARD_DRAWN, playerId, cardId, manaCost, 0);
+    }
+
+    @Override
+    public void onOverload(int playerId, int cardId, int manaCost) {
+        for (GameEventListener handler : handlers) {
+            handler.onOverload(playerId, cardId, manaCost);
+        }
+        publish(GameEventType.OVERLOAD, playerId, cardId, manaCost, 0);
+    }
+
+    @Override
+    public void onBleedingOut(int playerId, int damageAmount) {
+        for (GameEventListener handler : handlers) {
+            handler.onBleedingOut(playerId, damageAmount);
+        }
+        publish(GameEventType.BLEEDING_OUT, playerId, 0, damageAmount, 0);
+    }
+
+    @Override
+    public void onCardPlayed(int playerId, int cardId, int manaCost) {
+        for (GameEventListener handler : handlers) {
+            handler.onCardPlayed(playerId, cardId, manaCost);
+        }
+        publish(GameEventType.CARD_PLAYED, playerId, cardId, manaCost, 0);
+    }
+
+    @Override
+    public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+        for (GameEventListener handler : handlers) {
+            handler.onDamageTaken(playerId, damageAmount, healthValue);
+        }
+        publish(GameEventType.DAMAGE_TAKEN, playerId, 0, damageAmount, healthValue);
+    }
+
+    @Override
+    public void onPlayerDied(int playerId) {
+        for (GameEventListener handler : handlers) {
+            handler.onPlayerDied(playerId);
+        }
+        publish(GameEventType.PLAYER_DIED, playerId, 0, 0, 0);
+    }
+
+    /**
+     * @return sequence of the last published event, -1 before the first
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    long getPublishedSequence() {
+        return cursor.getAcquire();
+    }
+
+    GameEvent getSlot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    private void publish(GameEventType type, int playerId, int cardId, int value, int secondValue) {
+        long sequence = nextSequence;
+        // the slot held the event of a ring ago, every lossless consumer should have processed it
+        long wrapPoint = sequence - slots.length;
+        if( wrapPoint > cachedGatingSequence ) {
+            cachedGatingSequence = getMinimumGatingSequence(sequence - 1);
+            while( wrapPoint > cachedGatingSequence ) {
+                LockSupport.parkNanos(WAIT_NANOS);
+                cachedGatingSequence = getMinimumGatingSequence(sequence - 1);
+            }
+        }
+
+        slots[(int) sequence & mask].publish(sequence, type, playerId, cardId, value, secondValue);
+        nextSequence = sequence + 1;
+        cursor.setRelease(sequence);
+    }
+
+    private long getMinimumGatingSequence(long minimum) {
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+}
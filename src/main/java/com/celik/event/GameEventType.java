@@ -0,0 +1,16 @@
+package com.celik.event;
+
+/**
+ * Type of a {@link GameEvent}, one for every method of {@link com.celik.journal.GameEventListener}.
+ */
+public enum GameEventType {
+    GAME_STARTED,
+    TURN_STARTED,
+    MANA_GAINED,
+    CARD_DRAWN,
+    OVERLOAD,
+    BLEEDING_OUT,
+    CARD_PLAYED,
+    DAMAGE_TAKEN,
+    PLAYER_DIED
+}
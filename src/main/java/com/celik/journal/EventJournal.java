@@ -0,0 +1,279 @@
+package com.celik.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only binary journal of game events in memory mapped segment files of a directory.
+ *
+ * An event is a byte of its type and the zigzag delta of its player id from the player id of the previous event,
+ * followed by its values as varints; card ids are deltas from the previous card id too. An event takes 2-4 bytes
+ * in a typical game. When a segment can not hold another event it is closed by a zero byte and the next segment
+ * is mapped; deltas start over in every segment, so segments are read independently, see {@link EventJournalReader}.
+ *
+ * Events are encoded into an array on the heap, which is copied into the mapped segment once per game: when the next
+ * game starts, when the array is full, by {@link #flush()} and by {@link #close()}. So writing an event is a few
+ * array stores behind a single bounds check, and a reader sees the events of a game after it is copied.
+ * The operating system writes the pages of a segment to the file, {@link #flush()} forces them to the storage.
+ * A journal has a single writer, it is not thread safe; give every thread its own journal directory.
+ */
+public final class EventJournal implements GameEventListener, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 << 20;
+    static final String SEGMENT_PREFIX = "events-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    static final int MAGIC = 0x4A474354;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    // type in the low 4 bits of the first byte, zigzag player delta in the high 4 bits or PLAYER_DELTA_ESCAPE
+    static final int TYPE_MASK = 0xF;
+    static final int PLAYER_DELTA_SHIFT = 4;
+    static final int PLAYER_DELTA_ESCAPE = 0xF;
+    static final int END_OF_SEGMENT = 0;
+
+    static final int GAME_STARTED = 1;
+    static final int TURN_STARTED = 2;
+    static final int MANA_GAINED = 3;
+    static final int CARD_DRAWN = 4;
+    static final int OVERLOAD = 5;
+    static final int BLEEDING_OUT = 6;
+    static final int CARD_PLAYED = 7;
+    static final int DAMAGE_TAKEN = 8;
+    static final int PLAYER_DIED = 9;
+
+    // first byte, player delta and three values
+    private static final int MAX_EVENT_SIZE = 1 + 4 * 5;
+    // holds a typical game
+    private static final int BUFFER_SIZE = 8 << 10;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    // next byte of the buffer
+    private int position;
+    // an event is put only when position is not beyond it, so it fits both the buffer and the segment;
+    // -1 when the journal is closed
+    private int eventLimit = -1;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int lastPlayerId;
+    private int lastCardId;
+    private long eventCount;
+
+    private EventJournal(Path directory, int segmentSize, int segmentIndex) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segmentIndex = segmentIndex;
+    }
+
+    /**
+     * @see #open(Path, int)
+     */
+    public static EventJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the journal of the directory, events are appended in a new segment after the existing segments.
+     * @param segmentSize -- size of a segment file in bytes
+     * @throws IllegalArgumentException -- when segmentSize is too small for an event
+     */
+    public static EventJournal open(Path directory, int segmentSize) throws IOException {
+        if( segmentSize < HEADER_SIZE + MAX_EVENT_SIZE + 1 ) {
+            throw new IllegalArgumentException("segmentSize is too small");
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = EventJournalReader.getSegments(directory);
+        int segmentIndex = segments.isEmpty() ? 0 : EventJournalReader.getSegmentIndex(segments.get(segments.size() - 1)) + 1;
+        EventJournal journal = new EventJournal(directory, segmentSize, segmentIndex);
+        journal.mapSegment();
+        return journal;
+    }
+
+    @Override
+    public void onGameStarted(int playerCount) {
+        // the previous game is copied to the segment
+        if( position > 0 ) {
+            makeRoom();
+        }
+        putEvent(GAME_STARTED, lastPlayerId);
+        putVarInt(playerCount);
+    }
+
+    @Override
+    public void onTurnStarted(int playerId) {
+        putEvent(TURN_STARTED, playerId);
+    }
+
+    @Override
+    public void onManaGained(int playerId, int slotCount, int manaValue) {
+        putEvent(MANA_GAINED, playerId);
+        putVarInt(slotCount);
+        putVarInt(manaValue);
+    }
+
+    @Override
+    public void onCardDrawn(int playerId, int cardId, int manaCost) {
+        putCardEvent(CARD_DRAWN, playerId, cardId, manaCost);
+    }
+
+    @Override
+    public void onOverload(int playerId, int cardId, int manaCost) {
+        putCardEvent(OVERLOAD, playerId, cardId, manaCost);
+    }
+
+    @Override
+    public void onBleedingOut(int playerId, int damageAmount) {
+        putEvent(BLEEDING_OUT, playerId);
+        putVarInt(damageAmount);
+    }
+
+    @Override
+    public void onCardPlayed(int playerId, int cardId, int manaCost) {
+        putCardEvent(CARD_PLAYED, playerId, cardId, manaCost);
+    }
+
+    @Override
+    public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+        putEvent(DAMAGE_TAKEN, playerId);
+        putVarInt(damageAmount);
+        putVarInt(healthValue);
+    }
+
+    @Override
+    public void onPlayerDied(int playerId) {
+        putEvent(PLAYER_DIED, playerId);
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Copies the events to the segment and forces them to the storage.
+     */
+    public void flush() {
+        if( channel == null ) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        makeRoom();
+        segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if( channel == null ) return;
+        closeSegment();
+        segment.force();
+        channel.close();
+        channel = null;
+        eventLimit = -1;
+    }
+
+    private void putCardEvent(int type, int playerId, int cardId, int manaCost) {
+        putEvent(type, playerId);
+        putVarInt(zigzag(cardId - lastCardId));
+        putVarInt(manaCost);
+        lastCardId = cardId;
+    }
+
+    private void putEvent(int type, int playerId) {
+        if( position > eventLimit ) {
+            makeRoom();
+        }
+
+        int playerDelta = zigzag(playerId - lastPlayerId);
+        if( playerDelta < PLAYER_DELTA_ESCAPE ) {
+            buffer[position++] = (byte) (playerDelta << PLAYER_DELTA_SHIFT | type);
+        } else {
+            buffer[position++] = (byte) (PLAYER_DELTA_ESCAPE << PLAYER_DELTA_SHIFT | type);
+            putVarInt(playerDelta);
+        }
+        lastPlayerId = playerId;
+        eventCount++;
+    }
+
+    private void putVarInt(int value) {
+        while( (value & ~0x7F) != 0 ) {
+            buffer[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    // copies the buffer to the segment, and rolls the segment when it can not hold another event
+    private void makeRoom() {
+        if( channel == null ) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        copyBuffer();
+        // keeps a byte for the end of the segment
+        if( segmentSize - segment.position() <= MAX_EVENT_SIZE ) {
+            rollSegment();
+        }
+        eventLimit = Math.min(buffer.length, segmentSize - segment.position() - 1) - MAX_EVENT_SIZE;
+    }
+
+    // the events of the buffer fit the segment, see eventLimit
+    private void copyBuffer() {
+        segment.put(buffer, 0, position);
+        position = 0;
+    }
+
+    private void closeSegment() {
+        copyBuffer();
+        segment.put((byte) END_OF_SEGMENT);
+    }
+
+    // a full segment is not forced, the operating system writes its pages in the background
+    private void rollSegment() {
+        try {
+            closeSegment();
+            channel.close();
+            segmentIndex++;
+            mapSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal segment can not be rolled in " + directory, e);
+        }
+    }
+
+    private void mapSegment() throws IOException {
+        Path path = directory.resolve(getSegmentName(segmentIndex));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(segmentIndex).putInt(segmentSize);
+        lastPlayerId = 0;
+        lastCardId = 0;
+        eventLimit = Math.min(buffer.length, segmentSize - HEADER_SIZE - 1) - MAX_EVENT_SIZE;
+    }
+
+    static String getSegmentName(int segmentIndex) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX);
+    }
+
+    static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+}
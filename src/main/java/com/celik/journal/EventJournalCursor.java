@@ -0,0 +1,190 @@
+package com.celik.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Reads the events of an {@link EventJournal} one by one, from the first event or from a {@link JournalPosition}.
+ * Segments are memory mapped, so reading is decoding the bytes of the page cache; a journal that is still written
+ * is read up to the last event that was written when its segment was mapped. Not thread safe.
+ */
+public final class EventJournalCursor {
+
+    private final List<Path> segments;
+    private int segmentListIndex;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int playerId;
+    private int cardId;
+
+    private EventJournalCursor(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    // cursor at the first event of the segments
+    static EventJournalCursor of(List<Path> segments) throws IOException {
+        EventJournalCursor cursor = new EventJournalCursor(segments);
+        if( !segments.isEmpty() ) {
+            cursor.mapSegment(0);
+        }
+        return cursor;
+    }
+
+    /**
+     * @return a cursor at the first event of the journal of the directory
+     * @throws IOException -- when a segment can not be read or is not a segment of this format version
+     */
+    public static EventJournalCursor open(Path directory) throws IOException {
+        return of(EventJournalReader.getSegments(directory));
+    }
+
+    /**
+     * @param position -- position that was taken by {@link #getPosition()} of a cursor of the same journal
+     * @return a cursor at the event of the position
+     * @throws IOException -- when the segment of the position does not exist or can not be read
+     */
+    public static EventJournalCursor open(Path directory, JournalPosition position) throws IOException {
+        EventJournalCursor cursor = new EventJournalCursor(EventJournalReader.getSegments(directory));
+        cursor.seek(position);
+        return cursor;
+    }
+
+    /**
+     * Moves the cursor to the event of the position, the segment is mapped again only when it is another segment.
+     * @param position -- position that was taken by {@link #getPosition()} of a cursor of the same journal
+     * @throws IOException -- when the segment of the position was not in the journal when the cursor was opened
+     */
+    public void seek(JournalPosition position) throws IOException {
+        if( segment == null || segmentIndex != position.getSegmentIndex() ) {
+            mapSegment(findSegment(position.getSegmentIndex()));
+        }
+        segment.position(position.getOffset());
+        playerId = position.getPlayerId();
+        cardId = position.getCardId();
+    }
+
+    /**
+     * Reports the next event to listener.
+     * @return false when there is no event left
+     * @throws IOException -- when a segment can not be read or holds an unknown event
+     */
+    public boolean next(GameEventListener listener) throws IOException {
+        if( segment == null ) return false;
+        while( !hasEvent() ) {
+            if( segmentListIndex + 1 >= segments.size() ) {
+                return false;
+            }
+            mapSegment(segmentListIndex + 1);
+        }
+        readEvent(listener);
+        return true;
+    }
+
+    /**
+     * @return position of the next event
+     * @throws IllegalStateException -- when the journal has no segment
+     */
+    public JournalPosition getPosition() {
+        if( segment == null ) {
+            throw new IllegalStateException("Journal has no segment");
+        }
+        return new JournalPosition(segmentIndex, segment.position(), playerId, cardId);
+    }
+
+    private int findSegment(int index) throws IOException {
+        for (int i = 0; i < segments.size(); i++) {
+            if( EventJournalReader.getSegmentIndex(segments.get(i)) == index ) {
+                return i;
+            }
+        }
+        throw new IOException("Journal segment " + index + " does not exist");
+    }
+
+    // the end of a segment is not consumed, so the position stays at it until the next segment has an event
+    private boolean hasEvent() {
+        return segment.hasRemaining()
+                && (segment.get(segment.position()) & EventJournal.TYPE_MASK) != EventJournal.END_OF_SEGMENT;
+    }
+
+    private void readEvent(GameEventListener listener) throws IOException {
+        int first = segment.get() & 0xFF;
+        int type = first & EventJournal.TYPE_MASK;
+        int playerDelta = first >>> EventJournal.PLAYER_DELTA_SHIFT;
+        if( playerDelta == EventJournal.PLAYER_DELTA_ESCAPE ) {
+            playerDelta = getVarInt();
+        }
+        playerId += EventJournal.unzigzag(playerDelta);
+
+        switch (type) {
+            case EventJournal.GAME_STARTED:
+                listener.onGameStarted(getVarInt());
+                break;
+            case EventJournal.TURN_STARTED:
+                listener.onTurnStarted(playerId);
+                break;
+            case EventJournal.MANA_GAINED:
+                listener.onManaGained(playerId, getVarInt(), getVarInt());
+                break;
+            case EventJournal.CARD_DRAWN:
+                cardId += EventJournal.unzigzag(getVarInt());
+                listener.onCardDrawn(playerId, cardId, getVarInt());
+                break;
+            case EventJournal.OVERLOAD:
+                cardId += EventJournal.unzigzag(getVarInt());
+                listener.onOverload(playerId, cardId, getVarInt());
+                break;
+            case EventJournal.BLEEDING_OUT:
+                listener.onBleedingOut(playerId, getVarInt());
+                break;
+            case EventJournal.CARD_PLAYED:
+                cardId += EventJournal.unzigzag(getVarInt());
+                listener.onCardPlayed(playerId, cardId, getVarInt());
+                break;
+            case EventJournal.DAMAGE_TAKEN:
+                listener.onDamageTaken(playerId, getVarInt(), getVarInt());
+                break;
+            case EventJournal.PLAYER_DIED:
+                listener.onPlayerDied(playerId);
+                break;
+            default:
+                throw new IOException(String.format("Unknown event type %d in %s", type, segments.get(segmentListIndex)));
+        }
+    }
+
+    private void mapSegment(int listIndex) throws IOException {
+        Path path = segments.get(listIndex);
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if( mapped.limit() < EventJournal.HEADER_SIZE || mapped.getInt() != EventJournal.MAGIC
+                || mapped.getInt() != EventJournal.FORMAT_VERSION ) {
+            throw new IOException(path + " is not a journal segment of format version " + EventJournal.FORMAT_VERSION);
+        }
+        mapped.position(EventJournal.HEADER_SIZE);
+
+        segment = mapped;
+        segmentListIndex = listIndex;
+        segmentIndex = EventJournalReader.getSegmentIndex(path);
+        // deltas start over in every segment
+        playerId = 0;
+        cardId = 0;
+    }
+
+    private int getVarInt() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = segment.get();
+            value |= (b & 0x7F) << shift;
+            if( b >= 0 ) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.celik.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the segments of an {@link EventJournal} in order and reports their events to a listener,
+ * e.g. to find out what happened in a game instead of searching the logs.
+ */
+public final class EventJournalReader {
+
+    private EventJournalReader() {
+    }
+
+    /**
+     * @param listener -- receives the events in the order they were written
+     * @return count of the events
+     * @throws IOException -- when a segment can not be read or is not a segment of this format version
+     */
+    public static long read(Path directory, GameEventListener listener) throws IOException {
+        return read(EventJournalCursor.of(getSegments(directory)), listener);
+    }
+
+    /**
+     * Reads a single segment, e.g. to split the replay of a large journal among threads: deltas start over in every
+     * segment, so a segment is read without the segments before it.
+     * @param listener -- receives the events of the segment in the order they were written
+     * @return count of the events
+     * @throws IOException -- when the segment can not be read or is not a segment of this format version
+     */
+    public static long readSegment(Path segment, GameEventListener listener) throws IOException {
+        return read(EventJournalCursor.of(List.of(segment)), listener);
+    }
+
+    private static long read(EventJournalCursor cursor, GameEventListener listener) throws IOException {
+        long eventCount = 0;
+        while( cursor.next(listener) ) {
+            eventCount++;
+        }
+        return eventCount;
+    }
+
+    /**
+     * @return segment files of the directory, in the order they were written
+     */
+    static List<Path> getSegments(Path directory) throws IOException {
+        if( !Files.isDirectory(directory) ) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // names have fixed width indexes, so they sort by index
+            return files.filter(path -> isSegmentName(path.getFileName().toString()))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    static int getSegmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(EventJournal.SEGMENT_PREFIX.length(),
+                                               name.length() - EventJournal.SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegmentName(String name) {
+        return name.startsWith(EventJournal.SEGMENT_PREFIX) && name.endsWith(EventJournal.SEGMENT_SUFFIX);
+    }
+}
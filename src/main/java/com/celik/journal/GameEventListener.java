@@ -0,0 +1,51 @@
+package com.celik.journal;
+
+/**
+ * Receives every action of a game, e.g. to journal it. Events are reported with ids and values only,
+ * so a listener does not keep the game objects alive and reporting an event does not allocate.
+ * Players and cards are identified by their ids, which are scoped to the game.
+ */
+public interface GameEventListener {
+
+    /**
+     * Listener that ignores all events, the default listener of a game.
+     */
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    default void onGameStarted(int playerCount) {
+    }
+
+    default void onTurnStarted(int playerId) {
+    }
+
+    default void onManaGained(int playerId, int slotCount, int manaValue) {
+    }
+
+    default void onCardDrawn(int playerId, int cardId, int manaCost) {
+    }
+
+    /**
+     * The hand was full, the picked card stays in the deck.
+     */
+    default void onOverload(int playerId, int cardId, int manaCost) {
+    }
+
+    /**
+     * The deck was empty, the player takes the damage right after.
+     */
+    default void onBleedingOut(int playerId, int damageAmount) {
+    }
+
+    default void onCardPlayed(int playerId, int cardId, int manaCost) {
+    }
+
+    /**
+     * @param healthValue -- health of the player after the damage
+     */
+    default void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+    }
+
+    default void onPlayerDied(int playerId) {
+    }
+}
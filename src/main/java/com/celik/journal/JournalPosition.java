@@ -0,0 +1,44 @@
+package com.celik.journal;
+
+/**
+ * Position of an event in an {@link EventJournal}: the segment, the offset in it and the ids that the deltas of
+ * the event are relative to, so reading can start right at the event, see {@link EventJournalCursor#open(java.nio.file.Path, JournalPosition)}.
+ */
+public final class JournalPosition {
+
+    private final int segmentIndex;
+    private final int offset;
+    private final int playerId;
+    private final int cardId;
+
+    JournalPosition(int segmentIndex, int offset, int playerId, int cardId) {
+        this.segmentIndex = segmentIndex;
+        this.offset = offset;
+        this.playerId = playerId;
+        this.cardId = cardId;
+    }
+
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    int getPlayerId() {
+        return playerId;
+    }
+
+    int getCardId() {
+        return cardId;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalPosition{" +
+                "segmentIndex=" + segmentIndex +
+                ", offset=" + offset +
+                '}';
+    }
+}
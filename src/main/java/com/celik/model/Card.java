@@ -12,8 +12,21 @@ public class Card extends Damage implements Comparable<Card> {
     private final int manaCost;
 
     public Card(int manaCost) {
+        this(sequence.incrementAndGet(), manaCost);
+    }
+
+    /**
+     * Creates a card with an id that is allocated by the caller, e.g. from the id space of a game.
+     * @param id -- id of the card, should be unique in the game
+     * @param manaCost -- mana cost and damage amount of the card
+     * @throws IllegalArgumentException -- when manaCost is negative
+     */
+    public Card(int id, int manaCost) {
         super(manaCost);
-        this.id = sequence.incrementAndGet();
+        if( manaCost < 0 ) {
+            throw new IllegalArgumentException("manaCost should not be negative");
+        }
+        this.id = id;
         this.manaCost = manaCost;
     }
 
@@ -0,0 +1,11 @@
+package com.celik.model;
+
+/**
+ * Result of drawing a card from the deck to the hand.
+ */
+public enum DrawResult {
+    DRAWN,
+    // hand is full, the picked card stays in the deck
+    OVERLOAD,
+    EMPTY_DECK
+}
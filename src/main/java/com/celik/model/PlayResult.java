@@ -0,0 +1,11 @@
+package com.celik.model;
+
+/**
+ * Result of playing a card from the hand.
+ */
+public enum PlayResult {
+    PLAYED,
+    DEAD_PLAYER,
+    NO_SUCH_CARD,
+    INSUFFICIENT_MANA
+}
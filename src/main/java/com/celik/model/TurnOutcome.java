@@ -0,0 +1,11 @@
+package com.celik.model;
+
+/**
+ * Outcome of a round of the active player.
+ */
+public enum TurnOutcome {
+    // active player keeps playing
+    CONTINUE,
+    // turn passes to the next alive player
+    END_TURN
+}
@@ -0,0 +1,31 @@
+package com.celik.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records every input of the wrapped provider, so that a game can be replayed
+ * with its seed and the recorded commands by a {@link ReplayInputProvider}.
+ */
+public class RecordingInputProvider implements InputProvider {
+
+    private final InputProvider inputProvider;
+    private final List<String> commands;
+
+    public RecordingInputProvider(InputProvider inputProvider) {
+        this.inputProvider = inputProvider;
+        this.commands = new ArrayList<>();
+    }
+
+    @Override
+    public String getInput() {
+        String command = inputProvider.getInput();
+        commands.add(command);
+        return command;
+    }
+
+    public List<String> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+}
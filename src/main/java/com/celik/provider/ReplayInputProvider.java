@@ -0,0 +1,33 @@
+package com.celik.provider;
+
+import java.util.List;
+
+/**
+ * Provides previously recorded commands in order.
+ * @see RecordingInputProvider
+ */
+public class ReplayInputProvider implements InputProvider {
+
+    private final List<String> commands;
+    private int nextCommandIndex;
+
+    public ReplayInputProvider(List<String> commands) {
+        this.commands = List.copyOf(commands);
+    }
+
+    /**
+     * @return next recorded command
+     * @throws IllegalStateException -- when all recorded commands were replayed
+     */
+    @Override
+    public String getInput() {
+        if( !hasNext() ) {
+            throw new IllegalStateException("There is no recorded command to replay");
+        }
+        return commands.get(nextCommandIndex++);
+    }
+
+    public boolean hasNext() {
+        return nextCommandIndex < commands.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.celik.simulation;
+
+/**
+ * Compact, immutable summary of a finished game.
+ */
+public final class GameResult {
+
+    public static final int NO_WINNER = -1;
+
+    private final int winnerIndex;
+    private final int turnCount;
+    private final int remainingHealth;
+    private final int playedCardCount;
+
+    public GameResult(int winnerIndex, int turnCount, int remainingHealth, int playedCardCount) {
+        this.winnerIndex = winnerIndex;
+        this.turnCount = turnCount;
+        this.remainingHealth = remainingHealth;
+        this.playedCardCount = playedCardCount;
+    }
+
+    /**
+     * @return index of the winner in joining order, or {@link #NO_WINNER}
+     */
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public boolean hasWinner() {
+        return winnerIndex != NO_WINNER;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * @return remaining health of the winner
+     */
+    public int getRemainingHealth() {
+        return remainingHealth;
+    }
+
+    public int getPlayedCardCount() {
+        return playedCardCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameResult that = (GameResult) o;
+        return winnerIndex == that.winnerIndex &&
+                turnCount == that.turnCount &&
+                remainingHealth == that.remainingHealth &&
+                playedCardCount == that.playedCardCount;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = winnerIndex;
+        result = 31 * result + turnCount;
+        result = 31 * result + remainingHealth;
+        result = 31 * result + playedCardCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Winner: %d -- Turns: %d -- Remaining Health: %d -- Played Cards: %d",
+                winnerIndex, turnCount, remainingHealth, playedCardCount);
+    }
+}
@@ -0,0 +1,104 @@
+package com.celik.simulation;
+
+import com.celik.exception.TradingCardException;
+import com.celik.journal.GameEventListener;
+import com.celik.strategy.PlayerStrategy;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays headless games between automated players, e.g. for balance analysis.
+ */
+public class GameSimulator {
+
+    private final List<PlayerStrategy> strategies;
+    private GameEventListener eventListener = GameEventListener.NONE;
+    private boolean largeLobby;
+
+    /**
+     * @param strategies -- strategy of every player in joining order
+     */
+    public GameSimulator(List<PlayerStrategy> strategies) {
+        if( strategies.size() < 2 ) {
+            throw new IllegalArgumentException("At least two strategies are required to simulate a game");
+        }
+        this.strategies = List.copyOf(strategies);
+    }
+
+    /**
+     * Plays a single game until it is over.
+     * @return result of the game
+     * @throws TradingCardException -- when a strategy selects a card that is not in the hand
+     */
+    public GameResult playGame() throws TradingCardException {
+        return playGame(new SplittableRandom());
+    }
+
+    /**
+     * Plays a reproducible game. Deterministic strategies give the same result for the same seed.
+     * @param seed -- seed of the game
+     * @return result of the game
+     * @throws TradingCardException -- when a strategy selects a card that is not in the hand
+     */
+    public GameResult playGame(long seed) throws TradingCardException {
+        return playGame(new SplittableRandom(seed));
+    }
+
+    /**
+     * Plays a single game whose decks are shuffled by given random.
+     * @param random -- source of randomness of the game
+     * @return result of the game
+     * @throws TradingCardException -- when a strategy selects a card that is not in the hand
+     */
+    public GameResult playGame(SplittableRandom random) throws TradingCardException {
+        HeadlessTradingCardGame game = new HeadlessTradingCardGame(random);
+        game.setEventListener(eventListener);
+        if( largeLobby ) {
+            game.useLargeLobby();
+        }
+        for (int i = 0; i < strategies.size(); i++) {
+            game.addPlayer("Player " + i, strategies.get(i));
+        }
+
+        game.play();
+        return game.getResult();
+    }
+
+    /**
+     * @param eventListener -- receives the events of the games that are played from now on. A listener that is not
+     *                      thread safe, like {@link com.celik.journal.EventJournal}, should not get games of other threads.
+     */
+    public void setEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * @param largeLobby -- plays the games from now on as large lobbies, see {@link com.celik.TradingCardGame#useLargeLobby()}
+     */
+    public void setLargeLobby(boolean largeLobby) {
+        this.largeLobby = largeLobby;
+    }
+
+    /**
+     * Plays given count of games one after another.
+     * @param gameCount -- count of games that will be played
+     * @return aggregated report including the games per second rate
+     * @throws TradingCardException -- when a strategy selects a card that is not in the hand
+     */
+    public SimulationReport run(int gameCount) throws TradingCardException {
+        SimulationReport report = new SimulationReport(strategies.size());
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < gameCount; i++) {
+            report.addResult(playGame());
+        }
+        report.setElapsedNanos(System.nanoTime() - startedAt);
+
+        return report;
+    }
+
+    public int getPlayerCount() {
+        return strategies.size();
+    }
+}
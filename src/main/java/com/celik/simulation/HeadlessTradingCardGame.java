@@ -0,0 +1,123 @@
+package com.celik.simulation;
+
+import com.celik.Player;
+import com.celik.TradingCardGame;
+import com.celik.exception.DeadPlayerException;
+import com.celik.exception.DoesNotExistException;
+import com.celik.exception.TurnIsOverException;
+import com.celik.model.Card;
+import com.celik.model.TurnOutcome;
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Trading card game that is played by {@link PlayerStrategy} instances instead of a human.
+ * It does not read any input and does not print any output.
+ */
+public class HeadlessTradingCardGame extends TradingCardGame {
+
+    private final List<PlayerStrategy> strategies;
+    private final List<Player> playersView;
+
+    private int turnCount;
+    private int playedCardCount;
+
+    public HeadlessTradingCardGame() {
+        this(new SplittableRandom());
+    }
+
+    public HeadlessTradingCardGame(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    public HeadlessTradingCardGame(SplittableRandom random) {
+        super(random);
+        this.strategies = new ArrayList<>();
+        this.playersView = getPlayers();
+    }
+
+    /**
+     * Adds a player that is played by the {@link GreedyStrategy}.
+     * @param name -- name of the player
+     */
+    @Override
+    public void addPlayer(String name) {
+        addPlayer(name, new GreedyStrategy());
+    }
+
+    public void addPlayer(String name, PlayerStrategy strategy) {
+        super.addPlayer(name);
+        strategies.add(strategy);
+    }
+
+    @Override
+    protected void playRound() throws TurnIsOverException, DeadPlayerException, DoesNotExistException {
+        if( playTurn() == TurnOutcome.END_TURN ) {
+            throw new TurnIsOverException();
+        }
+    }
+
+    @Override
+    protected TurnOutcome playTurn() throws DoesNotExistException {
+        Player activePlayer = getActivePlayer();
+        if( activePlayer.isDead() || !activePlayer.canPlayCard() ) {
+            return TurnOutcome.END_TURN;
+        }
+
+        Optional<Card> card = strategies.get(activePlayerIndex).selectCard(activePlayer, playersView);
+        if( card.isEmpty() ) {
+            return TurnOutcome.END_TURN;
+        }
+
+        switch (activePlayer.tryPlayCard(card.get().getId())) {
+            case PLAYED:
+                playedCardCount++;
+                return TurnOutcome.CONTINUE;
+            case NO_SUCH_CARD:
+                throw new DoesNotExistException("Selected card does not exist in the hand");
+            default:
+                // a strategy that selects an unaffordable card passes its turn
+                return TurnOutcome.END_TURN;
+        }
+    }
+
+    @Override
+    protected void activatePlayer(int playerIndex) {
+        turnCount++;
+        super.activatePlayer(playerIndex);
+    }
+
+    @Override
+    protected void nextRound() {
+        // there is nobody to wait for
+    }
+
+    @Override
+    protected void notifyPlayer(String message) {
+        // there is nobody to notify
+    }
+
+    /**
+     * Returns the result of a finished game.
+     * @return result of the game
+     */
+    public GameResult getResult() {
+        Optional<Player> winner = getWinner();
+        int winnerIndex = winner.map(players::indexOf).orElse(GameResult.NO_WINNER);
+        int remainingHealth = winner.map(player -> player.getHealth().getHealthValue()).orElse(0);
+        return new GameResult(winnerIndex, turnCount, remainingHealth, playedCardCount);
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getPlayedCardCount() {
+        return playedCardCount;
+    }
+}
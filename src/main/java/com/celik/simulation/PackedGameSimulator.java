@@ -0,0 +1,64 @@
+package com.celik.simulation;
+
+import com.celik.engine.CostStrategy;
+import com.celik.engine.PackedGame;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays games on the {@link PackedGame} engine. For the same random and equivalent strategies,
+ * results are the same as the results of {@link GameSimulator}.
+ */
+public class PackedGameSimulator {
+
+    private final List<CostStrategy> strategies;
+
+    /**
+     * @param strategies -- strategy of every player in player order
+     */
+    public PackedGameSimulator(List<CostStrategy> strategies) {
+        if( strategies.size() < 2 ) {
+            throw new IllegalArgumentException("At least two strategies are required to simulate a game");
+        }
+        this.strategies = List.copyOf(strategies);
+    }
+
+    public GameResult playGame() {
+        return playGame(new SplittableRandom());
+    }
+
+    public GameResult playGame(long seed) {
+        return playGame(new SplittableRandom(seed));
+    }
+
+    /**
+     * Plays a single game whose decks are shuffled by given random.
+     * @param random -- source of randomness of the game
+     * @return result of the game
+     */
+    public GameResult playGame(SplittableRandom random) {
+        return new PackedGame(strategies.size(), random).play(strategies);
+    }
+
+    /**
+     * Plays given count of games one after another.
+     * @param gameCount -- count of games that will be played
+     * @return aggregated report including the games per second rate
+     */
+    public SimulationReport run(int gameCount) {
+        SimulationReport report = new SimulationReport(strategies.size());
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < gameCount; i++) {
+            report.addResult(playGame());
+        }
+        report.setElapsedNanos(System.nanoTime() - startedAt);
+
+        return report;
+    }
+
+    public int getPlayerCount() {
+        return strategies.size();
+    }
+}
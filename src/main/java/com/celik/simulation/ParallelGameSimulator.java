@@ -0,0 +1,117 @@
+package com.celik.simulation;
+
+import com.celik.exception.TradingCardException;
+import com.celik.strategy.PlayerStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Shards headless games across a fixed pool of worker threads.
+ *
+ * Games do not share any mutable state: every game has its own random and id space,
+ * and every worker accumulates results into its own {@link SimulationReport}
+ * which are merged after all workers are done.
+ * Strategies are shared between workers, so they have to be thread safe.
+ */
+public class ParallelGameSimulator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final GameSimulator simulator;
+    private final int threadCount;
+
+    public ParallelGameSimulator(List<PlayerStrategy> strategies) {
+        this(strategies, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelGameSimulator(List<PlayerStrategy> strategies, int threadCount) {
+        if( threadCount <= 0 ) {
+            throw new IllegalArgumentException("threadCount should be positive");
+        }
+        this.simulator = new GameSimulator(strategies);
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Plays given count of games with a random seed.
+     * @see #run(int, long)
+     */
+    public SimulationReport run(int gameCount) throws TradingCardException, InterruptedException {
+        return run(gameCount, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Plays given count of games on all workers. Random of the game with index i is derived from
+     * seed and i only, so a run is reproducible regardless of the thread count.
+     * @param gameCount -- count of games that will be played
+     * @param seed -- seed of the whole run
+     * @return merged report of all workers
+     * @throws TradingCardException -- when a game of any worker fails
+     * @throws InterruptedException -- when the calling thread is interrupted while waiting workers
+     */
+    public SimulationReport run(int gameCount, long seed) throws TradingCardException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            long startedAt = System.nanoTime();
+
+            List<Future<SimulationReport>> shards = new ArrayList<>(threadCount);
+            int shardSize = gameCount / threadCount;
+            int remainder = gameCount % threadCount;
+            int firstGameIndex = 0;
+            for (int i = 0; i < threadCount; i++) {
+                int shardGameCount = shardSize + (i < remainder ? 1 : 0);
+                shards.add(executor.submit(shard(firstGameIndex, shardGameCount, seed)));
+                firstGameIndex += shardGameCount;
+            }
+
+            SimulationReport report = new SimulationReport(simulator.getPlayerCount());
+            for (Future<SimulationReport> shard : shards) {
+                report.merge(getShardReport(shard));
+            }
+            report.setElapsedNanos(System.nanoTime() - startedAt);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    private Callable<SimulationReport> shard(int firstGameIndex, int gameCount, long seed) {
+        return () -> {
+            SimulationReport report = new SimulationReport(simulator.getPlayerCount());
+            for (int i = firstGameIndex; i < firstGameIndex + gameCount; i++) {
+                report.addResult(simulator.playGame(new SplittableRandom(gameSeed(seed, i))));
+            }
+            return report;
+        };
+    }
+
+    private static SimulationReport getShardReport(Future<SimulationReport> shard) throws TradingCardException, InterruptedException {
+        try {
+            return shard.get();
+        } catch (ExecutionException e) {
+            if( e.getCause() instanceof TradingCardException ) {
+                throw (TradingCardException) e.getCause();
+            }
+            throw new TradingCardException("Simulation worker failed", e.getCause());
+        }
+    }
+
+    // mixes the game index into the seed (variant 13 of Stafford's mix64), so game streams do not overlap
+    static long gameSeed(long seed, int gameIndex) {
+        long z = seed + (gameIndex + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
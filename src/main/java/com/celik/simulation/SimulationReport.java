@@ -0,0 +1,111 @@
+package com.celik.simulation;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated statistics of a simulation run. Instances are mutable and not thread safe,
+ * every worker should fill its own report and {@link #merge(SimulationReport)} them at the end.
+ */
+public class SimulationReport {
+
+    private long[] winCounts;
+    private long gameCount;
+    private long noWinnerCount;
+    private long totalTurnCount;
+    private long totalPlayedCardCount;
+    private long totalRemainingHealth;
+    private long elapsedNanos;
+
+    public SimulationReport(int playerCount) {
+        this.winCounts = new long[playerCount];
+    }
+
+    public void addResult(GameResult result) {
+        gameCount++;
+        totalTurnCount += result.getTurnCount();
+        totalPlayedCardCount += result.getPlayedCardCount();
+
+        if( !result.hasWinner() ) {
+            noWinnerCount++;
+            return;
+        }
+        if( result.getWinnerIndex() >= winCounts.length ) {
+            winCounts = Arrays.copyOf(winCounts, result.getWinnerIndex() + 1);
+        }
+        winCounts[result.getWinnerIndex()]++;
+        totalRemainingHealth += result.getRemainingHealth();
+    }
+
+    /**
+     * Adds the statistics of another report into this one.
+     * Elapsed time is not summed, it is the wall clock time of the whole run.
+     * @param another -- report that will be merged
+     */
+    public void merge(SimulationReport another) {
+        if( another.winCounts.length > winCounts.length ) {
+            winCounts = Arrays.copyOf(winCounts, another.winCounts.length);
+        }
+        for (int i = 0; i < another.winCounts.length; i++) {
+            winCounts[i] += another.winCounts[i];
+        }
+        gameCount += another.gameCount;
+        noWinnerCount += another.noWinnerCount;
+        totalTurnCount += another.totalTurnCount;
+        totalPlayedCardCount += another.totalPlayedCardCount;
+        totalRemainingHealth += another.totalRemainingHealth;
+        elapsedNanos = Math.max(elapsedNanos, another.elapsedNanos);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    public long getWinCount(int playerIndex) {
+        return playerIndex < winCounts.length ? winCounts[playerIndex] : 0;
+    }
+
+    public long getNoWinnerCount() {
+        return noWinnerCount;
+    }
+
+    public double getWinRate(int playerIndex) {
+        return gameCount == 0 ? 0 : (double) getWinCount(playerIndex) / gameCount;
+    }
+
+    public double getAverageTurnCount() {
+        return gameCount == 0 ? 0 : (double) totalTurnCount / gameCount;
+    }
+
+    public double getAveragePlayedCardCount() {
+        return gameCount == 0 ? 0 : (double) totalPlayedCardCount / gameCount;
+    }
+
+    public double getAverageRemainingHealth() {
+        long wonGameCount = gameCount - noWinnerCount;
+        return wonGameCount == 0 ? 0 : (double) totalRemainingHealth / wonGameCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : gameCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d -- %.0f games/s -- Avg Turns: %.2f -- Avg Played Cards: %.2f",
+                gameCount, getGamesPerSecond(), getAverageTurnCount(), getAveragePlayedCardCount()));
+        for (int i = 0; i < winCounts.length; i++) {
+            sb.append(String.format("\n\tPlayer %d -- Win Rate: %.4f", i, getWinRate(i)));
+        }
+        return sb.toString();
+    }
+}
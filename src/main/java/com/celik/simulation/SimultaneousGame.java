@@ -0,0 +1,220 @@
+package com.celik.simulation;
+
+import com.celik.Player;
+import com.celik.constants.GameConstants;
+import com.celik.domain.AtomicHealth;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.mana.Mana;
+import com.celik.exception.DoesNotExistException;
+import com.celik.exception.TradingCardException;
+import com.celik.model.Card;
+import com.celik.model.DrawResult;
+import com.celik.strategy.PlayerStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless game of simultaneous turns: in every round all alive players take their turn at the same time on the
+ * threads of an executor, instead of one after another.
+ *
+ * A round has two phases that are separated by a barrier. In the act phase every player only changes its own mana,
+ * hand and deck; the damage of its cards is written to its own slot of a ledger instead of the opponents, so the
+ * players do not see each other's damage before the round is over. In the merge phase every player takes the damage
+ * of all other players and its bleeding out damage at once, through its {@link AtomicHealth}, which detects a death
+ * exactly once. Sums do not depend on the order, so a seed gives the same result with any count of threads.
+ *
+ * Strategies run on many threads at once and see the other players while they play, so they should be thread safe
+ * and should only read the health of the other players, which does not change in the act phase.
+ */
+public class SimultaneousGame {
+
+    private final List<Player> players;
+    private final List<Player> playersView;
+    private final List<PlayerStrategy> strategies;
+    // ledger of the round, every slot is written by the task of its player only
+    private final int[] dealtDamages;
+    private final int[] selfDamages;
+    private final int[] playedCardCounts;
+    private final AtomicInteger aliveCount;
+
+    private int roundCount;
+
+    public SimultaneousGame(List<PlayerStrategy> strategies, long seed) {
+        this(strategies, new SplittableRandom(seed));
+    }
+
+    /**
+     * Seats a player with the default deck for every strategy and draws the initial cards, like a
+     * {@link HeadlessTradingCardGame} of the same random.
+     * @param strategies -- strategy of every player in seat order
+     * @param random -- source of randomness of the decks
+     */
+    public SimultaneousGame(List<PlayerStrategy> strategies, SplittableRandom random) {
+        if( strategies.size() < 2 ) {
+            throw new IllegalArgumentException("At least two strategies are required to simulate a game");
+        }
+        this.strategies = List.copyOf(strategies);
+        this.players = new ArrayList<>(strategies.size());
+        int cardSequence = 0;
+        for (int i = 0; i < strategies.size(); i++) {
+            Deck deck = Deck.getDefaultDeck(cardSequence + 1, random.split());
+            cardSequence += GameConstants.INITIAL_MANA_COSTS_OF_DECK.size();
+            AtomicHealth health = new AtomicHealth(GameConstants.INITIAL_PLAYER_HEALTH);
+            Player player = new Player(i + 1, "Player " + (i + 1), health, Mana.getEmptyMana(), deck);
+            for (int j = 0; j < GameConstants.INITIAL_CARD_DRAW_COUNT; j++) {
+                player.tryDrawCard();
+            }
+            players.add(player);
+        }
+        this.playersView = Collections.unmodifiableList(players);
+        this.dealtDamages = new int[players.size()];
+        this.selfDamages = new int[players.size()];
+        this.playedCardCounts = new int[players.size()];
+        this.aliveCount = new AtomicInteger(players.size());
+    }
+
+    /**
+     * Plays rounds until at most one player is alive. Seats are split into taskCount tasks of the executor in both
+     * phases, the calling thread waits for all of them at the end of every phase.
+     * @param executor -- runs the tasks of the rounds
+     * @param taskCount -- count of tasks of a phase, e.g. the thread count of the executor
+     * @return result of the game, the rounds are counted as turns; there is no winner when the last players die
+     *         in the same round
+     * @throws TradingCardException -- when a strategy selects a card that is not in the hand
+     * @throws InterruptedException -- when the calling thread is interrupted while waiting the tasks
+     */
+    public GameResult play(ExecutorService executor, int taskCount) throws TradingCardException, InterruptedException {
+        if( taskCount <= 0 ) {
+            throw new IllegalArgumentException("taskCount should be positive");
+        }
+        while( aliveCount.get() > 1 ) {
+            roundCount++;
+            runPhase(executor, taskCount, this::act);
+
+            long totalDamage = 0;
+            for (int seat = 0; seat < players.size(); seat++) {
+                totalDamage += dealtDamages[seat];
+            }
+            long roundDamage = totalDamage;
+            runPhase(executor, taskCount, seat -> merge(seat, roundDamage));
+        }
+        return getResult();
+    }
+
+    public GameResult getResult() {
+        int winnerIndex = GameResult.NO_WINNER;
+        if( aliveCount.get() == 1 ) {
+            for (int seat = 0; seat < players.size(); seat++) {
+                if( players.get(seat).isAlive() ) {
+                    winnerIndex = seat;
+                }
+            }
+        }
+        int remainingHealth = winnerIndex == GameResult.NO_WINNER ? 0 : players.get(winnerIndex).getHealth().getHealthValue();
+        int playedCardCount = 0;
+        for (int count : playedCardCounts) {
+            playedCardCount += count;
+        }
+        return new GameResult(winnerIndex, roundCount, remainingHealth, playedCardCount);
+    }
+
+    public List<Player> getPlayers() {
+        return playersView;
+    }
+
+    public int getAlivePlayerCount() {
+        return aliveCount.get();
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    // turn of the player of seat, only touches the player and its slots of the ledger
+    private void act(int seat) throws DoesNotExistException {
+        Player player = players.get(seat);
+        dealtDamages[seat] = 0;
+        selfDamages[seat] = 0;
+        if( player.isDead() ) return;
+
+        player.getMana().tryAddManaSlot();
+        player.getMana().refillManaSlots();
+        if( player.tryDrawCard() == DrawResult.EMPTY_DECK ) {
+            selfDamages[seat] = GameConstants.EMPTY_DECK_DAMAGE;
+        }
+
+        PlayerStrategy strategy = strategies.get(seat);
+        while( player.canPlayCard() ) {
+            Optional<Card> card = strategy.selectCard(player, playersView);
+            if( card.isEmpty() ) return;
+
+            switch (player.tryPlayCard(card.get().getId())) {
+                case PLAYED:
+                    dealtDamages[seat] += card.get().getDamageAmount();
+                    playedCardCounts[seat]++;
+                    break;
+                case NO_SUCH_CARD:
+                    throw new DoesNotExistException("Selected card does not exist in the hand");
+                default:
+                    // a strategy that selects an unaffordable card passes its turn
+                    return;
+            }
+        }
+    }
+
+    // damage of the round to the player of seat: everyone's damage but its own, plus its bleeding out
+    private void merge(int seat, long totalDamage) {
+        Player player = players.get(seat);
+        if( player.isDead() ) return;
+
+        long damage = totalDamage - dealtDamages[seat] + selfDamages[seat];
+        if( damage > 0 && ((AtomicHealth) player.getHealth()).decreaseHealthAndDetectDeath((int) Math.min(damage, Integer.MAX_VALUE)) ) {
+            aliveCount.decrementAndGet();
+        }
+    }
+
+    private void runPhase(ExecutorService executor, int taskCount, SeatAction action) throws TradingCardException, InterruptedException {
+        int seatCount = players.size();
+        int tasks = Math.min(taskCount, seatCount);
+        List<Callable<Void>> phase = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int from = (int) ((long) seatCount * i / tasks);
+            int to = (int) ((long) seatCount * (i + 1) / tasks);
+            phase.add(() -> {
+                for (int seat = from; seat < to; seat++) {
+                    action.run(seat);
+                }
+                return null;
+            });
+        }
+        // invokeAll is the barrier of the phase: the writes of every task are visible after it returns
+        for (Future<Void> task : executor.invokeAll(phase)) {
+            getTaskResult(task);
+        }
+    }
+
+    private static void getTaskResult(Future<Void> task) throws TradingCardException, InterruptedException {
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            if( e.getCause() instanceof TradingCardException ) {
+                throw (TradingCardException) e.getCause();
+            }
+            throw new TradingCardException("Simultaneous turn failed", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SeatAction {
+        void run(int seat) throws TradingCardException;
+    }
+}
@@ -0,0 +1,25 @@
+package com.celik.strategy;
+
+import com.celik.Player;
+import com.celik.domain.cardholder.Hand;
+import com.celik.engine.OptimalTurnTable;
+import com.celik.model.Card;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plays the cards that deal the most damage in the turn, most expensive first, until the best play of the turn is over.
+ * Unlike {@link GreedyStrategy} it does not waste mana, e.g. it plays 3 and 2 instead of 4 with 5 mana.
+ * @see OptimalTurnTable
+ */
+public class GreedyOptimalStrategy implements PlayerStrategy {
+
+    @Override
+    public Optional<Card> selectCard(Player activePlayer, List<Player> players) {
+        Hand hand = activePlayer.getHand();
+        int play = OptimalTurnTable.getPlay(hand, activePlayer.getMana().getManaValue());
+        return OptimalTurnTable.getCardCount(play) == 0 ? Optional.empty()
+                                                        : hand.findCardWithManaCost(OptimalTurnTable.getManaCost(play, 0));
+    }
+}
@@ -0,0 +1,21 @@
+package com.celik.strategy;
+
+import com.celik.Player;
+import com.celik.domain.cardholder.Hand;
+import com.celik.model.Card;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plays the most expensive card that the active player can afford, until nothing is affordable.
+ */
+public class GreedyStrategy implements PlayerStrategy {
+
+    @Override
+    public Optional<Card> selectCard(Player activePlayer, List<Player> players) {
+        Hand hand = activePlayer.getHand();
+        int manaCost = hand.getMaxPlayableManaCost(activePlayer.getMana().getManaValue());
+        return manaCost == Hand.NO_CARD ? Optional.empty() : hand.findCardWithManaCost(manaCost);
+    }
+}
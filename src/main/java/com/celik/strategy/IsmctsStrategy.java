@@ -0,0 +1,65 @@
+package com.celik.strategy;
+
+import com.celik.Player;
+import com.celik.domain.cardholder.Hand;
+import com.celik.engine.EndgameTablebase;
+import com.celik.engine.IsmctsSearch;
+import com.celik.engine.PackedGame;
+import com.celik.model.Card;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Selects cards by an information set Monte Carlo tree search on a packed copy of the game.
+ * The hands and deck orders of the opponents are not used by the search, only their cards as a whole.
+ * Two player endgames with empty decks have no hidden cards, they are read from the {@link EndgameTablebase}.
+ * Thread safe, the searches run on the threads of the strategy until it is closed.
+ */
+public class IsmctsStrategy implements PlayerStrategy, AutoCloseable {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    private final IsmctsSearch search;
+    private final long budgetMillis;
+
+    public IsmctsStrategy() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param threadCount -- count of the search threads
+     * @param budgetMillis -- time budget of a decision
+     */
+    public IsmctsStrategy(int threadCount, long budgetMillis) {
+        this.search = new IsmctsSearch(threadCount);
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public Optional<Card> selectCard(Player activePlayer, List<Player> players) {
+        Hand hand = activePlayer.getHand();
+        SplittableRandom random = new SplittableRandom();
+        PackedGame game = PackedGame.of(players, players.indexOf(activePlayer), random);
+
+        int manaCost;
+        if( EndgameTablebase.isEndgame(game) ) {
+            manaCost = EndgameTablebase.getDefault().getBestManaCost(game);
+            return manaCost == PackedGame.NO_CARD ? Optional.empty() : hand.findCardWithManaCost(manaCost);
+        }
+        try {
+            manaCost = search.search(game, budgetMillis, Long.MAX_VALUE, random.nextLong()).getManaCost();
+        } catch (InterruptedException e) {
+            // there is no time to search, plays greedy
+            Thread.currentThread().interrupt();
+            manaCost = hand.getMaxPlayableManaCost(activePlayer.getMana().getManaValue());
+        }
+        return manaCost == PackedGame.NO_CARD ? Optional.empty() : hand.findCardWithManaCost(manaCost);
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.celik.strategy;
+
+import com.celik.Player;
+import com.celik.model.Card;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Automated decision maker for a player. It replaces the {@link com.celik.provider.InputProvider}
+ * when the game is played without a human.
+ */
+@FunctionalInterface
+public interface PlayerStrategy {
+
+    /**
+     * Selects the next card that active player will play in the current turn.
+     * @param activePlayer -- player whose turn it is
+     * @param players -- all players of the game, including the active one
+     * @return card to play, or empty to pass the turn
+     */
+    Optional<Card> selectCard(Player activePlayer, List<Player> players);
+}
@@ -0,0 +1,131 @@
+package com.celik;
+
+import com.celik.model.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class GameCodecTest {
+
+    TradingCardGame game;
+
+    @BeforeEach
+    public void initializeTradingCardGame(){
+        game = newGame(7L);
+        game.addPlayer("test");
+        game.addPlayer("test 2 \u00e7");
+        for (int turn = 0; turn < 6; turn++) {
+            game.activatePlayer(turn % 2);
+        }
+        game.getPlayers().get(1).takeDamage(4);
+        Assertions.assertDoesNotThrow(() -> game.getPlayers().get(0).getMana().useMana(1));
+    }
+
+    @Test
+    public void whenGameIsWrittenAndRead_stateAndDrawsShouldBeSame(){
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        TradingCardGame loadedGame = newGame(8L);
+
+        // act
+        int size = GameCodec.write(game, buffer);
+        buffer.flip();
+        GameSnapshot snapshot = GameCodec.read(buffer);
+        loadedGame.restore(snapshot);
+
+        // assert
+        Assertions.assertTrue(size < 200, "Size: " + size);
+        Assertions.assertEquals(size, buffer.position());
+        Assertions.assertEquals(game.stateHash(), snapshot.getStateHash());
+        Assertions.assertEquals(game.stateHash(), loadedGame.stateHash());
+        for (int i = 0; i < 2; i++) {
+            Player player = game.getPlayers().get(i);
+            Player loadedPlayer = loadedGame.getPlayers().get(i);
+            Assertions.assertEquals(player, loadedPlayer);
+            Assertions.assertEquals(player.getMana(), loadedPlayer.getMana());
+            Assertions.assertIterableEquals(player.getDeck().getCards(), loadedPlayer.getDeck().getCards());
+            Assertions.assertEquals(player.getHand().getCards(), loadedPlayer.getHand().getCards());
+        }
+
+        for (int turn = 0; turn < 30; turn++) {
+            game.activatePlayer(turn % 2);
+            loadedGame.activatePlayer(turn % 2);
+            Assertions.assertEquals(game.stateHash(), loadedGame.stateHash());
+        }
+        game.addPlayer("test 3");
+        loadedGame.addPlayer("test 3");
+        Assertions.assertEquals(game.stateHash(), loadedGame.stateHash());
+    }
+
+    @Test
+    public void whenSnapshotIsWrittenToLittleEndianBuffer_shouldBeReadAsSameBytes(){
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        ByteBuffer littleEndianBuffer = ByteBuffer.allocateDirect(1024).order(ByteOrder.LITTLE_ENDIAN);
+        GameSnapshot snapshot = game.snapshot();
+
+        // act
+        int size = GameCodec.write(game, buffer);
+        GameCodec.write(snapshot, littleEndianBuffer);
+        littleEndianBuffer.flip();
+
+        // assert
+        Assertions.assertEquals(buffer.flip(), littleEndianBuffer);
+        Assertions.assertEquals(snapshot.getStateHash(), GameCodec.read(littleEndianBuffer).getStateHash());
+        Assertions.assertEquals(size, littleEndianBuffer.position());
+    }
+
+    @Test
+    public void givenInvalidBuffer_readShouldThrow(){
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        int size = GameCodec.write(game, buffer);
+
+        // act - assert
+        ByteBuffer truncated = ByteBuffer.wrap(buffer.array(), 0, size - 1);
+        Assertions.assertThrows(BufferUnderflowException.class, () -> GameCodec.read(truncated));
+
+        buffer.put(2, (byte) (GameCodec.FORMAT_VERSION + 1));
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.read(buffer));
+    }
+
+    @Test
+    public void givenCardIsOutOfRange_readShouldThrowIllegalArgumentException(){
+        // arrange - a card of mana cost 2^28 in the deck is written as a 5 byte varint, 0x80 0x80 0x80 0x80 0x01
+        Player player = game.getPlayers().get(0);
+        Assertions.assertDoesNotThrow(() -> player.getDeck().addCard(new Card(1000, 1 << 28)));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        int size = GameCodec.write(game, buffer);
+        int lastCostByte = indexOf(buffer.array(), size, new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}) + 4;
+        ByteBuffer tooExpensive = ByteBuffer.wrap(buffer.array(), 0, size);
+        ByteBuffer negative = ByteBuffer.wrap(buffer.array().clone(), 0, size);
+        negative.put(lastCostByte, (byte) 0x0F);
+
+        // act - assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.read(tooExpensive));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.read(negative));
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= length; i++) {
+            if( Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length) ) {
+                return i;
+            }
+        }
+        throw new AssertionError("Pattern is not written");
+    }
+
+    private static TradingCardGame newGame(long seed) {
+        return Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                    .useConstructor(seed)
+                                                    .defaultAnswer(Answers.CALLS_REAL_METHODS));
+    }
+}
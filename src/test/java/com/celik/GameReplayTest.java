@@ -0,0 +1,153 @@
+package com.celik;
+
+import com.celik.journal.EventJournal;
+import com.celik.journal.GameEventListener;
+import com.celik.simulation.HeadlessTradingCardGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameReplayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void whenTurnIsSought_stateShouldBeSameWithJournaledGameAtStartOfTurn() throws Exception {
+        // arrange
+        List<List<Long>> turnHashes = new ArrayList<>();
+        // small segments, so seeks start in the middle of segments and cross them
+        try (EventJournal journal = EventJournal.open(directory, 256)) {
+            for (int playerCount = 2; playerCount <= 4; playerCount++) {
+                HeadlessTradingCardGame game = new HeadlessTradingCardGame(playerCount);
+                List<Long> hashes = new ArrayList<>();
+                game.setEventListener(new TurnHashListener(journal, game, hashes));
+                for (int i = 0; i < playerCount; i++) {
+                    game.addPlayer("Player " + i);
+                }
+                game.play();
+                turnHashes.add(hashes);
+            }
+        }
+
+        // act
+        GameReplay replay = GameReplay.index(directory, 3);
+
+        // assert
+        Assertions.assertEquals(3, replay.getGameCount());
+        for (int gameIndex = 0; gameIndex < 3; gameIndex++) {
+            List<Long> hashes = turnHashes.get(gameIndex);
+            Assertions.assertEquals(hashes.size(), replay.getTurnCount(gameIndex));
+            for (int turn = 1; turn <= hashes.size(); turn++) {
+                GameSnapshot snapshot = replay.seek(gameIndex, turn);
+                Assertions.assertEquals(gameIndex + 2, snapshot.getPlayerCount());
+                Assertions.assertEquals(hashes.get(turn - 1), snapshot.getStateHash(), "turn " + turn);
+            }
+        }
+    }
+
+    @Test
+    public void whenJournalIsIndexed_observerShouldGetEveryEventAndSeekShouldCheckBounds() throws Exception {
+        // arrange
+        long eventCount;
+        try (EventJournal journal = EventJournal.open(directory)) {
+            HeadlessTradingCardGame game = new HeadlessTradingCardGame(7L);
+            game.setEventListener(journal);
+            game.addPlayer("test");
+            game.addPlayer("test 2");
+            game.play();
+            eventCount = journal.getEventCount();
+        }
+        long[] observedCount = new long[1];
+        GameEventListener observer = new GameEventListener() {
+            @Override
+            public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+                observedCount[0]++;
+            }
+
+            @Override
+            public void onTurnStarted(int playerId) {
+                observedCount[0]++;
+            }
+        };
+
+        // act
+        GameReplay replay = GameReplay.index(directory, GameReplay.DEFAULT_SNAPSHOT_INTERVAL, observer);
+        TradingCardGame restored = new HeadlessTradingCardGame(1L);
+        restored.restore(replay.seek(0, replay.getTurnCount(0)));
+
+        // assert
+        Assertions.assertTrue(observedCount[0] > replay.getTurnCount(0) && observedCount[0] < eventCount);
+        Assertions.assertFalse(restored.isOver());
+        Assertions.assertEquals(2, restored.getPlayers().get(1).getId());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> replay.seek(0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> replay.seek(0, replay.getTurnCount(0) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> replay.seek(1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameReplay.index(directory, 0));
+    }
+
+    // journals the events and keeps the state hash of the game at the start of every turn
+    private static class TurnHashListener implements GameEventListener {
+
+        private final EventJournal journal;
+        private final TradingCardGame game;
+        private final List<Long> hashes;
+
+        TurnHashListener(EventJournal journal, TradingCardGame game, List<Long> hashes) {
+            this.journal = journal;
+            this.game = game;
+            this.hashes = hashes;
+        }
+
+        @Override
+        public void onGameStarted(int playerCount) {
+            journal.onGameStarted(playerCount);
+        }
+
+        @Override
+        public void onTurnStarted(int playerId) {
+            journal.onTurnStarted(playerId);
+            hashes.add(game.stateHash());
+        }
+
+        @Override
+        public void onManaGained(int playerId, int slotCount, int manaValue) {
+            journal.onManaGained(playerId, slotCount, manaValue);
+        }
+
+        @Override
+        public void onCardDrawn(int playerId, int cardId, int manaCost) {
+            journal.onCardDrawn(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onOverload(int playerId, int cardId, int manaCost) {
+            journal.onOverload(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onBleedingOut(int playerId, int damageAmount) {
+            journal.onBleedingOut(playerId, damageAmount);
+        }
+
+        @Override
+        public void onCardPlayed(int playerId, int cardId, int manaCost) {
+            journal.onCardPlayed(playerId, cardId, manaCost);
+        }
+
+        @Override
+        public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+            journal.onDamageTaken(playerId, damageAmount, healthValue);
+        }
+
+        @Override
+        public void onPlayerDied(int playerId) {
+            journal.onPlayerDied(playerId);
+        }
+    }
+}
@@ -7,13 +7,18 @@ import com.celik.domain.damage.DamageEvent;
 import com.celik.domain.mana.Mana;
 import com.celik.exception.*;
 import com.celik.model.Card;
+import com.celik.model.DrawResult;
+import com.celik.model.PlayResult;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 import org.mockito.Mockito;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 public class PlayerTest {
 
@@ -196,11 +201,7 @@ public class PlayerTest {
         player.takeDamage(5);
 
         // assert
-        try {
-            Mockito.verify(health, Mockito.times(0)).decreaseHealth(Mockito.anyInt());
-        } catch (InsufficientAmountException e) {
-            Assertions.fail(e);
-        }
+        Mockito.verify(health, Mockito.times(0)).tryDecreaseHealth(Mockito.anyInt());
     }
 
     @Test
@@ -213,23 +214,15 @@ public class PlayerTest {
         player.takeDamage(5);
 
         // assert
-        try {
-            Mockito.verify(health, Mockito.times(1)).decreaseHealth(5);
-        } catch (InsufficientAmountException e) {
-            Assertions.fail(e);
-        }
+        Mockito.verify(health, Mockito.times(1)).tryDecreaseHealth(5);
     }
 
     @Test
-    public void givenHealthThrowsInsufficientAmountException_whenTakeDamage_clearOpponentPlayers(){
+    public void givenHealthIsNotEnough_whenTakeDamage_clearOpponentPlayers(){
 
         // arrange
         Mockito.when(health.hasHealth()).thenReturn(true);
-        try {
-            Mockito.doThrow(InsufficientAmountException.class).when(health).decreaseHealth(5);
-        } catch (InsufficientAmountException e) {
-            Assertions.fail(e);
-        }
+        Mockito.when(health.tryDecreaseHealth(5)).thenReturn(false);
 
         Player opponent = Mockito.mock(Player.class, Mockito.withSettings()
                 .useConstructor("Test 2", health, mana, deck)
@@ -245,4 +238,124 @@ public class PlayerTest {
 
     }
 
+    @Test
+    public void givenHealthIsEnough_whenTakeDamage_keepOpponentPlayers(){
+
+        // arrange
+        Mockito.when(health.hasHealth()).thenReturn(true);
+        Mockito.when(health.tryDecreaseHealth(5)).thenReturn(true);
+
+        Player opponent = Mockito.mock(Player.class, Mockito.withSettings()
+                .useConstructor("Test 2", health, mana, deck)
+                .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        player.addOpponentPlayer(opponent);
+
+        // act
+        player.takeDamage(5);
+
+        // assert
+        Assertions.assertEquals(1, player.getOpponentPlayersCount());
+    }
+
+    // tryDrawCard
+    @Test
+    public void givenEmptyDeck_whenTryDrawCard_returnsEmptyDeck(){
+        // arrange
+        Mockito.when(deck.isEmpty()).thenReturn(true);
+
+        // act - assert
+        Assertions.assertEquals(DrawResult.EMPTY_DECK, player.tryDrawCard());
+    }
+
+    @Test
+    public void givenFullHand_whenTryDrawCard_returnsOverloadAndCardStaysInDeck(){
+        // arrange
+        Deck realDeck = Deck.getDeckWithManaCosts(List.of(1, 1, 1, 1, 1, 1));
+        Player realPlayer = new Player("Test", new Health(10), Mana.getEmptyMana(), realDeck);
+        IntStream.range(0, Hand.MAX_CARD_COUNT).forEach(i -> Assertions.assertEquals(DrawResult.DRAWN, realPlayer.tryDrawCard()));
+
+        // act - assert
+        Assertions.assertEquals(DrawResult.OVERLOAD, realPlayer.tryDrawCard());
+        Assertions.assertEquals(1, realDeck.getCardCount());
+        Assertions.assertEquals(Hand.MAX_CARD_COUNT, realPlayer.getHand().getCardCount());
+    }
+
+    // tryPlayCard
+    @Test
+    public void givenPlayerWithoutHealth_whenTryPlayCard_returnsDeadPlayer(){
+        // arrange
+        Mockito.when(health.hasHealth()).thenReturn(false);
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.DEAD_PLAYER, player.tryPlayCard(5));
+    }
+
+    @Test
+    public void givenHandWithoutCard_whenTryPlayCard_returnsNoSuchCard(){
+        // arrange
+        Mockito.when(health.hasHealth()).thenReturn(true);
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.NO_SUCH_CARD, player.tryPlayCard(5));
+    }
+
+    @Test
+    public void givenInsufficientMana_whenTryPlayCard_returnsInsufficientManaAndKeepsCard(){
+        // arrange
+        Mockito.when(health.hasHealth()).thenReturn(true);
+        Mockito.when(mana.tryUseMana(5)).thenReturn(false);
+        Card card = new Card(5);
+        Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.INSUFFICIENT_MANA, player.tryPlayCard(card.getId()));
+        Assertions.assertTrue(player.getHand().hasCard(card));
+    }
+
+    @Test
+    public void givenSufficientMana_whenTryPlayCard_returnsPlayedAndDamagesOpponent(){
+        // arrange
+        Mockito.when(health.hasHealth()).thenReturn(true);
+        Mockito.when(mana.tryUseMana(5)).thenReturn(true);
+        Card card = new Card(5);
+        Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+
+        Player opponent = Mockito.mock(Player.class, Mockito.withSettings()
+                .useConstructor("Test 2", health, mana, deck)
+                .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        player.addOpponentPlayer(opponent);
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.PLAYED, player.tryPlayCard(card.getId()));
+        Assertions.assertFalse(player.getHand().hasCard(card));
+        Mockito.verify(opponent, Mockito.times(1)).takeDamage(Mockito.any(DamageEvent.class));
+    }
+
+    // copy
+    @Test
+    public void whenPlayerIsCopied_copyShouldHaveSameStateButChangeIndependently(){
+        // arrange
+        Mana realMana = Mana.getManaWithSlotCount(3);
+        realMana.refillManaSlots();
+        Player realPlayer = new Player(7, "Test", new Health(10), realMana, Deck.getDeckWithManaCosts(List.of(1, 2, 3, 4), 1, new SplittableRandom(1)));
+        Assertions.assertEquals(DrawResult.DRAWN, realPlayer.tryDrawCard());
+
+        // act
+        Player copy = realPlayer.copy(new SplittableRandom(2));
+        Assertions.assertEquals(DrawResult.DRAWN, copy.tryDrawCard());
+        copy.takeDamage(4);
+        Assertions.assertTrue(copy.getMana().tryUseMana(2));
+
+        // assert
+        Assertions.assertEquals(realPlayer, copy);
+        Assertions.assertEquals(1, realPlayer.getHand().getCardCount());
+        Assertions.assertEquals(3, realPlayer.getDeck().getCardCount());
+        Assertions.assertEquals(10, realPlayer.getHealth().getHealthValue());
+        Assertions.assertEquals(3, realPlayer.getMana().getManaValue());
+        Assertions.assertEquals(2, copy.getHand().getCardCount());
+        Assertions.assertEquals(2, copy.getDeck().getCardCount());
+        Assertions.assertEquals(6, copy.getHealth().getHealthValue());
+        Assertions.assertEquals(1, copy.getMana().getManaValue());
+        Assertions.assertEquals(0, copy.getOpponentPlayersCount());
+    }
 }
@@ -0,0 +1,164 @@
+package com.celik;
+
+import com.celik.model.Card;
+import com.celik.provider.InputProvider;
+import com.celik.provider.RecordingInputProvider;
+import com.celik.provider.ReplayInputProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class TradingCardGamePlayTest {
+
+    @Test
+    public void givenSameSeed_whenRecordedCommandsAreReplayed_gameShouldBeSame(){
+        // arrange
+        long seed = 1234;
+        List<String> recordedOutput = new ArrayList<>();
+        AtomicReference<TradingCardGamePlay> recordedGame = new AtomicReference<>();
+        RecordingInputProvider recordingInputProvider = new RecordingInputProvider(randomCommandProvider(recordedGame));
+        recordedGame.set(new TradingCardGamePlay(recordingInputProvider, output -> recordedOutput.add(String.valueOf(output)), seed));
+
+        playWithTwoPlayers(recordedGame.get());
+
+        // act
+        List<String> replayedOutput = new ArrayList<>();
+        ReplayInputProvider replayInputProvider = new ReplayInputProvider(recordingInputProvider.getCommands());
+        TradingCardGamePlay replayedGame = new TradingCardGamePlay(replayInputProvider, output -> replayedOutput.add(String.valueOf(output)), seed);
+
+        playWithTwoPlayers(replayedGame);
+
+        // assert
+        Assertions.assertFalse(replayInputProvider.hasNext());
+        Assertions.assertEquals(recordedOutput, replayedOutput);
+        Assertions.assertEquals(recordedGame.get().getWinner().map(Player::getId), replayedGame.getWinner().map(Player::getId));
+        for (int i = 0; i < 2; i++) {
+            Player recordedPlayer = recordedGame.get().getPlayers().get(i);
+            Player replayedPlayer = replayedGame.getPlayers().get(i);
+            Assertions.assertEquals(recordedPlayer.getHealth().getHealthValue(), replayedPlayer.getHealth().getHealthValue());
+            Assertions.assertEquals(recordedPlayer.getHand().getCards(), replayedPlayer.getHand().getCards());
+            Assertions.assertEquals(recordedPlayer.getDeck().getCards(), replayedPlayer.getDeck().getCards());
+        }
+    }
+
+    @Test
+    public void whenAllCommandsAreReplayed_replayInputProviderShouldThrowIllegalStateException(){
+        // arrange
+        ReplayInputProvider replayInputProvider = new ReplayInputProvider(List.of("p"));
+
+        // act - assert
+        Assertions.assertEquals("p", replayInputProvider.getInput());
+        Assertions.assertThrows(IllegalStateException.class, replayInputProvider::getInput);
+    }
+
+    @Test
+    public void whenHintIsRequested_bestPlayShouldBePrintedAndTurnShouldContinue(){
+        // arrange - the first player that is asked for a card asks for a hint, then the hints are played
+        List<String> printedOutput = new ArrayList<>();
+        List<String> commands = new ArrayList<>();
+        AtomicReference<TradingCardGamePlay> game = new AtomicReference<>();
+        AtomicReference<List<Card>> hint = new AtomicReference<>();
+        InputProvider inputProvider = () -> {
+            String lastOutput = printedOutput.get(printedOutput.size() - 1);
+            if( !lastOutput.startsWith("Please provide a card id") ) return "c";
+            List<Card> cards = game.get().getHint();
+            String command = hint.get() == null ? "h" : cards.isEmpty() ? "p" : String.valueOf(cards.get(0).getId());
+            hint.compareAndSet(null, cards);
+            commands.add(command);
+            return command;
+        };
+        game.set(new TradingCardGamePlay(inputProvider, output -> printedOutput.add(String.valueOf(output)), 7L));
+        game.get().addPlayer("test");
+        game.get().addPlayer("test 2");
+
+        // act
+        Assertions.assertDoesNotThrow(game.get()::play);
+
+        // assert
+        Assertions.assertFalse(hint.get().isEmpty());
+        String expected = "Hint: " + hint.get().stream().map(String::valueOf).collect(Collectors.joining(", "));
+        Assertions.assertTrue(printedOutput.contains(expected));
+        Assertions.assertEquals("h", commands.get(0));
+        Assertions.assertEquals(String.valueOf(hint.get().get(0).getId()), commands.get(1));
+        Assertions.assertTrue(game.get().getWinner().isPresent());
+    }
+
+    @Test
+    public void whenUndoIsRequested_lastCardShouldBeTakenBackAndTurnShouldContinue(){
+        // arrange - the first card that is followed by another prompt in the same turn is taken back,
+        // then the hints are played
+        List<String> printedOutput = new ArrayList<>();
+        List<String> commands = new ArrayList<>();
+        AtomicReference<TradingCardGamePlay> game = new AtomicReference<>();
+        AtomicReference<Player> playedPlayer = new AtomicReference<>();
+        List<Set<Card>> hands = new ArrayList<>();
+        InputProvider inputProvider = () -> {
+            String lastOutput = printedOutput.get(printedOutput.size() - 1);
+            if( !lastOutput.startsWith("Please provide a card id") ) return "c";
+            Player activePlayer = game.get().getActivePlayer();
+            List<Card> cards = game.get().getHint();
+            String command = cards.isEmpty() ? "p" : String.valueOf(cards.get(0).getId());
+            if( hands.size() == 2 ) {
+                hands.add(Set.copyOf(activePlayer.getHand().getCards()));
+            } else if( hands.size() == 1 && activePlayer.equals(playedPlayer.get()) ) {
+                hands.add(Set.copyOf(activePlayer.getHand().getCards()));
+                command = "u";
+            } else if( hands.size() < 3 && !cards.isEmpty() ) {
+                hands.clear();
+                hands.add(Set.copyOf(activePlayer.getHand().getCards()));
+                playedPlayer.set(activePlayer);
+            }
+            commands.add(command);
+            return command;
+        };
+        game.set(new TradingCardGamePlay(inputProvider, output -> printedOutput.add(String.valueOf(output)), 7L));
+        game.get().addPlayer("test");
+        game.get().addPlayer("test 2");
+
+        // act
+        Assertions.assertDoesNotThrow(game.get()::play);
+
+        // assert
+        int undoIndex = commands.indexOf("u");
+        Assertions.assertTrue(undoIndex > 0);
+        Assertions.assertEquals(3, hands.size());
+        Assertions.assertEquals(hands.get(0).size() - 1, hands.get(1).size());
+        Assertions.assertEquals(hands.get(0), hands.get(2));
+        Assertions.assertTrue(printedOutput.contains("Last card was taken back"));
+        Assertions.assertEquals(commands.get(undoIndex - 1), commands.get(undoIndex + 1));
+        Assertions.assertTrue(game.get().getWinner().isPresent());
+    }
+
+    // helpers
+    private void playWithTwoPlayers(TradingCardGamePlay game) {
+        game.addPlayer("test");
+        game.addPlayer("test 2");
+        Assertions.assertDoesNotThrow(game::play);
+        Assertions.assertTrue(game.getWinner().isPresent());
+    }
+
+    /**
+     * Plays a random affordable card of the active player or passes.
+     */
+    private InputProvider randomCommandProvider(AtomicReference<TradingCardGamePlay> game) {
+        Random random = new Random(99);
+        return () -> {
+            Player activePlayer = game.get().getActivePlayer();
+            List<Card> playableCards = activePlayer.getHand().getCards().stream()
+                    .filter(card -> card.getManaCost() <= activePlayer.getMana().getManaValue())
+                    .sorted(Card::compareTo)
+                    .collect(Collectors.toList());
+
+            if( playableCards.isEmpty() || random.nextInt(10) == 0 ) {
+                return "p";
+            }
+            return String.valueOf(playableCards.get(random.nextInt(playableCards.size())).getId());
+        };
+    }
+}
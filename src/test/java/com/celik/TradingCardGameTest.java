@@ -6,14 +6,20 @@ import com.celik.domain.mana.Mana;
 import com.celik.exception.InsufficientAmountException;
 import com.celik.exception.TradingCardException;
 import com.celik.exception.TurnIsOverException;
+import com.celik.journal.GameEventListener;
+import com.celik.model.Card;
+import com.celik.simulation.HeadlessTradingCardGame;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 import org.mockito.Mockito;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class TradingCardGameTest {
@@ -61,6 +67,24 @@ public class TradingCardGameTest {
         Assertions.assertTrue(player.getHand().isEmpty());
     }
 
+    @Test
+    public void whenAddPlayer_idsShouldBeScopedToGame(){
+        // arrange
+        TradingCardGame anotherGame = Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                    .useConstructor()
+                                                    .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        game.addPlayer("Test");
+        anotherGame.addPlayer("Test");
+
+        Player player = game.getPlayers().get(0);
+        Player anotherPlayer = anotherGame.getPlayers().get(0);
+
+        // assert
+        Assertions.assertEquals(1, player.getId());
+        Assertions.assertEquals(player.getId(), anotherPlayer.getId());
+        Assertions.assertEquals(player.getDeck().getCards(), anotherPlayer.getDeck().getCards());
+    }
+
     @Test
     public void whenThereIsNoPlayer_playMethodShouldThrowInsufficientAmountException(){
         Assertions.assertEquals(0, game.getPlayers().size());
@@ -132,11 +156,7 @@ public class TradingCardGameTest {
         Assertions.assertDoesNotThrow(() -> game.play());
 
         // act
-        try {
-            Mockito.verify(player, Mockito.times(3)).drawCard();
-        } catch (TradingCardException e) {
-           Assertions.fail(e);
-        }
+        Mockito.verify(player, Mockito.times(3)).tryDrawCard();
     }
 
     @Test
@@ -160,6 +180,147 @@ public class TradingCardGameTest {
         Mockito.verify(player, Mockito.times(3)).takeDamage(1);
     }
 
+    @Test
+    public void givenDecksAreEmpty_hintShouldBeFastestKillFromEndgameTablebase(){
+        // arrange - 4 does not kill and the opponent kills in its next turn, 3 and 2 kill
+        Mana mana = Mana.getManaWithSlotCount(5);
+        mana.refillManaSlots();
+        Player player = new Player("test", new Health(5), mana, new Deck());
+        Player opponent = new Player("test 2", new Health(5), Mana.getManaWithSlotCount(4), new Deck());
+        Mockito.doReturn(player).when(game).preparePlayerForGame("test");
+        Mockito.doReturn(opponent).when(game).preparePlayerForGame("test 2");
+        game.addPlayer("test");
+        game.addPlayer("test 2");
+        List<Card> cards = List.of(new Card(1, 4), new Card(2, 3), new Card(3, 2));
+        for (Card card : cards) {
+            Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+        }
+        for (Card card : List.of(new Card(4, 5), new Card(5, 5))) {
+            Assertions.assertDoesNotThrow(() -> opponent.getHand().addCard(card));
+        }
+
+        // act
+        List<Card> hint = game.getHint();
+
+        // assert
+        Assertions.assertEquals(List.of(cards.get(1), cards.get(2)), hint);
+    }
+
+    @Test
+    public void whenStateChanges_stateHashShouldChangeAndBeSameForSameState(){
+        // arrange
+        TradingCardGame anotherGame = Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                    .useConstructor(7L)
+                                                    .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        game = Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                    .useConstructor(7L)
+                                                    .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        for (TradingCardGame tradingCardGame : List.of(game, anotherGame)) {
+            tradingCardGame.addPlayer("test");
+            tradingCardGame.addPlayer("test 2");
+        }
+        Player player = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+        long initialHash = game.stateHash();
+        Assertions.assertEquals(anotherGame.stateHash(), initialHash);
+
+        // act - assert
+        game.activatePlayer(0);
+        long activatedHash = game.stateHash();
+        Assertions.assertNotEquals(initialHash, activatedHash);
+
+        opponent.takeDamage(2);
+        Assertions.assertNotEquals(activatedHash, game.stateHash());
+        Assertions.assertDoesNotThrow(() -> opponent.getHealth().increaseHealth(2));
+        Assertions.assertEquals(activatedHash, game.stateHash());
+
+        Assertions.assertDoesNotThrow(() -> player.getMana().useMana(1));
+        Assertions.assertNotEquals(activatedHash, game.stateHash());
+        player.getMana().refillManaSlots();
+        Assertions.assertEquals(activatedHash, game.stateHash());
+
+        game.activePlayerIndex = 1;
+        Assertions.assertNotEquals(activatedHash, game.stateHash());
+        game.activePlayerIndex = 0;
+        Assertions.assertEquals(activatedHash, game.stateHash());
+
+        // same health values on other players
+        player.takeDamage(1);
+        long hash = game.stateHash();
+        Assertions.assertDoesNotThrow(() -> player.getHealth().increaseHealth(1));
+        opponent.takeDamage(1);
+        Assertions.assertNotEquals(hash, game.stateHash());
+    }
+
+    @Test
+    public void whenSnapshotIsRestored_stateAndDrawsShouldBeSame(){
+        // arrange
+        game = Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                    .useConstructor(7L)
+                                                    .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        game.addPlayer("test");
+        game.addPlayer("test 2");
+        game.activatePlayer(0);
+        GameSnapshot snapshot = game.snapshot();
+
+        game.getPlayers().get(1).takeDamage(5);
+        game.activatePlayer(1);
+        game.activatePlayer(0);
+        List<Set<Card>> hands = game.getPlayers().stream().map(player -> player.getHand().getCards()).collect(Collectors.toList());
+        game.activePlayerIndex = 1;
+        Assertions.assertNotEquals(snapshot.getStateHash(), game.stateHash());
+
+        // act
+        game.restore(snapshot);
+
+        // assert
+        Assertions.assertEquals(snapshot.getStateHash(), game.stateHash());
+        Assertions.assertEquals(1, game.getActivePlayer().getHand().getCardCount());
+        Assertions.assertEquals(30, game.getPlayers().get(1).getHealth().getHealthValue());
+        game.getPlayers().forEach(player -> Assertions.assertEquals(1, player.getOpponentPlayersCount()));
+
+        game.activatePlayer(1);
+        game.activatePlayer(0);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(hands.get(i), game.getPlayers().get(i).getHand().getCards());
+        }
+        game.restore(snapshot);
+        Assertions.assertEquals(snapshot.getStateHash(), game.stateHash());
+    }
+
+    @Test
+    public void whenWhatIfIsEvaluated_gameShouldBeSameAfterwards(){
+        // arrange
+        game.addPlayer("test");
+        game.addPlayer("test 2");
+        game.activatePlayer(0);
+        List<Player> players = game.getPlayers().stream().collect(Collectors.toList());
+        long stateHash = game.stateHash();
+        List<Integer> branchHealth = new ArrayList<>();
+
+        // act
+        game.whatIf(branch -> {
+            Player opponent = branch.getPlayers().get(1);
+            opponent.takeDamage(30);
+            branchHealth.add(opponent.getHealth().getHealthValue());
+            branch.activatePlayer(1);
+            branchHealth.add(opponent.getHealth().getHealthValue());
+        });
+
+        // assert
+        Assertions.assertEquals(List.of(0, 0), branchHealth);
+        for (int i = 0; i < players.size(); i++) {
+            Assertions.assertSame(players.get(i), game.getPlayers().get(i));
+        }
+        Assertions.assertEquals(30, players.get(1).getHealth().getHealthValue());
+        Assertions.assertEquals(stateHash, game.stateHash());
+        Assertions.assertThrows(IllegalStateException.class, () -> game.whatIf(branch -> {
+            branch.getPlayers().get(0).takeDamage(30);
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(stateHash, game.stateHash());
+    }
+
     @Test
     public void whenGameIsStarted_shouldActivateFirstPlayer(){
 
@@ -293,4 +454,157 @@ public class TradingCardGameTest {
             Assertions.fail(e);
         }
     }
+
+    @Test
+    public void givenLargeLobby_whenCardIsPlayed_everyAlivePlayerButSourceShouldTakeDamage(){
+        // arrange
+        game.useLargeLobby();
+        for (int i = 0; i < 5; i++) {
+            game.addPlayer("test " + i);
+        }
+        List<Player> players = game.getPlayers();
+        Player player = players.get(0);
+        Mana mana = player.getMana();
+        for (int i = 0; i < 6; i++) {
+            mana.tryAddManaSlot();
+        }
+        mana.refillManaSlots();
+        Assertions.assertDoesNotThrow(() -> player.getHand().addCard(new Card(1000, 3)));
+        Assertions.assertDoesNotThrow(() -> player.getHand().addCard(new Card(1001, 3)));
+        players.get(2).takeDamage(28);
+        GameSnapshot snapshot = game.snapshot();
+
+        // act
+        Assertions.assertDoesNotThrow(() -> player.playCard(1000));
+
+        // assert
+        Assertions.assertThrows(IllegalStateException.class, () -> game.useLargeLobby());
+        Assertions.assertEquals(List.of(30, 27, 0, 27, 27),
+                                players.stream().map(p -> p.getHealth().getHealthValue()).collect(Collectors.toList()));
+        Assertions.assertEquals(3, player.getOpponentPlayersCount());
+        Assertions.assertEquals(0, players.get(2).getOpponentPlayersCount());
+        Assertions.assertFalse(game.isOver());
+        Assertions.assertEquals(Optional.empty(), game.getWinner());
+
+        // restored players damage each other through the roster too
+        game.restore(snapshot);
+        Player restoredPlayer = game.getPlayers().get(0);
+        Assertions.assertDoesNotThrow(() -> restoredPlayer.playCard(1001));
+        Assertions.assertEquals(List.of(30, 27, 0, 27, 27),
+                                game.getPlayers().stream().map(p -> p.getHealth().getHealthValue()).collect(Collectors.toList()));
+        for (int i = 1; i < 5; i++) {
+            game.getPlayers().get(i).takeDamage(30);
+        }
+        Assertions.assertTrue(game.isOver());
+        Assertions.assertEquals(Optional.of(restoredPlayer), game.getWinner());
+    }
+
+    @Test
+    public void whenPlayersDie_turnOrdersShouldPickAlivePlayers(){
+        // arrange
+        for (int i = 0; i < 5; i++) {
+            game.addPlayer("test " + i);
+        }
+        List<Player> players = game.getPlayers();
+        players.get(1).takeDamage(30);
+        players.get(2).takeDamage(30);
+        players.get(3).takeDamage(5);
+        TurnOrder initiative = TurnOrder.initiativeByHealth();
+
+        // act - assert
+        Assertions.assertEquals(players.get(3), TurnOrder.ROUND_ROBIN.next(players.get(0)));
+        Assertions.assertEquals(players.get(4), TurnOrder.REVERSE.next(players.get(0)));
+        Assertions.assertEquals(players.get(3), TurnOrder.ROUND_ROBIN.next(players.get(1)));
+        Assertions.assertEquals(players.get(0), TurnOrder.REVERSE.next(players.get(2)));
+        Assertions.assertEquals(players.get(0), TurnOrder.ROUND_ROBIN.next(players.get(4)));
+
+        Assertions.assertEquals(players.get(0), initiative.next(players.get(3)));
+        Assertions.assertEquals(players.get(4), initiative.next(players.get(0)));
+        Assertions.assertEquals(players.get(3), initiative.next(players.get(4)));
+        players.get(0).takeDamage(10);
+        Assertions.assertEquals(players.get(4), initiative.next(players.get(3)));
+        Assertions.assertEquals(players.get(3), initiative.next(players.get(4)));
+
+        players.get(4).takeDamage(30);
+        players.get(3).takeDamage(30);
+        Assertions.assertEquals(players.get(0), TurnOrder.ROUND_ROBIN.next(players.get(0)));
+        players.get(0).takeDamage(30);
+        Assertions.assertNull(TurnOrder.ROUND_ROBIN.next(players.get(0)));
+        Assertions.assertNull(TurnOrder.REVERSE.next(players.get(4)));
+    }
+
+    @Test
+    public void givenInitiativeTurnOrder_whenSnapshotIsRestoredInRound_roundShouldGoOn(){
+        // arrange
+        for (int i = 0; i < 4; i++) {
+            game.addPlayer("test " + i);
+        }
+        for (int i = 1; i < 4; i++) {
+            game.getPlayers().get(i).takeDamage(5 * i);
+        }
+        TurnOrder initiative = TurnOrder.initiativeByHealth();
+        game.activePlayerIndex = initiative.next(game.getActivePlayer()).seat;
+        game.activePlayerIndex = initiative.next(game.getActivePlayer()).seat;
+        // the round was ordered by the health at its start, the rest of it is 2, 3 then
+        game.getPlayers().get(2).takeDamage(10);
+        GameSnapshot snapshot = game.snapshot();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        GameCodec.write(snapshot, buffer);
+        buffer.flip();
+        List<Integer> expectedSeats = List.of(2, 3, 0, 1, 3, 2);
+
+        // act
+        List<Integer> seats = new ArrayList<>();
+        for (int turn = 0; turn < 3; turn++) {
+            game.activePlayerIndex = initiative.next(game.getActivePlayer()).seat;
+            seats.add(game.activePlayerIndex);
+        }
+        game.restore(snapshot);
+        List<Integer> restoredSeats = new ArrayList<>();
+        game.whatIf(branch -> restoredSeats.add(initiative.next(branch.getActivePlayer()).seat));
+        for (int turn = 0; turn < expectedSeats.size(); turn++) {
+            game.activePlayerIndex = initiative.next(game.getActivePlayer()).seat;
+            restoredSeats.add(game.activePlayerIndex);
+        }
+        TradingCardGame loadedGame = Mockito.mock(TradingCardGame.class, Mockito.withSettings()
+                                                                        .useConstructor()
+                                                                        .defaultAnswer(Answers.CALLS_REAL_METHODS));
+        loadedGame.restore(GameCodec.read(buffer));
+        TurnOrder loadedInitiative = TurnOrder.initiativeByHealth();
+        List<Integer> loadedSeats = new ArrayList<>();
+        for (int turn = 0; turn < expectedSeats.size(); turn++) {
+            loadedGame.activePlayerIndex = loadedInitiative.next(loadedGame.getActivePlayer()).seat;
+            loadedSeats.add(loadedGame.activePlayerIndex);
+        }
+
+        // assert
+        Assertions.assertEquals(expectedSeats.subList(0, 3), seats);
+        Assertions.assertEquals(expectedSeats.get(0), restoredSeats.get(0));
+        Assertions.assertEquals(expectedSeats, restoredSeats.subList(1, restoredSeats.size()));
+        Assertions.assertEquals(expectedSeats, loadedSeats);
+    }
+
+    @Test
+    public void givenReverseTurnOrder_whenGameIsPlayed_turnsShouldPassToPreviousPlayers() throws TradingCardException {
+        // arrange
+        HeadlessTradingCardGame headlessGame = new HeadlessTradingCardGame(11L);
+        List<Integer> turnPlayerIds = new ArrayList<>();
+        headlessGame.setEventListener(new GameEventListener() {
+            @Override
+            public void onTurnStarted(int playerId) {
+                turnPlayerIds.add(playerId);
+            }
+        });
+        headlessGame.setTurnOrder(TurnOrder.REVERSE);
+        for (int i = 0; i < 3; i++) {
+            headlessGame.addPlayer("test " + i);
+        }
+
+        // act
+        headlessGame.play();
+
+        // assert
+        Assertions.assertEquals(List.of(1, 3, 2, 1, 3, 2), turnPlayerIds.subList(0, 6));
+        Assertions.assertTrue(headlessGame.getWinner().isPresent());
+    }
 }
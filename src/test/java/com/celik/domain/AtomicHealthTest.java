@@ -0,0 +1,95 @@
+package com.celik.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AtomicHealthTest {
+
+    private static final int THREAD_COUNT = 16;
+
+    @Test
+    public void whenManyThreadsDamageAtOnce_deathShouldBeDetectedExactlyOnce() throws InterruptedException {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            // arrange
+            AtomicHealth health = new AtomicHealth(10_000);
+            AtomicInteger deathCount = new AtomicInteger();
+
+            // act
+            runOnThreads(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if( health.decreaseHealthAndDetectDeath(1 + i % 3) ) {
+                        deathCount.incrementAndGet();
+                    }
+                }
+            });
+
+            // assert
+            Assertions.assertEquals(1, deathCount.get());
+            Assertions.assertEquals(0, health.getHealthValue());
+            Assertions.assertFalse(health.hasHealth());
+        }
+    }
+
+    @Test
+    public void whenManyThreadsHealAndDamage_noChangeShouldBeLost() throws InterruptedException {
+        // arrange
+        AtomicHealth health = new AtomicHealth(1_000_000);
+
+        // act
+        runOnThreads(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                health.increaseHealth(3);
+                Assertions.assertTrue(health.tryDecreaseHealth(2));
+                Assertions.assertTrue(health.tryDecreaseHealth(1));
+            }
+        });
+
+        // assert
+        Assertions.assertEquals(1_000_000, health.getHealthValue());
+    }
+
+    @Test
+    public void whenDamageIsNotEnoughOrNegative_deathShouldNotBeReported() {
+        // arrange
+        AtomicHealth health = new AtomicHealth(5);
+
+        // act & assert
+        Assertions.assertFalse(health.decreaseHealthAndDetectDeath(4));
+        Assertions.assertEquals(1, health.getHealthValue());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> health.decreaseHealthAndDetectDeath(-1));
+        Assertions.assertTrue(health.decreaseHealthAndDetectDeath(7));
+        Assertions.assertFalse(health.decreaseHealthAndDetectDeath(1));
+        Assertions.assertEquals(0, health.getHealthValue());
+        Assertions.assertEquals(new Health(0).getStateHash(), health.getStateHash());
+    }
+
+    private static void runOnThreads(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(List.of(), failures);
+    }
+}
@@ -198,4 +198,17 @@ public class HealthTest {
         Assertions.assertEquals(1, health.getHealthValue());
         Assertions.assertTrue(health.hasHealth());
     }
+
+    @Test
+    public void whenHealthIsNotEnough_tryDecreaseHealthShouldReturnFalseAndDropToZero() {
+        //arrange
+        Health health = new Health(3);
+
+        //act - assert
+        Assertions.assertTrue(health.tryDecreaseHealth(2));
+        Assertions.assertEquals(1, health.getHealthValue());
+        Assertions.assertFalse(health.tryDecreaseHealth(5));
+        Assertions.assertEquals(0, health.getHealthValue());
+        Assertions.assertFalse(health.hasHealth());
+    }
 }
@@ -0,0 +1,73 @@
+package com.celik.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class SplitMixRandomTest {
+
+    @Test
+    public void givenSameSeed_valuesAndSplitsShouldBeSameWithSplittableRandom(){
+        for (long seed = 0; seed < 500; seed++) {
+            // arrange
+            SplittableRandom expected = new SplittableRandom(seed);
+            SplitMixRandom actual = new SplitMixRandom(seed);
+
+            // act - assert
+            for (int bound = 1; bound <= 40; bound++) {
+                Assertions.assertEquals(expected.nextInt(bound), actual.nextInt(bound), "Seed: " + seed);
+            }
+            Assertions.assertEquals(expected.nextInt(Integer.MAX_VALUE), actual.nextInt(Integer.MAX_VALUE));
+            Assertions.assertEquals(expected.nextLong(), actual.nextLong());
+
+            SplittableRandom expectedSplit = expected.split();
+            SplitMixRandom actualSplit = actual.split();
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertEquals(expectedSplit.nextInt(1_000_003), actualSplit.nextInt(1_000_003), "Seed: " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void whenStreamOfSplittableRandomIsTakenOver_valuesShouldBeSame(){
+        // arrange
+        SplittableRandom expected = new SplittableRandom(42).split();
+        SplittableRandom taken = new SplittableRandom(42).split();
+        expected.nextInt();
+        taken.nextInt();
+
+        // act
+        SplitMixRandom actual = new SplitMixRandom(taken);
+
+        // assert
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(expected.nextInt(17), actual.nextInt(17));
+        }
+        Assertions.assertEquals(expected.split().nextLong(), actual.split().nextLong());
+    }
+
+    @Test
+    public void whenCopiedOrRestoredFromState_valuesShouldBeSame(){
+        // arrange
+        SplitMixRandom random = new SplitMixRandom(7).split();
+        random.nextLong();
+
+        // act
+        SplitMixRandom copy = random.copy();
+        SplitMixRandom restored = new SplitMixRandom(random.getSeed(), random.getGamma());
+
+        // assert
+        for (int i = 0; i < 100; i++) {
+            long value = random.nextLong();
+            Assertions.assertEquals(value, copy.nextLong());
+            Assertions.assertEquals(value, restored.nextLong());
+        }
+    }
+
+    @Test
+    public void givenInvalidArguments_shouldThrowIllegalArgumentException(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SplitMixRandom(1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SplitMixRandom(1).nextInt(0));
+    }
+}
@@ -282,6 +282,31 @@ public class CardHolderTest {
         Assertions.assertTrue(anotherCardHolder.hasCard(card));
     }
 
+    // getStateHash
+    @Test
+    public void whenCardsAreAddedAndGiven_stateHashShouldDependOnCardsOnly(){
+
+        // arrange
+        Card card = new Card(5);
+        Card anotherCard = new Card(3);
+        Mockito.when(cardHolderImpl.hasCapacity()).thenReturn(true);
+        long emptyHash = cardHolderImpl.getStateHash();
+
+        // act - assert
+        Assertions.assertDoesNotThrow(() -> cardHolderImpl.addCard(card));
+        long hashOfCard = cardHolderImpl.getStateHash();
+        Assertions.assertNotEquals(emptyHash, hashOfCard);
+
+        Assertions.assertDoesNotThrow(() -> cardHolderImpl.addCard(anotherCard));
+        Assertions.assertNotEquals(hashOfCard, cardHolderImpl.getStateHash());
+
+        Assertions.assertDoesNotThrow(() -> cardHolderImpl.giveCard(anotherCard.getId()));
+        Assertions.assertEquals(hashOfCard, cardHolderImpl.getStateHash());
+
+        Assertions.assertDoesNotThrow(() -> cardHolderImpl.giveCard(card));
+        Assertions.assertEquals(emptyHash, cardHolderImpl.getStateHash());
+    }
+
     @Test
     public void whenAnotherHasNotCapacity_shouldThrowsHasNoCapacity(){
 
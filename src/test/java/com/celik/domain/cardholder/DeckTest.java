@@ -1,5 +1,6 @@
 package com.celik.domain.cardholder;
 
+import com.celik.constants.GameConstants;
 import com.celik.exception.EmptyResourceUsingException;
 import com.celik.model.Card;
 import org.junit.jupiter.api.Assertions;
@@ -8,7 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 import org.mockito.Mockito;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
@@ -40,6 +43,67 @@ public class DeckTest extends CardHolderTest {
         });
     }
 
+    @Test
+    public void whenDecksHaveSameCards_stateHashesShouldBeSameAndChangeWithDraws(){
+        // arrange
+        List<Integer> manaCosts = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+        Deck defaultDeck = Deck.getDefaultDeck(1, new SplittableRandom(1));
+        Deck builtDeck = Deck.getDeckWithManaCosts(manaCosts, 1, new SplittableRandom(2));
+        Deck addedDeck = new Deck(new SplittableRandom(3));
+        for (int i = manaCosts.size() - 1; i >= 0; i--) {
+            Card card = new Card(i + 1, manaCosts.get(i));
+            Assertions.assertDoesNotThrow(() -> addedDeck.addCard(card));
+        }
+        Hand hand = new Hand();
+
+        // act
+        Deck copy = defaultDeck.copy(new SplittableRandom(4));
+        Assertions.assertDoesNotThrow(() -> copy.giveCard(copy.pickRandomCard(), hand));
+
+        // assert
+        Assertions.assertEquals(defaultDeck.getStateHash(), builtDeck.getStateHash());
+        Assertions.assertEquals(defaultDeck.getStateHash(), addedDeck.getStateHash());
+        Assertions.assertNotEquals(defaultDeck.getStateHash(), copy.getStateHash());
+        Assertions.assertNotEquals(0L, hand.getStateHash());
+
+        Card drawnCard = hand.getCards().iterator().next();
+        Assertions.assertDoesNotThrow(() -> hand.giveCard(drawnCard, copy));
+        Assertions.assertEquals(defaultDeck.getStateHash(), copy.getStateHash());
+        Assertions.assertEquals(0L, hand.getStateHash());
+    }
+
+    @Test
+    public void whenCreateDefaultDecksWithSameIds_cardsShouldBeSharedButDecksIndependent(){
+        // arrange
+        List<Integer> manaCosts = GameConstants.INITIAL_MANA_COSTS_OF_DECK;
+        int firstCardId = manaCosts.size() + 1;
+
+        //act
+        Deck defaultDeck = Deck.getDefaultDeck(firstCardId, new SplittableRandom(1));
+        Deck anotherDefaultDeck = Deck.getDefaultDeck(firstCardId, new SplittableRandom(1));
+        Deck builtDeck = Deck.getDeckWithManaCosts(manaCosts, firstCardId, new SplittableRandom(1));
+
+        //assert
+        Assertions.assertEquals(builtDeck.getCards(), defaultDeck.getCards());
+        Card pickedCard = Assertions.assertDoesNotThrow(defaultDeck::pickRandomCard);
+        Assertions.assertSame(pickedCard, anotherDefaultDeck.findCardById(pickedCard.getId()).get());
+
+        Assertions.assertDoesNotThrow(() -> defaultDeck.giveCard(pickedCard));
+        Assertions.assertEquals(manaCosts.size() - 1, defaultDeck.getCardCount());
+        Assertions.assertEquals(manaCosts.size(), anotherDefaultDeck.getCardCount());
+        Assertions.assertTrue(anotherDefaultDeck.hasCard(pickedCard));
+    }
+
+    @Test
+    public void whenCreateDefaultDeckWithUnalignedIds_cardsShouldHaveConsecutiveIds(){
+        //act
+        Deck defaultDeck = Deck.getDefaultDeck(3, new SplittableRandom(1));
+
+        //assert
+        List<Integer> cardIds = defaultDeck.getCards().stream().map(Card::getId).sorted().collect(Collectors.toList());
+        Assertions.assertEquals(IntStream.range(3, 3 + GameConstants.INITIAL_MANA_COSTS_OF_DECK.size()).boxed().collect(Collectors.toList()), cardIds);
+    }
+
     @Test
     public void whenPickedRandomCard_shouldNotChangeSizeOfCards() {
 
@@ -84,6 +148,48 @@ public class DeckTest extends CardHolderTest {
         Assertions.assertThrows(EmptyResourceUsingException.class, () -> deck.pickRandomCard());
     }
 
+    @Test
+    public void whenPickedCardsAreGivenToAnotherHolder_allCardsShouldBeGivenOnce() {
+
+        // arrange
+        int deckSize = 500;
+        deck = Deck.getDeckWithManaCosts(IntStream.range(0, deckSize).boxed().collect(Collectors.toList()));
+        Deck anotherDeck = new Deck();
+
+        // act
+        for (int i = 0; i < deckSize; i++) {
+            Assertions.assertDoesNotThrow(() -> deck.giveCard(deck.pickRandomCard(), anotherDeck));
+        }
+
+        //assert
+        Assertions.assertTrue(deck.isEmpty());
+        Assertions.assertEquals(deckSize, anotherDeck.getCardCount());
+        Assertions.assertEquals(deckSize, anotherDeck.getCards().stream().map(Card::getManaCost).distinct().count());
+    }
+
+    @Test
+    public void whenCardIsRemovedWhileIterating_remainingCardsShouldBeIterated() {
+
+        // arrange
+        List<Card> addedCards = addCardWithQuantity(5);
+
+        // act
+        Iterator<Card> iterator = deck.cards.iterator();
+        int iteratedCount = 0;
+        while (iterator.hasNext()) {
+            Card card = iterator.next();
+            iteratedCount++;
+            if( card.getManaCost() % 2 == 0 ) {
+                iterator.remove();
+            }
+        }
+
+        //assert
+        Assertions.assertEquals(addedCards.size(), iteratedCount);
+        Assertions.assertEquals(2, deck.getCardCount());
+        deck.getCards().forEach(card -> Assertions.assertEquals(1, card.getManaCost() % 2));
+    }
+
     // helpers
     private List<Card> addCardWithQuantity(int addingCount){
         List<Card> addedCards = IntStream.range(0, addingCount)
@@ -46,5 +46,57 @@ public class HandTest extends CardHolderTest{
         Assertions.assertTrue(hand.hasCapacity());
     }
 
+    @Test
+    public void whenHandIsEmpty_getMinManaCostShouldReturnNoCard(){
+        // act - assert
+        Assertions.assertEquals(Hand.NO_CARD, hand.getMinManaCost());
+        Assertions.assertFalse(hand.hasPlayableCard(10));
+        Assertions.assertEquals(Hand.NO_CARD, hand.getMaxPlayableManaCost(10));
+    }
+
+    @Test
+    public void whenCardsAreAddedAndGiven_playableCardsShouldBeUpToDate(){
+        // arrange
+        Card cheapestCard = new Card(2);
+        Assertions.assertDoesNotThrow(() -> hand.addCard(cheapestCard));
+        IntStream.of(5, 3, 3).forEach(addCardWithoutException);
+
+        // act - assert
+        Assertions.assertEquals(2, hand.getMinManaCost());
+        Assertions.assertEquals(cheapestCard, hand.getMinManaCostCard().get());
+        Assertions.assertFalse(hand.hasPlayableCard(1));
+        Assertions.assertTrue(hand.hasPlayableCard(2));
+        Assertions.assertEquals(3, hand.getPlayableCardCount(4));
+        Assertions.assertEquals(3, hand.getMaxPlayableManaCost(4));
+        Assertions.assertEquals(2, hand.getCardCountWithManaCost(3));
+
+        Assertions.assertDoesNotThrow(() -> hand.giveCard(cheapestCard));
+        Assertions.assertEquals(3, hand.getMinManaCost());
+        Assertions.assertFalse(hand.hasPlayableCard(2));
+        Assertions.assertEquals(Hand.NO_CARD, hand.getMaxPlayableManaCost(2));
+        Assertions.assertEquals(5, hand.getMaxPlayableManaCost(10));
+    }
 
+    @Test
+    public void whenHandIsReset_shouldHaveNoPlayableCard(){
+        // arrange
+        IntStream.of(0, 1, 100).forEach(addCardWithoutException);
+        Assertions.assertEquals(100, hand.getMaxPlayableManaCost(100));
+
+        // act
+        hand.reset();
+
+        // assert
+        Assertions.assertEquals(Hand.NO_CARD, hand.getMinManaCost());
+        Assertions.assertEquals(0, hand.getPlayableCardCount(100));
+        Assertions.assertFalse(hand.findCardWithManaCost(100).isPresent());
+    }
+
+    @Test
+    public void whenCardHasNegativeManaCost_shouldThrowIllegalArgumentException(){
+        // act - assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hand.addCard(new Card(1, -1)));
+        Assertions.assertEquals(0, hand.getCardCount());
+        Assertions.assertEquals(Hand.NO_CARD, hand.getMinManaCost());
+    }
 }
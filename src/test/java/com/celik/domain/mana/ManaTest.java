@@ -177,4 +177,70 @@ public class ManaTest {
         //arrange
         Assertions.assertFalse(hasAvailableManaFor);
     }
+
+    @Test
+    public void whenUsingNegativeMana_shouldThrowIllegalArgumentException(){
+
+        //arrange
+        Mana mana = Mana.getManaWithSlotCount(3);
+        mana.refillManaSlots();
+
+        //act-assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mana.useMana(-1));
+        Assertions.assertEquals(3, mana.getManaValue());
+    }
+
+    @Test
+    public void getManaSlots_shouldReflectFullAndEmptySlots(){
+
+        //arrange
+        Mana mana = Mana.getManaWithSlotCount(4);
+        mana.refillManaSlots();
+        Assertions.assertEquals(4, mana.getManaSlots().stream().filter(ManaSlot::isFull).count());
+
+        //act
+        Assertions.assertDoesNotThrow(() -> mana.useMana(3));
+
+        //assert
+        Assertions.assertEquals(4, mana.getManaSlots().size());
+        Assertions.assertEquals(1, mana.getManaSlots().stream().filter(ManaSlot::isFull).count());
+        Assertions.assertEquals(3, mana.getManaSlots().stream().filter(ManaSlot::isEmpty).count());
+    }
+
+    @Test
+    public void givenSameSlotAndManaValues_manasShouldBeEqual(){
+
+        //arrange
+        Mana mana = Mana.getManaWithSlotCount(5);
+        Mana anotherMana = Mana.getEmptyMana();
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertDoesNotThrow(anotherMana::addManaSlot);
+        }
+
+        //act
+        mana.refillManaSlots();
+        anotherMana.refillManaSlots();
+        Assertions.assertDoesNotThrow(() -> mana.useMana(2));
+        Assertions.assertDoesNotThrow(() -> anotherMana.useMana(2));
+
+        //assert
+        Assertions.assertEquals(mana, anotherMana);
+        Assertions.assertEquals(mana.hashCode(), anotherMana.hashCode());
+    }
+
+    @Test
+    public void whenManaIsNotEnoughOrFull_tryMethodsShouldReturnFalseWithoutChange(){
+
+        //arrange
+        Mana mana = Mana.getManaWithSlotCount(Mana.MAX_SLOT_COUNT - 1);
+        Assertions.assertTrue(mana.tryAddManaSlot());
+        mana.refillManaSlots();
+
+        //act - assert
+        Assertions.assertFalse(mana.tryAddManaSlot());
+        Assertions.assertEquals(Mana.MAX_SLOT_COUNT, mana.getManaSlotCount());
+        Assertions.assertTrue(mana.tryUseMana(7));
+        Assertions.assertFalse(mana.tryUseMana(4));
+        Assertions.assertEquals(3, mana.getManaValue());
+    }
 }
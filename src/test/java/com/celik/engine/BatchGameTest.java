@@ -0,0 +1,102 @@
+package com.celik.engine;
+
+import com.celik.constants.GameConstants;
+import com.celik.simulation.GameResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+public class BatchGameTest {
+
+    private static final int DIFFERENTIAL_GAME_COUNT = 2000;
+
+    @Test
+    public void givenSameRandoms_whenGamesAreStepped_resultsShouldBeSameWithPackedGame() {
+        for (int playerCount = 2; playerCount <= 4; playerCount++) {
+            // arrange
+            BatchGame batch = new BatchGame(DIFFERENTIAL_GAME_COUNT, playerCount);
+            batch.resetAll(new SplittableRandom(playerCount));
+            SplittableRandom random = new SplittableRandom(playerCount);
+
+            // act
+            batch.playAll();
+
+            // assert
+            for (int game = 0; game < DIFFERENTIAL_GAME_COUNT; game++) {
+                GameResult expected = new PackedGame(playerCount, random.split())
+                        .play(Collections.nCopies(playerCount, new GreedyCostStrategy()));
+                Assertions.assertEquals(expected, batch.getResult(game), "game " + game);
+            }
+        }
+    }
+
+    @Test
+    public void whenGameIsReset_playersShouldHaveInitialCardsAndFirstPlayerShouldBeActivated() {
+        // arrange
+        BatchGame batch = new BatchGame(3, 2);
+        PackedGame packed = new PackedGame(2, 42L);
+
+        // act
+        batch.reset(1, new SplittableRandom(42L));
+        packed.start();
+
+        // assert
+        Assertions.assertTrue(batch.isOver(0));
+        Assertions.assertFalse(batch.isOver(1));
+        Assertions.assertEquals(1, batch.getTurnCount(1));
+        for (int player = 0; player < 2; player++) {
+            Assertions.assertEquals(packed.getHand(player), batch.getHand(1, player));
+            Assertions.assertEquals(packed.getHandCount(player), batch.getHandCount(1, player));
+            Assertions.assertEquals(packed.getDeckSize(player), batch.getDeckSize(1, player));
+            Assertions.assertEquals(packed.getManaSlotCount(player), batch.getManaSlotCount(1, player));
+            Assertions.assertEquals(packed.getManaValue(player), batch.getManaValue(1, player));
+            Assertions.assertEquals(GameConstants.INITIAL_PLAYER_HEALTH, batch.getHealth(1, player));
+        }
+    }
+
+    @Test
+    public void whenRangesAreSteppedOnDifferentThreads_resultsShouldBeSameWithSingleThread() throws InterruptedException {
+        // arrange
+        int gameCount = 4000;
+        BatchGame sequential = new BatchGame(gameCount, 2);
+        BatchGame parallel = new BatchGame(gameCount, 2);
+        sequential.resetAll(new SplittableRandom(7));
+        parallel.resetAll(new SplittableRandom(7));
+
+        // act
+        sequential.playAll();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int fromGame = gameCount * i / threads.length;
+            int toGame = gameCount * (i + 1) / threads.length;
+            threads[i] = new Thread(() -> {
+                while( parallel.step(fromGame, toGame) > 0 ) {
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // assert
+        for (int game = 0; game < gameCount; game++) {
+            Assertions.assertTrue(parallel.isOver(game));
+            Assertions.assertEquals(sequential.getResult(game), parallel.getResult(game));
+        }
+    }
+
+    @Test
+    public void whenGamesAreAllocated_everyGameShouldTakeFewDozenBytes() {
+        // arrange
+        BatchGame batch = new BatchGame(1000, 2);
+
+        // assert
+        Assertions.assertEquals(86, BatchGame.getBytesPerGame(2));
+        Assertions.assertEquals(1000 * 86, batch.getByteSize());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BatchGame(10, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BatchGame(Integer.MAX_VALUE, 2));
+    }
+}
@@ -0,0 +1,162 @@
+package com.celik.engine;
+
+import com.celik.Player;
+import com.celik.domain.Health;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.model.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class EndgameTablebaseTest {
+
+    @Test
+    public void whenTablebaseIsWrittenAndMapped_entriesShouldBeSame(@TempDir Path directory) throws IOException {
+        // arrange
+        Path path = directory.resolve("endgame.tb");
+        short[] entries = EndgameTablebaseGenerator.generate();
+
+        // act
+        EndgameTablebaseGenerator.generate(path);
+        EndgameTablebase tablebase = EndgameTablebase.load(path);
+
+        // assert
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 10_000; i++) {
+            long hand = randomHand(random);
+            int slotCount = random.nextInt(Mana.MAX_SLOT_COUNT + 1);
+            int manaValue = random.nextInt(Mana.MAX_SLOT_COUNT + 1);
+            int health = 1 + random.nextInt(EndgameTablebase.MAX_HEALTH);
+            short entry = entries[EndgameTablebase.index(OptimalTurnTable.rank(hand), slotCount, manaValue, health)];
+            Assertions.assertEquals(EndgameTablebase.getKillTime(entry), tablebase.getKillTime(hand, slotCount, manaValue, health));
+            Assertions.assertEquals(EndgameTablebase.getManaCost(entry), tablebase.getBestManaCost(hand, slotCount, manaValue, health));
+        }
+    }
+
+    @Test
+    public void whenFileIsNotTablebase_loadShouldThrowIOException(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("endgame.tb");
+        Files.write(path, new byte[64]);
+
+        Assertions.assertThrows(IOException.class, () -> EndgameTablebase.load(path));
+    }
+
+    @Test
+    public void whenEntryOfTablebaseIsChanged_loadShouldThrowIOException(@TempDir Path directory) throws IOException {
+        // arrange
+        Path path = directory.resolve("endgame.tb");
+        EndgameTablebaseGenerator.generate(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[EndgameTablebase.HEADER_SIZE + 1] ^= 1;
+        Files.write(path, bytes);
+
+        // act - assert
+        Assertions.assertThrows(IOException.class, () -> EndgameTablebase.load(path));
+    }
+
+    @Test
+    public void whenOpponentBleedsOut_killTimeShouldCountItsTurnStart(){
+        EndgameTablebase tablebase = EndgameTablebase.getDefault();
+
+        // 3 and 2 kill now, greedy 4 leaves 1 health that bleeds out, passing leaves 1 more turn
+        Assertions.assertEquals(1, tablebase.getKillTime(hand(4, 3, 2), 5, 5, 5));
+        Assertions.assertEquals(3, tablebase.getBestManaCost(hand(4, 3, 2), 5, 5, 5));
+        Assertions.assertEquals(2, tablebase.getKillTime(hand(4), 5, 5, 5));
+        Assertions.assertEquals(2, tablebase.getKillTime(hand(), 0, 0, 1));
+        Assertions.assertEquals(2 * 7, tablebase.getKillTime(hand(), 10, 10, 7));
+        Assertions.assertEquals(PackedGame.NO_CARD, tablebase.getBestManaCost(hand(0), 10, 10, 7));
+    }
+
+    @Test
+    public void givenRandomEndgames_tablebaseShouldMatchSolver(){
+        // arrange
+        EndgameTablebase tablebase = EndgameTablebase.getDefault();
+        ExpectimaxSolver solver = new ExpectimaxSolver(1, 16);
+        ExpectimaxSolver tablebaseSolver = new ExpectimaxSolver(1, 16, tablebase);
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 300; i++) {
+            PackedGame game = randomEndgame(random);
+            Assertions.assertTrue(EndgameTablebase.isEndgame(game));
+
+            // act
+            boolean isWinning = tablebase.isWinning(game);
+            double winProbability = solve(solver, game).getWinProbability();
+            int bestManaCost = tablebase.getBestManaCost(game);
+
+            // assert
+            Assertions.assertEquals(isWinning ? 1.0 : 0.0, winProbability, "Endgame: " + i);
+            Assertions.assertEquals(winProbability, solve(tablebaseSolver, game).getWinProbability());
+            if( isWinning && bestManaCost != PackedGame.NO_CARD ) {
+                game.playCard(bestManaCost);
+                Assertions.assertTrue(game.isOver() || tablebase.isWinning(game), "Endgame: " + i);
+            }
+        }
+    }
+
+    @Test
+    public void givenDeckIsNotEmpty_gameShouldNotBeEndgame(){
+        PackedGame game = new PackedGame(2, 5L);
+        game.start();
+
+        Assertions.assertFalse(EndgameTablebase.isEndgame(game));
+        Assertions.assertFalse(EndgameTablebase.isEndgame(new PackedGame(3, 5L)));
+    }
+
+    // helpers
+    private static ExpectimaxSolver.Result solve(ExpectimaxSolver solver, PackedGame game) {
+        AtomicReference<ExpectimaxSolver.Result> result = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(solver.solve(game)));
+        return result.get();
+    }
+
+    private static PackedGame randomEndgame(SplittableRandom random) {
+        List<Player> players = new ArrayList<>();
+        for (int id = 1; id <= 2; id++) {
+            int slotCount = random.nextInt(Mana.MAX_SLOT_COUNT + 1);
+            Mana mana = Mana.getManaWithSlotCount(slotCount);
+            mana.refillManaSlots();
+            int usedMana = random.nextInt(slotCount + 1);
+            if( id == 1 && usedMana > 0 ) {
+                Assertions.assertDoesNotThrow(() -> mana.useMana(usedMana));
+            }
+            Player player = new Player(id, "Player " + id, new Health(1 + random.nextInt(12)), mana, new Deck());
+            long hand = randomHand(random);
+            int cardId = id * 100;
+            for (int manaCost = 0; hand != 0; manaCost++, hand >>>= 4) {
+                for (int j = (int) hand & 0xF; j > 0; j--) {
+                    Card card = new Card(cardId++, manaCost);
+                    Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+                }
+            }
+            players.add(player);
+        }
+        return PackedGame.of(players, 0, new SplittableRandom(1));
+    }
+
+    private static long randomHand(SplittableRandom random) {
+        long hand = 0;
+        for (int i = random.nextInt(Hand.MAX_CARD_COUNT + 1); i > 0; i--) {
+            hand += 1L << (random.nextInt(OptimalTurnTable.MAX_TABLE_MANA_COST + 1) * 4);
+        }
+        return hand;
+    }
+
+    private static long hand(int... manaCosts) {
+        long hand = 0;
+        for (int manaCost : manaCosts) {
+            hand += 1L << (manaCost * 4);
+        }
+        return hand;
+    }
+}
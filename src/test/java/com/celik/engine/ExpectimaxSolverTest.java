@@ -0,0 +1,138 @@
+package com.celik.engine;
+
+import com.celik.Player;
+import com.celik.domain.Health;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.mana.Mana;
+import com.celik.model.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExpectimaxSolverTest {
+
+    @Test
+    public void whenOpponentDrawDecidesGame_winProbabilityShouldBeDrawProbability(){
+        // arrange - player 2 wins if it draws 1, player 1 wins in its next turn otherwise
+        PackedGame game = PackedGame.of(List.of(player(1, 1, 1, 0, List.of(5), List.of(1, 1)),
+                                                player(2, 1, 0, 0, List.of(), List.of(1, 0))),
+                                        0, new SplittableRandom(1));
+
+        // act
+        ExpectimaxSolver.Result result = solve(new ExpectimaxSolver(1), game);
+
+        // assert
+        Assertions.assertEquals(PackedGame.NO_CARD, result.getManaCost());
+        Assertions.assertEquals(0.5, result.getWinProbability(), 1e-12);
+    }
+
+    @Test
+    public void whenLethalPlayIsAffordable_solverShouldPlayIt(){
+        // arrange - greedy 4 does not kill and the opponent kills in its next turn, 3 and 2 kill
+        PackedGame game = PackedGame.of(List.of(player(1, 5, 5, 5, List.of(2, 3, 4), List.of(1, 1)),
+                                                player(2, 5, 4, 4, List.of(5, 5), List.of(8, 8))),
+                                        0, new SplittableRandom(1));
+
+        // act
+        ExpectimaxSolver.Result result = solve(new ExpectimaxSolver(1), game);
+
+        // assert
+        Assertions.assertEquals(3, result.getManaCost());
+        Assertions.assertEquals(1, result.getWinProbability());
+    }
+
+    @Test
+    public void whenNeitherPlayerGainsByPlaying_neverEndingGameShouldBeDraw(){
+        // arrange - dud cards only, the player whose deck empties first bleeds out
+        PackedGame game = PackedGame.of(List.of(player(1, 1, 10, 10, List.of(0, 0, 0, 0, 0), List.of(0)),
+                                                player(2, 1, 10, 10, List.of(0, 0, 0, 0, 0), List.of(0))),
+                                        0, new SplittableRandom(1));
+
+        // act
+        ExpectimaxSolver.Result result = solve(new ExpectimaxSolver(1), game);
+
+        // assert
+        Assertions.assertEquals(PackedGame.NO_CARD, result.getManaCost());
+        Assertions.assertEquals(ExpectimaxSolver.DRAW_SCORE, result.getWinProbability());
+    }
+
+    @Test
+    public void whenOptimalPlayersPlay_winRateShouldMatchWinProbability(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(0), List.of(1, 2, 3, 4, 5, 6, 7), 15);
+        game.start();
+        ExpectimaxSolver solver = new ExpectimaxSolver(1, 16);
+        CostStrategy strategy = new ExpectimaxCostStrategy(solver);
+
+        // act
+        double winProbability = solve(solver, game).getWinProbability();
+        int gameCount = 2000;
+        int winCount = 0;
+        for (int i = 0; i < gameCount; i++) {
+            if( game.copy(new SplittableRandom(i)).resume(List.of(strategy, strategy)).getWinnerIndex() == 0 ) winCount++;
+        }
+
+        // assert - 26 of 36 draw pairs, the win rate is in 4 standard deviations
+        Assertions.assertEquals(26.0 / 36, winProbability, 1e-12);
+        double deviation = Math.sqrt(winProbability * (1 - winProbability) / gameCount);
+        Assertions.assertEquals(winProbability, (double) winCount / gameCount, 4 * deviation);
+    }
+
+    @Test
+    public void givenSmallTableOrManyThreads_solverShouldFindSameWinProbability(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(7), List.of(0, 1, 2, 3, 4, 5, 6), 14);
+        game.start();
+
+        // act
+        ExpectimaxSolver.Result expected = solve(new ExpectimaxSolver(1), game);
+        ExpectimaxSolver.Result smallTable = solve(new ExpectimaxSolver(1, 8), game);
+        ExpectimaxSolver.Result parallel = solve(new ExpectimaxSolver(4), game);
+
+        // assert
+        Assertions.assertEquals(expected.getWinProbability(), smallTable.getWinProbability(), 1e-12);
+        Assertions.assertEquals(expected.getManaCost(), smallTable.getManaCost());
+        Assertions.assertTrue(smallTable.getEvaluationCount() > expected.getEvaluationCount());
+        Assertions.assertEquals(expected.getWinProbability(), parallel.getWinProbability(), 1e-12);
+        Assertions.assertEquals(expected.getManaCost(), parallel.getManaCost());
+    }
+
+    @Test
+    public void givenUnsupportedGame_shouldThrowIllegalArgumentException(){
+        ExpectimaxSolver solver = new ExpectimaxSolver(1);
+        PackedGame threePlayers = new PackedGame(3, 1L);
+        threePlayers.start();
+        PackedGame expensiveCard = new PackedGame(2, new SplittableRandom(1), List.of(9, 9, 9, 9, 9), 30);
+        expensiveCard.start();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.solve(threePlayers));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.solve(expensiveCard));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpectimaxSolver(0));
+    }
+
+    // helpers
+    private static ExpectimaxSolver.Result solve(ExpectimaxSolver solver, PackedGame game) {
+        AtomicReference<ExpectimaxSolver.Result> result = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(solver.solve(game)));
+        return result.get();
+    }
+
+    private static Player player(int id, int health, int manaSlotCount, int manaValue, List<Integer> handCosts, List<Integer> deckCosts) {
+        Mana mana = Mana.getManaWithSlotCount(manaSlotCount);
+        mana.refillManaSlots();
+        if( manaValue < manaSlotCount ) {
+            Assertions.assertDoesNotThrow(() -> mana.useMana(manaSlotCount - manaValue));
+        }
+        Player player = new Player(id, "Player " + id, new Health(health), mana,
+                                   Deck.getDeckWithManaCosts(deckCosts, id * 100, new SplittableRandom(id)));
+        int cardId = id * 100 + 50;
+        for (Integer manaCost : handCosts) {
+            Card card = new Card(cardId++, manaCost);
+            Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+        }
+        return player;
+    }
+}
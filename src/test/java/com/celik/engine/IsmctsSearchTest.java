@@ -0,0 +1,165 @@
+package com.celik.engine;
+
+import com.celik.Player;
+import com.celik.domain.Health;
+import com.celik.domain.cardholder.Deck;
+import com.celik.domain.mana.Mana;
+import com.celik.model.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class IsmctsSearchTest {
+
+    @Test
+    public void whenLethalCardIsAffordable_searchShouldPlayIt(){
+        // arrange
+        PackedGame game = PackedGame.of(List.of(player(1, 30, 3, List.of(1, 3), List.of(2, 2, 5)),
+                                                player(2, 3, 3, List.of(4, 4, 8), List.of(1, 6, 7))),
+                                        0, new SplittableRandom(1));
+
+        // act
+        AtomicReference<IsmctsSearch.Result> result = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(new IsmctsSearch(1).search(game, 10_000, 2000, 5L)));
+
+        // assert
+        Assertions.assertEquals(3, result.get().getManaCost());
+        Assertions.assertEquals(2000, result.get().getIterationCount());
+        Assertions.assertEquals(30, game.getHealth(0));
+        Assertions.assertEquals(3, game.getHealth(1));
+    }
+
+    @Test
+    public void whenSearchIsParallel_shouldReturnLegalActionWithinBudget(){
+        // arrange
+        PackedGame game = new PackedGame(2, 3L);
+        game.start();
+        while( !game.isDecisionPoint() ) {
+            game.endTurn();
+        }
+        long legalActions = IsmctsSearch.getLegalActions(game);
+
+        // act
+        AtomicReference<IsmctsSearch.Result> result = new AtomicReference<>();
+        long startedAt = System.nanoTime();
+        Assertions.assertDoesNotThrow(() -> {
+            try (IsmctsSearch search = new IsmctsSearch(4)) {
+                result.set(search.search(game, 50));
+                // the threads are kept for the next search
+                search.search(game, 10);
+            }
+        });
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // assert
+        int manaCost = result.get().getManaCost();
+        int action = manaCost == PackedGame.NO_CARD ? IsmctsSearch.PASS_ACTION : manaCost;
+        Assertions.assertTrue((legalActions & 1L << action) != 0);
+        Assertions.assertTrue(result.get().getIterationCount() > 0);
+        Assertions.assertTrue(elapsedMillis < 5_000);
+    }
+
+    @Test
+    public void whenOpponentCanPlayOnlyInSomeDeterminizations_childrenShouldBeKeyedByActingPlayer(){
+        // arrange
+        // after a pass the opponent can play only when its hidden 1 is in its hand, otherwise its turn is skipped
+        PackedGame game = PackedGame.of(List.of(player(1, 30, 3, List.of(1, 3), List.of(2, 2, 5, 4)),
+                                                player(2, 30, 2, List.of(9), List.of(1, 9))),
+                                        0, new SplittableRandom(1));
+
+        // act
+        AtomicReference<IsmctsSearch.Node> root = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> root.set(new IsmctsSearch(1).searchTree(game, 10_000, 3000, 7L)));
+
+        // assert
+        IsmctsSearch.Node afterPass = root.get().children.get(IsmctsSearch.getChildIndex(0, IsmctsSearch.PASS_ACTION));
+        Assertions.assertNotNull(afterPass);
+        Assertions.assertTrue(hasChildOf(afterPass, 0));
+        Assertions.assertTrue(hasChildOf(afterPass, 1));
+        assertChildrenArePlayedByTheirKeys(root.get());
+    }
+
+    @Test
+    public void whenActivePlayerCanNotPlay_searchShouldPass(){
+        // arrange
+        PackedGame game = PackedGame.of(List.of(player(1, 30, 1, List.of(5), List.of()),
+                                                player(2, 30, 1, List.of(4), List.of())),
+                                        0, new SplittableRandom(1));
+
+        // act
+        AtomicReference<IsmctsSearch.Result> result = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(new IsmctsSearch(1).search(game, 100)));
+
+        // assert
+        Assertions.assertEquals(PackedGame.NO_CARD, result.get().getManaCost());
+        Assertions.assertEquals(0, result.get().getIterationCount());
+    }
+
+    @Test
+    public void whenGameIsDeterminized_opponentCardsShouldBeRedealtAndObserverCardsShouldBeKept(){
+        // arrange
+        PackedGame game = PackedGame.of(List.of(player(1, 30, 2, List.of(1, 2), List.of(3, 4, 5)),
+                                                player(2, 30, 2, List.of(0, 6, 6), List.of(7, 8, 0, 1))),
+                                        0, new SplittableRandom(1));
+        int[] pool = new int[PackedGame.MAX_DECK_SIZE + PackedGame.MAX_MANA_COST * 16];
+
+        boolean isRedealt = false;
+        for (int i = 0; i < 20; i++) {
+            // act
+            PackedGame determinization = IsmctsSearch.determinize(game, 0, new SplittableRandom(i), pool);
+
+            // assert
+            Assertions.assertEquals(game.getHand(0), determinization.getHand(0));
+            Assertions.assertEquals(game.getDeckSize(0), determinization.getDeckSize(0));
+            Assertions.assertEquals(3, determinization.getHandCount(1));
+            Assertions.assertEquals(4, determinization.getDeckSize(1));
+            Assertions.assertEquals(allCards(game, 1), allCards(determinization, 1));
+            isRedealt |= game.getHand(1) != determinization.getHand(1);
+        }
+        Assertions.assertTrue(isRedealt);
+    }
+
+    // helpers
+    private static Player player(int id, int health, int manaSlotCount, List<Integer> handCosts, List<Integer> deckCosts) {
+        Mana mana = Mana.getManaWithSlotCount(manaSlotCount);
+        mana.refillManaSlots();
+        Player player = new Player(id, "Player " + id, new Health(health), mana,
+                                   Deck.getDeckWithManaCosts(deckCosts, id * 100, new SplittableRandom(id)));
+        int cardId = id * 100 + 50;
+        for (Integer manaCost : handCosts) {
+            Card card = new Card(cardId++, manaCost);
+            Assertions.assertDoesNotThrow(() -> player.getHand().addCard(card));
+        }
+        return player;
+    }
+
+    private static boolean hasChildOf(IsmctsSearch.Node node, int player) {
+        for (int action = 0; action < IsmctsSearch.ACTION_COUNT; action++) {
+            if( node.children.get(IsmctsSearch.getChildIndex(player, action)) != null ) return true;
+        }
+        return false;
+    }
+
+    private static void assertChildrenArePlayedByTheirKeys(IsmctsSearch.Node node) {
+        for (int i = 0; i < node.children.length(); i++) {
+            IsmctsSearch.Node child = node.children.get(i);
+            if( child == null ) continue;
+
+            Assertions.assertEquals(i / IsmctsSearch.ACTION_COUNT, child.player);
+            Assertions.assertTrue(child.wins <= child.visits);
+            assertChildrenArePlayedByTheirKeys(child);
+        }
+    }
+
+    // histogram of the hand and deck cards
+    private static long allCards(PackedGame game, int player) {
+        long cards = game.getHand(player);
+        for (int i = 0; i < game.getDeckSize(player); i++) {
+            cards += 1L << (game.getDeckCard(player, i) * 4);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,132 @@
+package com.celik.engine;
+
+import com.celik.domain.cardholder.Hand;
+import com.celik.domain.mana.Mana;
+import com.celik.model.Card;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public class OptimalTurnTableTest {
+
+    @Test
+    public void whenGreedyPlayWastesMana_tableShouldReturnBestPlay(){
+        // arrange - greedy play is 4 with 5 mana
+        long hand = hand(4, 3, 2);
+
+        // act
+        int play = OptimalTurnTable.getPlay(hand, 5);
+
+        // assert
+        Assertions.assertEquals(2, OptimalTurnTable.getCardCount(play));
+        Assertions.assertEquals(3, OptimalTurnTable.getManaCost(play, 0));
+        Assertions.assertEquals(2, OptimalTurnTable.getManaCost(play, 1));
+        Assertions.assertEquals(5, OptimalTurnTable.getDamage(play));
+    }
+
+    @Test
+    public void whenHandHasDudCards_bestPlayShouldIncludeThem(){
+        // act
+        int play = OptimalTurnTable.getPlay(hand(0, 0, 7), 0);
+
+        // assert
+        Assertions.assertEquals(2, OptimalTurnTable.getCardCount(play));
+        Assertions.assertEquals(0, OptimalTurnTable.getFirstManaCost(play));
+        Assertions.assertEquals(PackedGame.NO_CARD, OptimalTurnTable.getFirstManaCost(OptimalTurnTable.getPlay(hand(7), 6)));
+    }
+
+    @Test
+    public void whenEveryHandIsRanked_ranksShouldBeDenseAndUnique(){
+        Set<Integer> ranks = new HashSet<>();
+        collectRanks(ranks, 0, 0, 0L);
+
+        Assertions.assertEquals(2002, ranks.size());
+        Assertions.assertEquals(0, ranks.stream().mapToInt(Integer::intValue).min().getAsInt());
+        Assertions.assertEquals(2001, ranks.stream().mapToInt(Integer::intValue).max().getAsInt());
+        Assertions.assertEquals(-1, OptimalTurnTable.rank(hand(1, 1, 1, 1, 1, 1)));
+        Assertions.assertEquals(-1, OptimalTurnTable.rank(hand(OptimalTurnTable.MAX_TABLE_MANA_COST + 1)));
+    }
+
+    @Test
+    public void givenRandomHands_bestPlayShouldMatchKnapsack(){
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 20_000; i++) {
+            // arrange - costs above the table are solved on demand
+            int cardCount = random.nextInt(Hand.MAX_CARD_COUNT + 1);
+            int[] manaCosts = new int[cardCount];
+            long hand = 0;
+            for (int j = 0; j < cardCount; j++) {
+                manaCosts[j] = random.nextInt(PackedGame.MAX_MANA_COST + 1);
+                hand += 1L << (manaCosts[j] * 4);
+            }
+            int manaValue = random.nextInt(Mana.MAX_SLOT_COUNT + 1);
+
+            // act
+            int play = OptimalTurnTable.getPlay(hand, manaValue);
+
+            // assert
+            Assertions.assertEquals(knapsack(manaCosts, manaValue), OptimalTurnTable.getDamage(play));
+            long remaining = hand;
+            int previousManaCost = Integer.MAX_VALUE;
+            for (int j = 0; j < OptimalTurnTable.getCardCount(play); j++) {
+                int manaCost = OptimalTurnTable.getManaCost(play, j);
+                Assertions.assertTrue(manaCost <= previousManaCost);
+                Assertions.assertTrue((remaining >>> (manaCost * 4) & 0xF) > 0);
+                remaining -= 1L << (manaCost * 4);
+                previousManaCost = manaCost;
+            }
+            Assertions.assertEquals(0, remaining & 0xF, "Dud cards should be played");
+        }
+    }
+
+    @Test
+    public void whenPlayerHandIsGiven_tableShouldReadItsCosts(){
+        // arrange
+        Hand hand = new Hand();
+        for (Card card : List.of(new Card(1, 4), new Card(2, 3), new Card(3, 2), new Card(4, 1))) {
+            Assertions.assertDoesNotThrow(() -> hand.addCard(card));
+        }
+
+        // act
+        int play = OptimalTurnTable.getPlay(hand, 6);
+
+        // assert
+        Assertions.assertEquals(OptimalTurnTable.getPlay(hand(4, 3, 2, 1), 6), play);
+        Assertions.assertEquals(6, OptimalTurnTable.getDamage(play));
+        Assertions.assertEquals(3, OptimalTurnTable.getCardCount(play), "Ties should play more cards");
+    }
+
+    // helpers
+    private static long hand(int... manaCosts) {
+        long hand = 0;
+        for (int manaCost : manaCosts) {
+            hand += 1L << (manaCost * 4);
+        }
+        return hand;
+    }
+
+    private static void collectRanks(Set<Integer> ranks, int count, int minManaCost, long hand) {
+        Assertions.assertTrue(ranks.add(OptimalTurnTable.rank(hand)));
+        if( count == Hand.MAX_CARD_COUNT ) return;
+        for (int manaCost = minManaCost; manaCost <= OptimalTurnTable.MAX_TABLE_MANA_COST; manaCost++) {
+            collectRanks(ranks, count + 1, manaCost, hand + (1L << (manaCost * 4)));
+        }
+    }
+
+    private static int knapsack(int[] manaCosts, int manaValue) {
+        boolean[] reachable = new boolean[manaValue + 1];
+        reachable[0] = true;
+        for (int manaCost : manaCosts) {
+            for (int value = manaValue; value >= manaCost; value--) {
+                reachable[value] |= reachable[value - manaCost];
+            }
+        }
+        int damage = manaValue;
+        while( !reachable[damage] ) damage--;
+        return damage;
+    }
+}
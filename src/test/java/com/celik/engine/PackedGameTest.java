@@ -0,0 +1,246 @@
+package com.celik.engine;
+
+import com.celik.Player;
+import com.celik.constants.GameConstants;
+import com.celik.domain.cardholder.Hand;
+import com.celik.exception.TradingCardException;
+import com.celik.model.Card;
+import com.celik.model.PlayResult;
+import com.celik.simulation.GameResult;
+import com.celik.simulation.GameSimulator;
+import com.celik.simulation.HeadlessTradingCardGame;
+import com.celik.simulation.PackedGameSimulator;
+import com.celik.strategy.GreedyOptimalStrategy;
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PackedGameTest {
+
+    private static final int DIFFERENTIAL_GAME_COUNT = 2000;
+
+    // differential tests against the reference engine
+    @Test
+    public void givenGreedyStrategies_whenGamesArePlayedWithSameSeeds_resultsShouldBeSameWithReferenceEngine(){
+        for (int playerCount = 2; playerCount <= 4; playerCount++) {
+            int count = playerCount;
+            assertSameResults(seed -> new GameSimulator(nCopies(count, i -> new GreedyStrategy())),
+                              seed -> new PackedGameSimulator(nCopies(count, i -> new GreedyCostStrategy())));
+        }
+    }
+
+    @Test
+    public void givenGreedyOptimalStrategies_whenGamesArePlayedWithSameSeeds_resultsShouldBeSameWithReferenceEngine(){
+        assertSameResults(seed -> new GameSimulator(nCopies(2, i -> new GreedyOptimalStrategy())),
+                          seed -> new PackedGameSimulator(nCopies(2, i -> new GreedyOptimalCostStrategy())));
+    }
+
+    @Test
+    public void givenRandomStrategies_whenGamesArePlayedWithSameSeeds_resultsShouldBeSameWithReferenceEngine(){
+        // random strategies pass, play dud cards and select unaffordable cards too
+        for (int playerCount = 2; playerCount <= 3; playerCount++) {
+            int count = playerCount;
+            assertSameResults(seed -> new GameSimulator(nCopies(count, i -> randomPlayerStrategy(seed * 31 + i))),
+                              seed -> new PackedGameSimulator(nCopies(count, i -> randomCostStrategy(seed * 31 + i))));
+        }
+    }
+
+    @Test
+    public void givenPassingPlayer_whenGamesArePlayedWithSameSeeds_resultsShouldBeSameWithReferenceEngine(){
+        // passing player overloads its hand, two passing players would play forever
+        PlayerStrategy passingStrategy = (activePlayer, players) -> Optional.empty();
+        CostStrategy passingCostStrategy = game -> PackedGame.NO_CARD;
+
+        assertSameResults(seed -> new GameSimulator(List.of(passingStrategy, new GreedyStrategy())),
+                          seed -> new PackedGameSimulator(List.of(passingCostStrategy, new GreedyCostStrategy())));
+    }
+
+    // rules
+    @Test
+    public void whenGameIsStarted_playersShouldHaveInitialCardsAndFirstPlayerShouldBeActivated(){
+        // arrange
+        PackedGame game = new PackedGame(2, 42L);
+
+        // act
+        game.start();
+
+        // assert
+        Assertions.assertEquals(GameConstants.INITIAL_CARD_DRAW_COUNT + 1, game.getHandCount(0));
+        Assertions.assertEquals(GameConstants.INITIAL_CARD_DRAW_COUNT, game.getHandCount(1));
+        Assertions.assertEquals(1, game.getManaSlotCount(0));
+        Assertions.assertEquals(1, game.getManaValue(0));
+        Assertions.assertEquals(0, game.getManaSlotCount(1));
+        Assertions.assertEquals(GameConstants.INITIAL_MANA_COSTS_OF_DECK.size() - 4, game.getDeckSize(0));
+        Assertions.assertEquals(1, game.getTurnCount());
+        Assertions.assertThrows(IllegalStateException.class, game::start);
+    }
+
+    @Test
+    public void whenHandIsFull_drawnCardShouldStayInDeck(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(7), List.of(9, 9, 9, 9, 9, 9, 9, 9), 30);
+        game.start();
+
+        // act - overload: first player draws 4, second player 3 and first player 1 more in each turn
+        game.endTurn();
+        game.endTurn();
+
+        // assert
+        Assertions.assertEquals(Hand.MAX_CARD_COUNT, game.getHandCount(0));
+        Assertions.assertEquals(8 - Hand.MAX_CARD_COUNT, game.getDeckSize(0));
+        game.endTurn();
+        game.endTurn();
+        Assertions.assertEquals(Hand.MAX_CARD_COUNT, game.getHandCount(0));
+        Assertions.assertEquals(8 - Hand.MAX_CARD_COUNT, game.getDeckSize(0));
+    }
+
+    @Test
+    public void whenDeckIsEmpty_playerShouldBleedOut(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(7), List.of(1, 1, 1), 30);
+
+        // act
+        game.start();
+
+        // assert
+        Assertions.assertEquals(0, game.getDeckSize(0));
+        Assertions.assertEquals(30 - GameConstants.EMPTY_DECK_DAMAGE, game.getHealth(0));
+        Assertions.assertEquals(30, game.getHealth(1));
+    }
+
+    @Test
+    public void whenDudCardIsPlayed_shouldNotDamageOpponent(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(7), List.of(0, 0, 0, 0), 30);
+        game.start();
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.PLAYED, game.playCard(0));
+        Assertions.assertEquals(30, game.getHealth(1));
+        Assertions.assertEquals(1, game.getManaValue(0));
+        Assertions.assertEquals(1, game.getPlayedCardCount());
+    }
+
+    @Test
+    public void whenCardIsNotAffordable_playCardShouldNotChangeGame(){
+        // arrange
+        PackedGame game = new PackedGame(2, new SplittableRandom(7), List.of(3, 3, 3, 3), 30);
+        game.start();
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.INSUFFICIENT_MANA, game.playCard(3));
+        Assertions.assertEquals(PlayResult.NO_SUCH_CARD, game.playCard(1));
+        Assertions.assertEquals(4, game.getCardCountWithManaCost(0, 3));
+        Assertions.assertEquals(1, game.getManaValue(0));
+        Assertions.assertEquals(0, game.getPlayedCardCount());
+    }
+
+    @Test
+    public void whenCardIsPlayed_opponentsShouldTakeDamage(){
+        // arrange
+        PackedGame game = new PackedGame(3, new SplittableRandom(7), List.of(1, 1, 1, 1), 3);
+        game.start();
+
+        // act - assert
+        Assertions.assertEquals(PlayResult.PLAYED, game.playCard(1));
+        Assertions.assertEquals(3, game.getHealth(0));
+        Assertions.assertEquals(2, game.getHealth(1));
+        Assertions.assertEquals(2, game.getHealth(2));
+        Assertions.assertEquals(0, game.getManaValue(0));
+    }
+
+    @Test
+    public void whenReferenceGameIsPacked_stateShouldBeSameAndCopyShouldBeIndependent(){
+        // arrange
+        HeadlessTradingCardGame referenceGame = new HeadlessTradingCardGame(11L);
+        referenceGame.addPlayer("Player 0");
+        referenceGame.addPlayer("Player 1");
+        Assertions.assertDoesNotThrow(referenceGame::play);
+        List<Player> players = referenceGame.getPlayers();
+
+        // act
+        PackedGame game = PackedGame.of(players, 1, new SplittableRandom(3));
+        PackedGame copy = game.copy(new SplittableRandom(4));
+        copy.endTurn();
+
+        // assert
+        Assertions.assertEquals(1, game.getActivePlayerIndex());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            Assertions.assertEquals(player.getHealth().getHealthValue(), game.getHealth(i));
+            Assertions.assertEquals(player.getMana().getManaValue(), game.getManaValue(i));
+            Assertions.assertEquals(player.getMana().getManaSlotCount(), game.getManaSlotCount(i));
+            Assertions.assertEquals(player.getDeck().getCardCount(), game.getDeckSize(i));
+            Assertions.assertEquals(player.getHand().getCardCount(), game.getHandCount(i));
+            Assertions.assertEquals(player.getHand().getMinManaCost(), game.getMinManaCost(i));
+        }
+        Assertions.assertEquals(0, copy.getActivePlayerIndex());
+        Assertions.assertEquals(players.get(1).getDeck().getCardCount(), game.getDeckSize(1));
+    }
+
+    @Test
+    public void givenInvalidDeck_shouldThrowIllegalArgumentException(){
+        SplittableRandom random = new SplittableRandom();
+        List<Integer> largeDeck = IntStream.range(0, PackedGame.MAX_DECK_SIZE + 1).boxed().map(i -> 1).collect(Collectors.toList());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedGame(1, random));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedGame(2, random, largeDeck, 30));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedGame(2, random, List.of(PackedGame.MAX_MANA_COST + 1), 30));
+    }
+
+    // helpers
+    private interface SimulatorFactory<T> {
+        T create(long seed);
+    }
+
+    private void assertSameResults(SimulatorFactory<GameSimulator> referenceFactory, SimulatorFactory<PackedGameSimulator> packedFactory) {
+        for (long seed = 0; seed < DIFFERENTIAL_GAME_COUNT; seed++) {
+            GameResult expected = null;
+            try {
+                expected = referenceFactory.create(seed).playGame(seed);
+            } catch (TradingCardException e) {
+                Assertions.fail(e);
+            }
+            GameResult actual = packedFactory.create(seed).playGame(seed);
+            Assertions.assertEquals(expected, actual, "Seed: " + seed);
+        }
+    }
+
+    private static <T> List<T> nCopies(int count, IntFunction<T> factory) {
+        return IntStream.range(0, count).mapToObj(factory).collect(Collectors.toList());
+    }
+
+    /**
+     * Selects one of the distinct mana costs in the hand or passes, affordable or not.
+     */
+    private static PlayerStrategy randomPlayerStrategy(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return (activePlayer, players) -> {
+            List<Integer> manaCosts = activePlayer.getHand().getCards().stream()
+                    .map(Card::getManaCost).distinct().sorted().collect(Collectors.toList());
+            int choice = random.nextInt(manaCosts.size() + 1);
+            if( choice == manaCosts.size() ) return Optional.empty();
+            return activePlayer.getHand().findCardWithManaCost(manaCosts.get(choice));
+        };
+    }
+
+    private static CostStrategy randomCostStrategy(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return game -> {
+            int player = game.getActivePlayerIndex();
+            List<Integer> manaCosts = IntStream.rangeClosed(0, PackedGame.MAX_MANA_COST)
+                    .filter(manaCost -> game.getCardCountWithManaCost(player, manaCost) > 0)
+                    .boxed().collect(Collectors.toList());
+            int choice = random.nextInt(manaCosts.size() + 1);
+            return choice == manaCosts.size() ? PackedGame.NO_CARD : manaCosts.get(choice);
+        };
+    }
+}
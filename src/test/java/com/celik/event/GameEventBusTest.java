@@ -0,0 +1,192 @@
+package com.celik.event;
+
+import com.celik.exception.TradingCardException;
+import com.celik.journal.GameEventListener;
+import com.celik.simulation.GameSimulator;
+import com.celik.strategy.GreedyStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class GameEventBusTest {
+
+    @Test
+    public void whenGamesArePlayed_handlerAndDrainedConsumerShouldGetSameEvents() throws TradingCardException {
+        // arrange
+        GameEventBus bus = new GameEventBus();
+        RecordingListener handled = new RecordingListener();
+        RecordingListener consumed = new RecordingListener();
+        bus.addHandler(handled);
+        EventProcessor processor = bus.subscribe(consumed);
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy(), new GreedyStrategy()));
+        simulator.setEventListener(bus);
+
+        // act
+        for (long seed = 0; seed < 5; seed++) {
+            simulator.playGame(seed);
+            processor.drain();
+        }
+
+        // assert
+        Assertions.assertEquals(0, processor.getDroppedCount());
+        Assertions.assertEquals(handled.events.size() - 1, bus.getCursor());
+        Assertions.assertEquals(bus.getCursor(), processor.getProcessedSequence());
+        Assertions.assertEquals(handled.events, consumed.events);
+        Assertions.assertEquals(5, handled.events.stream().filter(event -> event.startsWith("started 3")).count());
+        Assertions.assertTrue(handled.events.stream().anyMatch(event -> event.startsWith("overload")));
+        Assertions.assertTrue(handled.events.stream().anyMatch(event -> event.startsWith("died")));
+    }
+
+    @Test
+    public void whenLossyConsumerIsRingBehind_itShouldSkipOldestEventsAndCaughtUpConsumerShouldGetEvery() {
+        // arrange
+        GameEventBus bus = new GameEventBus(4);
+        List<Long> slowSequences = new ArrayList<>();
+        List<Boolean> slowEndOfBatches = new ArrayList<>();
+        List<Long> fastSequences = new ArrayList<>();
+        EventProcessor slow = bus.subscribe((event, sequence, endOfBatch) -> {
+            Assertions.assertEquals(GameEventType.DAMAGE_TAKEN, event.getType());
+            Assertions.assertEquals(29 - sequence, event.getSecondValue());
+            slowSequences.add(sequence);
+            slowEndOfBatches.add(endOfBatch);
+        });
+        EventProcessor fast = bus.subscribe((event, sequence, endOfBatch) -> {
+            Assertions.assertEquals(29 - sequence, event.getSecondValue());
+            fastSequences.add(sequence);
+        });
+
+        // act
+        for (int i = 0; i < 10; i++) {
+            bus.onDamageTaken(1, 1, 29 - i);
+            fast.drain();
+        }
+        int firstBatch = slow.drain();
+        for (int i = 10; i < 12; i++) {
+            bus.onDamageTaken(1, 1, 29 - i);
+        }
+        int secondBatch = slow.drain();
+        fast.drain();
+
+        // assert
+        Assertions.assertEquals(4, firstBatch);
+        Assertions.assertEquals(2, secondBatch);
+        Assertions.assertEquals(6, slow.getDroppedCount());
+        Assertions.assertEquals(List.of(6L, 7L, 8L, 9L, 10L, 11L), slowSequences);
+        Assertions.assertEquals(List.of(false, false, false, true, false, true), slowEndOfBatches);
+        Assertions.assertEquals(0, fast.getDroppedCount());
+        Assertions.assertEquals(LongStream.range(0, 12).boxed().collect(Collectors.toList()), fastSequences);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameEventBus(6));
+    }
+
+    @Test
+    public void whenLosslessConsumerIsSlow_publisherShouldWaitAndItShouldGetEveryEvent() throws Exception {
+        // arrange
+        GameEventBus bus = new GameEventBus(4);
+        List<Long> losslessSequences = new ArrayList<>();
+        long[] lossyCount = new long[1];
+        EventProcessor lossless = bus.subscribeLossless((event, sequence, endOfBatch) -> {
+            Assertions.assertEquals(29 - sequence, event.getSecondValue());
+            losslessSequences.add(sequence);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        });
+        EventProcessor lossy = bus.subscribe((event, sequence, endOfBatch) -> lossyCount[0]++);
+        Thread consumer = new Thread(lossless);
+        consumer.start();
+
+        // act
+        for (int i = 0; i < 50; i++) {
+            bus.onDamageTaken(1, 1, 29 - i);
+        }
+        lossless.halt();
+        consumer.join();
+        lossy.drain();
+
+        // assert
+        Assertions.assertTrue(lossless.isLossless());
+        Assertions.assertEquals(0, lossless.getDroppedCount());
+        Assertions.assertEquals(LongStream.range(0, 50).boxed().collect(Collectors.toList()), losslessSequences);
+        Assertions.assertEquals(4, lossyCount[0]);
+        Assertions.assertEquals(46, lossy.getDroppedCount());
+    }
+
+    @Test
+    public void whenProcessorRunsOnThread_everyEventShouldBeConsumedOrCountedAsDropped() throws Exception {
+        // arrange
+        GameEventBus bus = new GameEventBus(64);
+        RecordingListener handled = new RecordingListener();
+        long[] consumedCount = new long[1];
+        bus.addHandler(handled);
+        EventProcessor processor = bus.subscribe((event, sequence, endOfBatch) -> consumedCount[0]++);
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        simulator.setEventListener(bus);
+        Thread consumer = new Thread(processor);
+        consumer.start();
+
+        // act
+        for (long seed = 0; seed < 20; seed++) {
+            simulator.playGame(seed);
+        }
+        processor.halt();
+        consumer.join();
+
+        // assert
+        Assertions.assertEquals(handled.events.size(), consumedCount[0] + processor.getDroppedCount());
+        Assertions.assertEquals(bus.getCursor(), processor.getProcessedSequence());
+    }
+
+    private static class RecordingListener implements GameEventListener {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onGameStarted(int playerCount) {
+            events.add("started " + playerCount);
+        }
+
+        @Override
+        public void onTurnStarted(int playerId) {
+            events.add("turn " + playerId);
+        }
+
+        @Override
+        public void onManaGained(int playerId, int slotCount, int manaValue) {
+            events.add(String.format("mana %d %d %d", playerId, slotCount, manaValue));
+        }
+
+        @Override
+        public void onCardDrawn(int playerId, int cardId, int manaCost) {
+            events.add(String.format("drawn %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onOverload(int playerId, int cardId, int manaCost) {
+            events.add(String.format("overload %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onBleedingOut(int playerId, int damageAmount) {
+            events.add(String.format("bleeding %d %d", playerId, damageAmount));
+        }
+
+        @Override
+        public void onCardPlayed(int playerId, int cardId, int manaCost) {
+            events.add(String.format("played %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+            events.add(String.format("damage %d %d %d", playerId, damageAmount, healthValue));
+        }
+
+        @Override
+        public void onPlayerDied(int playerId) {
+            events.add("died " + playerId);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.celik.journal;
+
+import com.celik.exception.TradingCardException;
+import com.celik.simulation.GameResult;
+import com.celik.simulation.GameSimulator;
+import com.celik.simulation.HeadlessTradingCardGame;
+import com.celik.strategy.GreedyStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void whenGamesAreJournaled_readEventsShouldBeSameWithReportedEvents() throws IOException, TradingCardException {
+        // arrange
+        RecordingListener reported = new RecordingListener();
+        RecordingListener read = new RecordingListener();
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy(), new GreedyStrategy()));
+
+        // act
+        List<GameResult> results = new ArrayList<>();
+        simulator.setEventListener(reported);
+        for (long seed = 0; seed < 5; seed++) {
+            results.add(simulator.playGame(seed));
+        }
+        try (EventJournal journal = EventJournal.open(directory)) {
+            simulator.setEventListener(journal);
+            for (long seed = 0; seed < 5; seed++) {
+                Assertions.assertEquals(results.get((int) seed), simulator.playGame(seed));
+            }
+            Assertions.assertEquals(reported.events.size(), journal.getEventCount());
+        }
+        long eventCount = EventJournalReader.read(directory, read);
+
+        // assert
+        Assertions.assertEquals(reported.events.size(), eventCount);
+        Assertions.assertEquals(reported.events, read.events);
+        Assertions.assertEquals(5, reported.events.stream().filter(event -> event.startsWith("started 3")).count());
+        Assertions.assertEquals(10, reported.events.stream().filter(event -> event.startsWith("died")).count());
+        Assertions.assertTrue(reported.events.stream().anyMatch(event -> event.startsWith("played")));
+        Assertions.assertTrue(reported.events.stream().anyMatch(event -> event.startsWith("overload")));
+    }
+
+    @Test
+    public void whenSegmentIsFull_journalShouldRollAndReopenedJournalShouldAppend() throws IOException, TradingCardException {
+        // arrange
+        RecordingListener reported = new RecordingListener();
+        RecordingListener read = new RecordingListener();
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+        simulator.setEventListener(reported);
+        simulator.playGame(1L);
+        simulator.playGame(2L);
+
+        // act
+        for (long seed = 1; seed <= 2; seed++) {
+            try (EventJournal journal = EventJournal.open(directory, 64)) {
+                simulator.setEventListener(journal);
+                simulator.playGame(seed);
+            }
+        }
+        EventJournalReader.read(directory, read);
+
+        // assert
+        Assertions.assertTrue(EventJournalReader.getSegments(directory).size() > 10);
+        Assertions.assertEquals(reported.events, read.events);
+    }
+
+    @Test
+    public void whenOpenJournalIsFlushed_readerShouldSeeBufferedEventsAndClosedJournalShouldThrow() throws IOException {
+        // arrange
+        RecordingListener read = new RecordingListener();
+        EventJournal journal = EventJournal.open(directory);
+        journal.onGameStarted(2);
+        journal.onTurnStarted(1);
+        journal.onDamageTaken(2, 3, 27);
+
+        // act
+        journal.flush();
+        EventJournalReader.read(directory, read);
+        journal.close();
+
+        // assert
+        Assertions.assertEquals(List.of("started 2", "turn 1", "damage 2 3 27"), read.events);
+        Assertions.assertThrows(IllegalStateException.class, () -> journal.onTurnStarted(1));
+        Assertions.assertThrows(IllegalStateException.class, journal::flush);
+    }
+
+    @Test
+    public void whenWhatIfIsEvaluated_branchShouldNotBeJournaled() throws IOException {
+        // arrange
+        HeadlessTradingCardGame game = new HeadlessTradingCardGame(3L);
+        RecordingListener reported = new RecordingListener();
+        game.setEventListener(reported);
+        game.addPlayer("test");
+        game.addPlayer("test 2");
+
+        // act
+        game.whatIf(branch -> branch.getPlayers().get(1).takeDamage(30));
+        game.getPlayers().get(0).takeDamage(1);
+
+        // assert
+        Assertions.assertEquals(List.of("damage 1 1 29"), reported.events);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventJournal.open(directory, 16));
+    }
+
+    private static class RecordingListener implements GameEventListener {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onGameStarted(int playerCount) {
+            events.add("started " + playerCount);
+        }
+
+        @Override
+        public void onTurnStarted(int playerId) {
+            events.add("turn " + playerId);
+        }
+
+        @Override
+        public void onManaGained(int playerId, int slotCount, int manaValue) {
+            events.add(String.format("mana %d %d %d", playerId, slotCount, manaValue));
+        }
+
+        @Override
+        public void onCardDrawn(int playerId, int cardId, int manaCost) {
+            events.add(String.format("drawn %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onOverload(int playerId, int cardId, int manaCost) {
+            events.add(String.format("overload %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onBleedingOut(int playerId, int damageAmount) {
+            events.add(String.format("bleeding %d %d", playerId, damageAmount));
+        }
+
+        @Override
+        public void onCardPlayed(int playerId, int cardId, int manaCost) {
+            events.add(String.format("played %d %d %d", playerId, cardId, manaCost));
+        }
+
+        @Override
+        public void onDamageTaken(int playerId, int damageAmount, int healthValue) {
+            events.add(String.format("damage %d %d %d", playerId, damageAmount, healthValue));
+        }
+
+        @Override
+        public void onPlayerDied(int playerId) {
+            events.add("died " + playerId);
+        }
+    }
+}
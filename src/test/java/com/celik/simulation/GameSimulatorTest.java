@@ -0,0 +1,104 @@
+package com.celik.simulation;
+
+import com.celik.constants.GameConstants;
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class GameSimulatorTest {
+
+    @Test
+    public void whenLessThanTwoStrategies_shouldThrowIllegalArgumentException(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameSimulator(List.of(new GreedyStrategy())));
+    }
+
+    @Test
+    public void whenGameIsPlayed_shouldHaveWinner(){
+        // arrange
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+
+        // act
+        AtomicReference<GameResult> result = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(simulator.playGame()));
+
+        // assert
+        Assertions.assertTrue(result.get().hasWinner());
+        Assertions.assertTrue(result.get().getRemainingHealth() > 0);
+        Assertions.assertTrue(result.get().getRemainingHealth() <= GameConstants.INITIAL_PLAYER_HEALTH);
+        Assertions.assertTrue(result.get().getTurnCount() > 0);
+        Assertions.assertTrue(result.get().getPlayedCardCount() > 0);
+    }
+
+    @Test
+    public void givenSameSeed_whenGamesArePlayed_resultsShouldBeSame(){
+        // arrange
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+
+        // act
+        AtomicReference<GameResult> result = new AtomicReference<>();
+        AtomicReference<GameResult> replayedResult = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> result.set(simulator.playGame(2020L)));
+        Assertions.assertDoesNotThrow(() -> replayedResult.set(simulator.playGame(2020L)));
+
+        // assert
+        Assertions.assertEquals(result.get(), replayedResult.get());
+    }
+
+    @Test
+    public void whenPlayerAlwaysPasses_opponentShouldWin(){
+        // arrange
+        PlayerStrategy passingStrategy = (activePlayer, players) -> Optional.empty();
+        GameSimulator simulator = new GameSimulator(List.of(passingStrategy, new GreedyStrategy()));
+
+        // act
+        AtomicReference<SimulationReport> report = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> report.set(simulator.run(20)));
+
+        // assert
+        Assertions.assertEquals(20, report.get().getGameCount());
+        Assertions.assertEquals(0, report.get().getWinCount(0));
+        Assertions.assertEquals(20, report.get().getWinCount(1));
+    }
+
+    @Test
+    public void whenRunIsCompleted_reportShouldContainAllGames(){
+        // arrange
+        GameSimulator simulator = new GameSimulator(List.of(new GreedyStrategy(), new GreedyStrategy()));
+
+        // act
+        AtomicReference<SimulationReport> report = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> report.set(simulator.run(50)));
+
+        // assert
+        Assertions.assertEquals(50, report.get().getGameCount());
+        Assertions.assertEquals(50, report.get().getWinCount(0) + report.get().getWinCount(1));
+        Assertions.assertTrue(report.get().getGamesPerSecond() > 0);
+        Assertions.assertTrue(report.get().getAverageTurnCount() > 0);
+    }
+
+    @Test
+    public void givenSameSeed_whenGamesArePlayedAsLargeLobby_resultsShouldBeSameWithLinkedPlayers(){
+        // arrange
+        List<PlayerStrategy> strategies = List.of(new GreedyStrategy(), new GreedyStrategy(), new GreedyStrategy(),
+                                                  new GreedyStrategy(), new GreedyStrategy(), new GreedyStrategy());
+        GameSimulator simulator = new GameSimulator(strategies);
+        GameSimulator largeLobbySimulator = new GameSimulator(strategies);
+        largeLobbySimulator.setLargeLobby(true);
+
+        // act - assert
+        for (long seed = 0; seed < 10; seed++) {
+            long gameSeed = seed;
+            AtomicReference<GameResult> result = new AtomicReference<>();
+            AtomicReference<GameResult> largeLobbyResult = new AtomicReference<>();
+            Assertions.assertDoesNotThrow(() -> result.set(simulator.playGame(gameSeed)));
+            Assertions.assertDoesNotThrow(() -> largeLobbyResult.set(largeLobbySimulator.playGame(gameSeed)));
+            Assertions.assertTrue(largeLobbyResult.get().hasWinner());
+            Assertions.assertEquals(result.get(), largeLobbyResult.get());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.celik.simulation;
+
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelGameSimulatorTest {
+
+    List<PlayerStrategy> strategies = List.of(new GreedyStrategy(), new GreedyStrategy());
+
+    @Test
+    public void whenThreadCountIsNotPositive_shouldThrowIllegalArgumentException(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelGameSimulator(strategies, 0));
+    }
+
+    @Test
+    public void whenRunIsCompleted_reportShouldContainAllGames(){
+        // arrange
+        ParallelGameSimulator simulator = new ParallelGameSimulator(strategies, 4);
+
+        // act
+        AtomicReference<SimulationReport> report = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> report.set(simulator.run(103)));
+
+        // assert
+        Assertions.assertEquals(103, report.get().getGameCount());
+        Assertions.assertEquals(103, report.get().getWinCount(0) + report.get().getWinCount(1));
+    }
+
+    @Test
+    public void givenSameSeed_whenRunWithDifferentThreadCounts_reportsShouldBeSame(){
+        // arrange
+        long seed = 42;
+        ParallelGameSimulator singleThreadSimulator = new ParallelGameSimulator(strategies, 1);
+        ParallelGameSimulator multiThreadSimulator = new ParallelGameSimulator(strategies, 3);
+
+        // act
+        AtomicReference<SimulationReport> singleThreadReport = new AtomicReference<>();
+        AtomicReference<SimulationReport> multiThreadReport = new AtomicReference<>();
+        Assertions.assertDoesNotThrow(() -> singleThreadReport.set(singleThreadSimulator.run(200, seed)));
+        Assertions.assertDoesNotThrow(() -> multiThreadReport.set(multiThreadSimulator.run(200, seed)));
+
+        // assert
+        Assertions.assertEquals(singleThreadReport.get().getWinCount(0), multiThreadReport.get().getWinCount(0));
+        Assertions.assertEquals(singleThreadReport.get().getAverageTurnCount(), multiThreadReport.get().getAverageTurnCount());
+        Assertions.assertEquals(singleThreadReport.get().getAveragePlayedCardCount(), multiThreadReport.get().getAveragePlayedCardCount());
+        Assertions.assertEquals(singleThreadReport.get().getAverageRemainingHealth(), multiThreadReport.get().getAverageRemainingHealth());
+    }
+}
@@ -0,0 +1,72 @@
+package com.celik.simulation;
+
+import com.celik.Player;
+import com.celik.exception.DoesNotExistException;
+import com.celik.model.Card;
+import com.celik.strategy.GreedyStrategy;
+import com.celik.strategy.PlayerStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SimultaneousGameTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenSameSeed_whenPlayedWithDifferentTaskCounts_resultsShouldBeSame() throws Exception {
+        List<PlayerStrategy> strategies = Collections.nCopies(6, new GreedyStrategy());
+        for (long seed = 0; seed < 20; seed++) {
+            // arrange & act
+            GameResult sequential = new SimultaneousGame(strategies, seed).play(executor, 1);
+            GameResult split = new SimultaneousGame(strategies, seed).play(executor, 2);
+            GameResult parallel = new SimultaneousGame(strategies, seed).play(executor, 8);
+
+            // assert
+            Assertions.assertEquals(sequential, split);
+            Assertions.assertEquals(sequential, parallel);
+            Assertions.assertTrue(sequential.getPlayedCardCount() > 0);
+        }
+    }
+
+    @Test
+    public void whenManyPlayersPlayAtOnce_aliveCountShouldMatchHealths() throws Exception {
+        for (long seed = 0; seed < 5; seed++) {
+            // arrange
+            SimultaneousGame game = new SimultaneousGame(Collections.nCopies(300, new GreedyStrategy()), seed);
+
+            // act
+            GameResult result = game.play(executor, 8);
+
+            // assert
+            long alive = game.getPlayers().stream().filter(Player::isAlive).count();
+            Assertions.assertEquals(alive, game.getAlivePlayerCount());
+            Assertions.assertTrue(alive <= 1);
+            Assertions.assertEquals(alive == 1, result.hasWinner());
+            Assertions.assertEquals(game.getRoundCount(), result.getTurnCount());
+            Assertions.assertEquals(result, new SimultaneousGame(Collections.nCopies(300, new GreedyStrategy()), seed).play(executor, 3));
+        }
+    }
+
+    @Test
+    public void whenStrategySelectsCardThatIsNotInHand_shouldThrowDoesNotExistException() {
+        // arrange
+        PlayerStrategy cheater = (activePlayer, players) -> Optional.of(new Card(-1, 0));
+        SimultaneousGame game = new SimultaneousGame(List.of(new GreedyStrategy(), cheater), 1);
+
+        // act & assert
+        Assertions.assertThrows(DoesNotExistException.class, () -> game.play(executor, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SimultaneousGame(List.of(cheater), 1));
+    }
+}